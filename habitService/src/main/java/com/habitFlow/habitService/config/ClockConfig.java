@@ -0,0 +1,21 @@
+package com.habitFlow.habitService.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+@Configuration
+public class ClockConfig {
+
+    /**
+     * The zone habit days are counted in: "today" of the dashboard and of the pending index,
+     * which is rebuilt at midnight of the same zone
+     */
+    @Bean
+    public Clock clock(@Value("${habit.zone:Europe/Berlin}") String zone) {
+        return Clock.system(ZoneId.of(zone));
+    }
+}
@@ -0,0 +1,113 @@
+package com.habitFlow.habitService.config;
+
+import com.habitFlow.habitService.service.ScheduledJobMonitor;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Task scheduler that runs every periodic task through {@link ScheduledJobMonitor}
+ * and tells it how far behind schedule each run started. The pool grows with every
+ * periodic task registered, so each job has a thread of its own.
+ */
+public class InstrumentedTaskScheduler extends ThreadPoolTaskScheduler {
+
+    private final ScheduledJobMonitor monitor;
+    private final int minPoolSize;
+    private int periodicTasks;
+
+    public InstrumentedTaskScheduler(ScheduledJobMonitor monitor, int minPoolSize) {
+        this.monitor = monitor;
+        this.minPoolSize = minPoolSize;
+        setPoolSize(minPoolSize);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+        reserveThread();
+        MonitoredTask monitored = new MonitoredTask(jobName(task), task, null, null, null);
+        return super.schedule(monitored, triggerContext -> {
+            Instant next = trigger.nextExecution(triggerContext);
+            monitored.expectedStart = next;
+            return next;
+        });
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+        reserveThread();
+        return super.scheduleAtFixedRate(new MonitoredTask(jobName(task), task, startTime, period, null),
+                startTime, period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        reserveThread();
+        return super.scheduleAtFixedRate(new MonitoredTask(jobName(task), task, Instant.now(), period, null), period);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+        reserveThread();
+        return super.scheduleWithFixedDelay(new MonitoredTask(jobName(task), task, startTime, null, delay),
+                startTime, delay);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+        reserveThread();
+        return super.scheduleWithFixedDelay(new MonitoredTask(jobName(task), task, Instant.now(), null, delay), delay);
+    }
+
+    private synchronized void reserveThread() {
+        int tasks = ++periodicTasks;
+        if (tasks > minPoolSize) {
+            setPoolSize(tasks);
+        }
+    }
+
+    private static String jobName(Runnable task) {
+        if (task instanceof ScheduledMethodRunnable scheduled) {
+            return ClassUtils.getUserClass(scheduled.getTarget()).getSimpleName()
+                    + "." + scheduled.getMethod().getName();
+        }
+        return task.toString();
+    }
+
+    private class MonitoredTask implements Runnable {
+        private final String jobName;
+        private final Runnable delegate;
+        // set for fixed-rate and fixed-delay tasks; trigger tasks get expectedStart from the trigger
+        private final Duration period;
+        private final Duration delay;
+        private volatile Instant expectedStart;
+
+        MonitoredTask(String jobName, Runnable delegate, Instant expectedStart, Duration period, Duration delay) {
+            this.jobName = jobName;
+            this.delegate = delegate;
+            this.expectedStart = expectedStart;
+            this.period = period;
+            this.delay = delay;
+        }
+
+        @Override
+        public void run() {
+            Instant expected = expectedStart;
+            long lagMillis = expected != null ? Math.max(0, Duration.between(expected, Instant.now()).toMillis()) : 0;
+            try {
+                monitor.run(jobName, lagMillis, delegate);
+            } finally {
+                if (period != null) {
+                    expectedStart = expected.plus(period);
+                } else if (delay != null) {
+                    expectedStart = Instant.now().plus(delay);
+                }
+            }
+        }
+    }
+}
@@ -46,6 +46,10 @@ public class JwtUtil {
         return parseClaims(token).getSubject();
     }
 
+    public String extractRole(String token) {
+        return parseClaims(token).get("role", String.class);
+    }
+
     public String generateExpiredToken(String username) {
         return Jwts.builder()
                 .setSubject(username)
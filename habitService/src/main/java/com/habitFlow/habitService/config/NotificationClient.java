@@ -1,5 +1,6 @@
 package com.habitFlow.habitService.config;
 
+import com.habitFlow.habitService.dto.DispatchBatchRequest;
 import com.habitFlow.habitService.dto.DispatchNotificationRequest;
 import com.habitFlow.habitService.exception.custom.ExternalServiceException;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class NotificationClient {
@@ -50,4 +53,10 @@ public class NotificationClient {
                 username, subject);
         postRequest(url, requestBody);
     }
+
+    public void dispatchBatch(List<DispatchNotificationRequest> notifications) {
+        String url = "http://NOTIFICATION-SERVICE/notifications/dispatch/batch";
+        System.out.printf("[NotificationClient] 📤 Dispatching batch of %d notifications%n", notifications.size());
+        postRequest(url, new DispatchBatchRequest(notifications));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.habitFlow.habitService.config;
+
+import com.habitFlow.habitService.dto.UserDto;
+import com.habitFlow.habitService.exception.custom.ExternalServiceException;
+import com.habitFlow.habitService.exception.custom.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking counterpart of {@link UserService} for the reactive read path:
+ * the calling thread is released while user-service answers.
+ */
+@Component
+public class ReactiveUserService {
+
+    private final WebClient webClient;
+    private final ServiceTokenProvider tokenProvider;
+    private final Duration timeout;
+
+    public ReactiveUserService(WebClient.Builder loadBalancedWebClientBuilder,
+                               ServiceTokenProvider tokenProvider,
+                               @Value("${habit.user-service.timeout-ms:3000}") long timeoutMillis) {
+        this.webClient = loadBalancedWebClientBuilder.clone().baseUrl("http://USER-SERVICE").build();
+        this.tokenProvider = tokenProvider;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    public Mono<UserDto> getUserByUsername(String username) {
+        return Mono.defer(() -> {
+                    String token = tokenProvider.getServiceToken();
+                    if (token == null || token.isBlank()) {
+                        return Mono.error(new ExternalServiceException("[UserService] Service token is null or empty!"));
+                    }
+                    return webClient.get()
+                            .uri("/auth/internal/username/{username}", username)
+                            .headers(headers -> headers.setBearerAuth(token))
+                            .retrieve()
+                            .bodyToMono(UserDto.class);
+                })
+                .timeout(timeout)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found: " + username)))
+                .onErrorMap(WebClientResponseException.class,
+                        ex -> new ExternalServiceException("[UserService] Error: " + ex.getStatusCode(), ex))
+                .onErrorMap(ex -> !(ex instanceof ExternalServiceException) && !(ex instanceof ResourceNotFoundException),
+                        ex -> new ExternalServiceException("[UserService] Internal error", ex));
+    }
+}
@@ -0,0 +1,25 @@
+package com.habitFlow.habitService.config;
+
+import com.habitFlow.habitService.service.ScheduledJobMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * The pool holds at least {@code habit.scheduling.pool-size} threads and grows to one thread
+     * per registered periodic job, so a slow job never delays another one;
+     * every run is recorded by {@link ScheduledJobMonitor}
+     */
+    @Bean
+    public InstrumentedTaskScheduler taskScheduler(ScheduledJobMonitor monitor,
+                                                   @Value("${habit.scheduling.pool-size:10}") int poolSize) {
+        InstrumentedTaskScheduler scheduler = new InstrumentedTaskScheduler(monitor, poolSize);
+        scheduler.setThreadNamePrefix("habit-job-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
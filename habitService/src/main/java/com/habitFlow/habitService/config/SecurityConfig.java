@@ -1,5 +1,6 @@
 package com.habitFlow.habitService.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,8 +22,12 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // event streams and reactive reads are authenticated on the initial request, not on async re-dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/habit/**").authenticated()
                         .requestMatchers("/tracking/**").authenticated()
+                        .requestMatchers("/reactive/**").authenticated()
+                        .requestMatchers("/internal/**").hasRole("SERVICE")
                         .requestMatchers(
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
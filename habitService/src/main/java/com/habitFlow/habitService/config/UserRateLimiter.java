@@ -0,0 +1,71 @@
+package com.habitFlow.habitService.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user token bucket, kept as a single "theoretical arrival time" per user (GCRA),
+ * so acquiring is one CAS on an AtomicLong and never takes a lock.
+ */
+@Component
+public class UserRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long idleEvictionNanos;
+    private final LongSupplier clock;
+
+    @Autowired
+    public UserRateLimiter(@Value("${habit.rate-limit.requests-per-second:50}") double requestsPerSecond,
+                           @Value("${habit.rate-limit.burst:100}") int burst,
+                           @Value("${habit.rate-limit.idle-eviction-minutes:10}") long idleEvictionMinutes) {
+        this(requestsPerSecond, burst, Duration.ofMinutes(idleEvictionMinutes), System::nanoTime);
+    }
+
+    UserRateLimiter(double requestsPerSecond, int burst, Duration idleEviction, LongSupplier clock) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.idleEvictionNanos = idleEviction.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Takes one token for the given user.
+     * @return 0 if the request may proceed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String username) {
+        long now = clock.getAsLong();
+        AtomicLong arrival = buckets.computeIfAbsent(username, key -> new AtomicLong(now));
+
+        while (true) {
+            long current = arrival.get();
+            long theoretical = Math.max(current, now);
+            long waitNanos = theoretical - burstToleranceNanos - now;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (arrival.compareAndSet(current, theoretical + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // a bucket idle this long has refilled completely, dropping it loses nothing
+    @Scheduled(fixedDelayString = "${habit.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(arrival -> now - arrival.get() > idleEvictionNanos);
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+}
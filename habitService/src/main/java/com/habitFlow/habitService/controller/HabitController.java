@@ -1,20 +1,32 @@
 package com.habitFlow.habitService.controller;
 
+import com.habitFlow.habitService.dto.CompletionStatsDto;
+import com.habitFlow.habitService.dto.HabitBatchUpdateDto;
 import com.habitFlow.habitService.dto.HabitCreateDto;
 import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.dto.HabitRankingDto;
 import com.habitFlow.habitService.dto.HabitUpdateDto;
+import com.habitFlow.habitService.dto.PendingHabitDto;
+import com.habitFlow.habitService.dto.SyncResponseDto;
+import com.habitFlow.habitService.dto.TodayHabitDto;
 import com.habitFlow.habitService.service.HabitFacade;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/habit")
@@ -53,6 +65,126 @@ public class HabitController {
         return ResponseEntity.ok(habitFacade.getMyHabits());
     }
 
+    @Operation(summary = "Get selected fields of current user's habits", description = "Sparse variant of" +
+            " GET /habit/me: only the listed HabitDto fields are selected from the database and returned")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "List of habits returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown or empty field list"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping(value = "/me", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getMyHabitFields(
+            @Parameter(description = "Comma-separated HabitDto fields, e.g. id,title,status", required = true)
+            @RequestParam String fields) {
+        return ResponseEntity.ok(habitFacade.getMyHabitFields(fields));
+    }
+
+    @Operation(summary = "Search habits of current user", description = "Full-text prefix search over titles" +
+            " and descriptions of the authenticated user's habits")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching habits returned successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping("/me/search")
+    public ResponseEntity<List<HabitDto>> searchMyHabits(
+            @Parameter(description = "Search words, each matched as a prefix", required = true)
+            @RequestParam String q) {
+        return ResponseEntity.ok(habitFacade.searchMyHabits(q));
+    }
+
+    @Operation(summary = "Search habits of current user, selected fields", description = "Sparse variant of" +
+            " GET /habit/me/search returning only the listed HabitDto fields")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching habits returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown or empty field list"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping(value = "/me/search", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> searchMyHabitFields(
+            @Parameter(description = "Search words, each matched as a prefix", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Comma-separated HabitDto fields, e.g. id,title,status", required = true)
+            @RequestParam String fields) {
+        return ResponseEntity.ok(habitFacade.searchMyHabitFields(q, fields));
+    }
+
+    @Operation(summary = "Get today's dashboard of current user", description = "Returns every habit of the" +
+            " authenticated user with today's tracking status, current streak and whether it is still due")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Dashboard returned successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping("/me/today")
+    public ResponseEntity<List<TodayHabitDto>> getMyToday() {
+        return ResponseEntity.ok(habitFacade.getMyToday());
+    }
+
+    @Operation(summary = "Get pending habits of current user", description = "Returns the authenticated user's" +
+            " habits that are due today and not completed yet")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Pending habits returned successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping("/me/pending")
+    public ResponseEntity<List<PendingHabitDto>> getMyPendingHabits() {
+        return ResponseEntity.ok(habitFacade.getMyPendingHabits());
+    }
+
+    @Operation(summary = "Sync habits of current user", description = "Returns habits and trackings created," +
+            " changed or deleted since the given token. Without a token, or with one older than the change" +
+            " retention window, the full state is returned with fullResync=true")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changes returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid token"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping("/me/sync")
+    public ResponseEntity<SyncResponseDto> syncMyHabits(
+            @Parameter(description = "nextToken from the previous sync, omit for the first sync")
+            @RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(habitFacade.syncMyHabits(since));
+    }
+
+    @Operation(summary = "Stream changes of current user's habits", description = "Server-Sent Events stream of" +
+            " habit and tracking changes made by the authenticated user from any device")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping(value = "/me/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMyEvents() {
+        return habitFacade.subscribeToMyEvents();
+    }
+
+    @Operation(summary = "Get completion counters", description = "Returns how many habits with the given" +
+            " title, and how many habits overall, were completed on a day. Served from live in-memory counters")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Counters returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @GetMapping("/stats/completions")
+    public ResponseEntity<CompletionStatsDto> getCompletionStats(
+            @Parameter(description = "Habit title, case-insensitive") @RequestParam(required = false) String title,
+            @Parameter(description = "Day (format: YYYY-MM-DD), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(habitFacade.getCompletionStats(title, date));
+    }
+
     @Operation(summary = "Get habit by ID", description = "Returns a specific habit by its ID for the" +
             " current user")
     @ApiResponses({
@@ -68,6 +200,22 @@ public class HabitController {
         return ResponseEntity.ok(habitFacade.getHabit(id));
     }
 
+    @Operation(summary = "Get completion-rate ranking", description = "Returns how the habit's completion rate" +
+            " ranks among habits with the same title and frequency, or among all habits of the frequency when" +
+            " too few share the title. Served from in-memory percentile sketches")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ranking returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid habit ID"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "Access to this habit is forbidden"),
+            @ApiResponse(responseCode = "404", description = "Habit not found"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping("/{id}/ranking")
+    public ResponseEntity<HabitRankingDto> getRanking(@PathVariable Long id) {
+        return ResponseEntity.ok(habitFacade.getRanking(id));
+    }
+
     @Operation(summary = "Update existing habit", description = "Updates a habit by ID for the current user")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Habit updated successfully"),
@@ -82,6 +230,21 @@ public class HabitController {
         return ResponseEntity.ok(habitFacade.updateHabit(id, dto));
     }
 
+    @Operation(summary = "Update several habits", description = "Applies the same changes to several habits of the" +
+            " current user at once, e.g. archiving them. Either all habits are updated or none")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Habits updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing or too many habit IDs, or no field to change"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access — token is missing or invalid"),
+            @ApiResponse(responseCode = "403", description = "User has no permission to update some of the habits"),
+            @ApiResponse(responseCode = "404", description = "Some of the habits not found"),
+            @ApiResponse(responseCode = "502", description = "External service (User/Notification) unavailable")
+    })
+    @PatchMapping("/batch")
+    public ResponseEntity<List<HabitDto>> updateHabits(@RequestBody HabitBatchUpdateDto dto) {
+        return ResponseEntity.ok(habitFacade.updateHabits(dto.getIds(), dto.getChanges()));
+    }
+
     @Operation(summary = "Delete habit", description = "Deletes a habit by ID for the current user")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Habit deleted successfully"),
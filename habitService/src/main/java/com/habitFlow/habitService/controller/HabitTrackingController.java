@@ -1,6 +1,8 @@
 package com.habitFlow.habitService.controller;
 
 import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.dto.TrackingRollupDto;
+import com.habitFlow.habitService.model.enums.RollupPeriod;
 import com.habitFlow.habitService.service.HabitTrackerFacade;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,11 +12,13 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/tracking")
@@ -42,20 +46,70 @@ public class HabitTrackingController {
         return ResponseEntity.ok(trackingFacade.createTracking(habitId, dto));
     }
 
-    @Operation(summary = "Get all trackings for habit", description = "Returns all tracking records for" +
-            " a specific habit")
+    @Operation(summary = "Get trackings for habit", description = "Returns all tracking records for" +
+            " a specific habit, or only those within the given date range")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Trackings returned successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid habit ID parameter"),
+            @ApiResponse(responseCode = "400", description = "Invalid habit ID parameter or date range"),
             @ApiResponse(responseCode = "401", description = "Unauthorized access"),
             @ApiResponse(responseCode = "403", description = "User has no access to this habit"),
             @ApiResponse(responseCode = "404", description = "Habit not found")
     })
     @GetMapping("/habit/{habitId}")
     public ResponseEntity<List<HabitTrackingDto>> getTrackingsByHabit(
-            @Parameter(description = "Habit ID", required = true) @PathVariable Long habitId) {
+            @Parameter(description = "Habit ID", required = true) @PathVariable Long habitId,
+            @Parameter(description = "Start date, inclusive (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date, inclusive (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        if (from == null && to == null) {
+            return ResponseEntity.ok(trackingFacade.getTrackingsByHabit(habitId));
+        }
+        return ResponseEntity.ok(trackingFacade.getTrackingsInRange(habitId, from, to));
+    }
+
+    @Operation(summary = "Get tracking value rollups", description = "Returns sum, min and max of the tracked" +
+            " values of a habit per day, week or month, for progress charts. Defaults to the last 12 periods")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rollups returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid period or date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "User has no access to this habit"),
+            @ApiResponse(responseCode = "404", description = "Habit not found")
+    })
+    @GetMapping("/habit/{habitId}/rollups")
+    public ResponseEntity<List<TrackingRollupDto>> getRollups(
+            @Parameter(description = "Habit ID", required = true) @PathVariable Long habitId,
+            @Parameter(description = "DAILY, WEEKLY or MONTHLY")
+            @RequestParam(defaultValue = "DAILY") RollupPeriod period,
+            @Parameter(description = "Start date, inclusive (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date, inclusive (format: YYYY-MM-DD), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
 
-        return ResponseEntity.ok(trackingFacade.getTrackingsByHabit(habitId));
+        return ResponseEntity.ok(trackingFacade.getRollups(habitId, period, from, to));
+    }
+
+    @Operation(summary = "Get trackings for several habits", description = "Returns tracking records of the" +
+            " given habits within a date range, grouped by habit ID. Defaults to the last 30 days")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Trackings returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing or too many habit IDs, or invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "User has no access to some of the habits"),
+            @ApiResponse(responseCode = "404", description = "Some of the habits not found")
+    })
+    @GetMapping("/batch")
+    public ResponseEntity<Map<Long, List<HabitTrackingDto>>> getTrackingsForHabits(
+            @Parameter(description = "Comma-separated habit IDs (max 100)", required = true)
+            @RequestParam List<Long> habitIds,
+            @Parameter(description = "Start date, inclusive (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date, inclusive (format: YYYY-MM-DD), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        return ResponseEntity.ok(trackingFacade.getTrackingsForHabits(habitIds, from, to));
     }
 
     @Operation(summary = "Get tracking by date", description = "Returns tracking records for a habit on" +
@@ -77,6 +131,44 @@ public class HabitTrackingController {
         return ResponseEntity.ok(trackingFacade.getTrackingByDate(habitId, LocalDate.parse(date)));
     }
 
+    @Operation(summary = "Set tracking state for a date", description = "Marks a habit as done or not done" +
+            " on a date, replacing any tracking of that date. May be applied with a short delay when write-behind" +
+            " is enabled, reads of the same user always see it")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Tracking state accepted"),
+            @ApiResponse(responseCode = "400", description = "Invalid date format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "User has no access to this habit"),
+            @ApiResponse(responseCode = "404", description = "Habit not found")
+    })
+    @PutMapping("/habit/{habitId}/date/{date}")
+    public ResponseEntity<Void> setTrackingState(
+            @Parameter(description = "Habit ID", required = true) @PathVariable Long habitId,
+            @Parameter(description = "Tracking date (format: YYYY-MM-DD)", required = true) @PathVariable String date,
+            @Parameter(description = "Whether the habit was completed", required = true) @RequestParam boolean done) {
+
+        trackingFacade.setTrackingState(habitId, LocalDate.parse(date), done);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Clear tracking for a date", description = "Removes the tracking of a habit on a date," +
+            " with the same write-behind behaviour as setting it")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Tracking cleared"),
+            @ApiResponse(responseCode = "400", description = "Invalid date format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "User has no access to this habit"),
+            @ApiResponse(responseCode = "404", description = "Habit not found")
+    })
+    @DeleteMapping("/habit/{habitId}/date/{date}")
+    public ResponseEntity<Void> clearTrackingState(
+            @Parameter(description = "Habit ID", required = true) @PathVariable Long habitId,
+            @Parameter(description = "Tracking date (format: YYYY-MM-DD)", required = true) @PathVariable String date) {
+
+        trackingFacade.setTrackingState(habitId, LocalDate.parse(date), null);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Delete tracking record", description = "Deletes a specific tracking record by ID")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Tracking deleted successfully"),
@@ -0,0 +1,104 @@
+package com.habitFlow.habitService.controller;
+
+import com.habitFlow.habitService.dto.AnalyticsResultDto;
+import com.habitFlow.habitService.dto.CacheMetricsDto;
+import com.habitFlow.habitService.dto.JobMetricsDto;
+import com.habitFlow.habitService.dto.TrackingHistoryDto;
+import com.habitFlow.habitService.model.enums.AnalyticsDimension;
+import com.habitFlow.habitService.service.HabitAnalyticsJob;
+import com.habitFlow.habitService.service.HabitCache;
+import com.habitFlow.habitService.service.ScheduledJobMonitor;
+import com.habitFlow.habitService.service.TrackingEventLog;
+import com.habitFlow.habitService.service.TrackingHistory;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/internal")
+@RequiredArgsConstructor
+@Tag(name = "Internal Operations", description = "Operational endpoints for services and operators")
+@SecurityRequirement(name = "bearerAuth")
+public class InternalController {
+
+    private final ScheduledJobMonitor scheduledJobMonitor;
+    private final HabitCache habitCache;
+    private final TrackingEventLog trackingEventLog;
+    private final HabitAnalyticsJob habitAnalyticsJob;
+    private final Clock clock;
+
+    @Operation(summary = "Get scheduled job metrics", description = "Returns last duration, items processed," +
+            " failures and schedule lag of every scheduled job that has run since startup")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Job metrics returned successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "Missing ROLE_SERVICE authority")
+    })
+    @GetMapping("/jobs")
+    public ResponseEntity<List<JobMetricsDto>> getJobMetrics() {
+        return ResponseEntity.ok(scheduledJobMonitor.getMetrics());
+    }
+
+    @Operation(summary = "Get cache metrics", description = "Returns size, hits, misses, evictions and the" +
+            " average hit and miss latency of the habit caches since startup")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cache metrics returned successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "Missing ROLE_SERVICE authority")
+    })
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheMetricsDto>> getCacheMetrics() {
+        return ResponseEntity.ok(habitCache.getMetrics());
+    }
+
+    @Operation(summary = "Replay tracking history", description = "Rebuilds the tracking state of a habit from" +
+            " its latest snapshot and the tracking events after it, and returns the views derived from it")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tracking history replayed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "Missing ROLE_SERVICE authority")
+    })
+    @GetMapping("/tracking-events/habits/{habitId}")
+    public ResponseEntity<TrackingHistoryDto> replayTrackingHistory(@PathVariable Long habitId) {
+        TrackingHistory history = trackingEventLog.replay(habitId);
+        return ResponseEntity.ok(TrackingHistoryDto.builder()
+                .habitId(habitId)
+                .lastEventId(history.getLastEventId())
+                .replayedEvents(history.getAppliedEvents())
+                .trackings(history.trackingCount())
+                .completedDays(history.completedDays().size())
+                .currentStreak(history.currentStreak(LocalDate.now(clock)))
+                .longestStreak(history.longestStreak())
+                .valueTotal(history.valueTotal())
+                .build());
+    }
+
+    @Operation(summary = "Get habit analytics", description = "Returns the completion rates of the last nightly" +
+            " analytics run by frequency, creation-month cohort and popular habit title")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Analytics returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown dimension"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "Missing ROLE_SERVICE authority")
+    })
+    @GetMapping("/analytics")
+    public ResponseEntity<List<AnalyticsResultDto>> getAnalytics(
+            @Parameter(description = "FREQUENCY, COHORT or TITLE, all when omitted")
+            @RequestParam(required = false) AnalyticsDimension dimension) {
+        return ResponseEntity.ok(habitAnalyticsJob.getResults(dimension));
+    }
+}
@@ -0,0 +1,116 @@
+package com.habitFlow.habitService.controller;
+
+import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.service.ReactiveReadFacade;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/reactive")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Reactive reads", description = "Non-blocking variants of the habit and tracking GET endpoints")
+public class ReactiveReadController {
+
+    private final ReactiveReadFacade reactiveReadFacade;
+
+    @Operation(summary = "Get user habits", description = "Same as GET /habit/me without holding a request" +
+            " thread while user-service is called")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Habits returned successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping("/habit/me")
+    public Mono<List<HabitDto>> getMyHabits() {
+        return reactiveReadFacade.getMyHabits();
+    }
+
+    @Operation(summary = "Get habit by ID", description = "Same as GET /habit/{id} without holding a request" +
+            " thread while user-service is called")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Habit returned successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "User has no access to this habit"),
+            @ApiResponse(responseCode = "404", description = "Habit not found"),
+            @ApiResponse(responseCode = "502", description = "User Service unavailable")
+    })
+    @GetMapping("/habit/{id}")
+    public Mono<HabitDto> getHabit(@Parameter(description = "Habit ID", required = true) @PathVariable Long id) {
+        return reactiveReadFacade.getHabit(id);
+    }
+
+    @Operation(summary = "Get trackings for habit", description = "Same as GET /tracking/habit/{habitId}" +
+            " without holding a request thread while user-service is called")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Trackings returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "User has no access to this habit"),
+            @ApiResponse(responseCode = "404", description = "Habit not found")
+    })
+    @GetMapping("/tracking/habit/{habitId}")
+    public Mono<List<HabitTrackingDto>> getTrackingsByHabit(
+            @Parameter(description = "Habit ID", required = true) @PathVariable Long habitId,
+            @Parameter(description = "Start date, inclusive (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date, inclusive (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        if (from == null && to == null) {
+            return reactiveReadFacade.getTrackingsByHabit(habitId);
+        }
+        return reactiveReadFacade.getTrackingsInRange(habitId, from, to);
+    }
+
+    @Operation(summary = "Get trackings for several habits", description = "Same as GET /tracking/batch" +
+            " without holding a request thread while user-service is called")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Trackings returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing or too many habit IDs, or invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "User has no access to some of the habits"),
+            @ApiResponse(responseCode = "404", description = "Some of the habits not found")
+    })
+    @GetMapping("/tracking/batch")
+    public Mono<Map<Long, List<HabitTrackingDto>>> getTrackingsForHabits(
+            @Parameter(description = "Comma-separated habit IDs (max 100)", required = true)
+            @RequestParam List<Long> habitIds,
+            @Parameter(description = "Start date, inclusive (format: YYYY-MM-DD)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date, inclusive (format: YYYY-MM-DD), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        return reactiveReadFacade.getTrackingsForHabits(habitIds, from, to);
+    }
+
+    @Operation(summary = "Get tracking by date", description = "Same as GET /tracking/habit/{habitId}/date/{date}" +
+            " without holding a request thread while user-service is called")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Trackings returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "User has no access to this habit"),
+            @ApiResponse(responseCode = "404", description = "Habit not found")
+    })
+    @GetMapping("/tracking/habit/{habitId}/date/{date}")
+    public Mono<List<HabitTrackingDto>> getTrackingByDate(
+            @Parameter(description = "Habit ID", required = true) @PathVariable Long habitId,
+            @Parameter(description = "Tracking date (format: YYYY-MM-DD)", required = true) @PathVariable String date) {
+
+        return reactiveReadFacade.getTrackingByDate(habitId, LocalDate.parse(date));
+    }
+}
@@ -0,0 +1,34 @@
+package com.habitFlow.habitService.dto;
+
+import com.habitFlow.habitService.model.enums.AnalyticsDimension;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@Schema(name = "AnalyticsResultDto", description = "Completion totals of one group of habits from the last analytics run")
+public class AnalyticsResultDto {
+    @Schema(description = "What the habits are grouped by", example = "COHORT")
+    private AnalyticsDimension dimension;
+
+    @Schema(description = "Frequency, creation month (yyyy-MM) or normalized habit title", example = "2025-10")
+    private String group;
+
+    @Schema(description = "Habits in the group", example = "1200")
+    private long habits;
+
+    @Schema(description = "Tracking records of these habits, archived ones included", example = "35000")
+    private long trackings;
+
+    @Schema(description = "Tracking records marked as done", example = "28000")
+    private long completions;
+
+    @Schema(description = "Completions per tracking record", example = "0.8")
+    private double completionRate;
+
+    @Schema(description = "When the run that produced this row finished aggregating")
+    private LocalDateTime computedAt;
+}
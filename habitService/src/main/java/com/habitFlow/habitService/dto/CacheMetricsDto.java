@@ -0,0 +1,37 @@
+package com.habitFlow.habitService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(name = "CacheMetricsDto", description = "Hit rate and lookup latency of one in-memory cache")
+public class CacheMetricsDto {
+    @Schema(description = "Cache name", example = "habits")
+    private String name;
+
+    @Schema(description = "Entries currently cached", example = "812")
+    private long size;
+
+    @Schema(description = "Maximum number of entries before eviction", example = "10000")
+    private long maxSize;
+
+    @Schema(description = "Lookups answered from the cache since startup", example = "9120")
+    private long hits;
+
+    @Schema(description = "Lookups that went to the database since startup", example = "880")
+    private long misses;
+
+    @Schema(description = "Share of lookups answered from the cache", example = "0.912")
+    private double hitRate;
+
+    @Schema(description = "Entries evicted because the cache was full or expired", example = "14")
+    private long evictions;
+
+    @Schema(description = "Average lookup time of hits in microseconds", example = "2")
+    private double avgHitMicros;
+
+    @Schema(description = "Average lookup time of misses in microseconds, database included", example = "1450")
+    private double avgMissMicros;
+}
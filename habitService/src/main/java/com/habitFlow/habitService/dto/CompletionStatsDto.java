@@ -0,0 +1,24 @@
+package com.habitFlow.habitService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@Schema(name = "CompletionStatsDto", description = "How many completions were recorded on a day")
+public class CompletionStatsDto {
+    @Schema(description = "Day the counts refer to", example = "2025-10-04")
+    private LocalDate date;
+
+    @Schema(description = "Habit title the per-habit count refers to (case-insensitive)", example = "Drink water")
+    private String habitTitle;
+
+    @Schema(description = "Completions of habits with this title on that day", example = "42")
+    private Long habitCompletions;
+
+    @Schema(description = "Completions of all habits on that day", example = "1337")
+    private long totalCompletions;
+}
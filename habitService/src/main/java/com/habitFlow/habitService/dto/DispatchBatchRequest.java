@@ -0,0 +1,12 @@
+package com.habitFlow.habitService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class DispatchBatchRequest {
+    private List<DispatchNotificationRequest> notifications;
+}
@@ -0,0 +1,23 @@
+package com.habitFlow.habitService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@Schema(name = "HabitBatchUpdateDto", description = "DTO for applying the same partial update to several habits")
+@AllArgsConstructor
+@NoArgsConstructor
+public class HabitBatchUpdateDto {
+
+    @Schema(description = "IDs of the habits to update (max 100)", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    @Schema(description = "Fields to change, absent fields are left as they are")
+    private HabitUpdateDto changes;
+}
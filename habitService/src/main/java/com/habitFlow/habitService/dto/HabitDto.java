@@ -9,7 +9,7 @@ import lombok.Data;
 import java.time.LocalDate;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Schema(name = "HabitDto", description = "Represents a user's habit with all its details")
 public class HabitDto {
     @Schema(description = "Unique habit ID", example = "1")
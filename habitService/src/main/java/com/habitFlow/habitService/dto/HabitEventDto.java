@@ -0,0 +1,43 @@
+package com.habitFlow.habitService.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "HabitEventDto", description = "Change of a habit or tracking pushed over the event stream")
+public class HabitEventDto {
+
+    public static final String HABIT_CREATED = "HABIT_CREATED";
+    public static final String HABIT_UPDATED = "HABIT_UPDATED";
+    public static final String HABIT_DELETED = "HABIT_DELETED";
+    public static final String TRACKING_CREATED = "TRACKING_CREATED";
+    public static final String TRACKING_DELETED = "TRACKING_DELETED";
+
+    @Schema(description = "Kind of change", example = "TRACKING_CREATED")
+    private String type;
+
+    @Schema(description = "ID of the affected habit (absent for deleted trackings)", example = "1")
+    private Long habitId;
+
+    @Schema(description = "ID of the affected tracking record, for tracking events", example = "7")
+    private Long trackingId;
+
+    @Schema(description = "Current state of the habit, for created and updated habits")
+    private HabitDto habit;
+
+    @Schema(description = "Current state of the tracking record, for created trackings")
+    private HabitTrackingDto tracking;
+
+    @Schema(description = "When the change happened", example = "2025-10-04T10:15:30")
+    private LocalDateTime occurredAt;
+}
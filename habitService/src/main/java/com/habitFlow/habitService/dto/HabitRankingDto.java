@@ -0,0 +1,37 @@
+package com.habitFlow.habitService.dto;
+
+import com.habitFlow.habitService.model.enums.Frequency;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(name = "HabitRankingDto", description = "How a habit's completion rate ranks among similar habits")
+public class HabitRankingDto {
+    @Schema(description = "Habit ID", example = "1")
+    private Long habitId;
+
+    @Schema(description = "Habits compared with: a normalized habit title, or * for all habits of the frequency",
+            example = "drink water")
+    private String category;
+
+    @Schema(description = "Frequency of the compared habits", example = "DAILY")
+    private Frequency frequency;
+
+    @Schema(description = "Tracked days of this habit, archived ones included", example = "40")
+    private long trackings;
+
+    @Schema(description = "Share of tracked days that were completed, null without trackings", example = "0.85")
+    private Double completionRate;
+
+    @Schema(description = "Habits the ranking is based on", example = "1234")
+    private long population;
+
+    @Schema(description = "Share of compared habits with a lower completion rate in percent," +
+            " null while the habit has too few trackings to be ranked", example = "91.5")
+    private Double percentile;
+
+    @Schema(description = "The habit is in the top this many percent, null while it is not ranked", example = "9")
+    private Integer topPercent;
+}
@@ -2,6 +2,7 @@ package com.habitFlow.habitService.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,4 +24,11 @@ public class HabitTrackingDto {
 
     @Schema(description = "Indicates if the habit was completed on this date", example = "true")
     private boolean done;
+
+    @Schema(description = "Optional measured amount, e.g. liters of water drunk", example = "2.0")
+    private Double value;
+
+    @Size(max = 20, message = "Unit must be at most 20 characters")
+    @Schema(description = "Unit of the value", example = "l")
+    private String unit;
 }
\ No newline at end of file
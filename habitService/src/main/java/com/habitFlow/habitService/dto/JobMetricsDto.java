@@ -0,0 +1,39 @@
+package com.habitFlow.habitService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@Schema(name = "JobMetricsDto", description = "Run statistics of one scheduled job")
+public class JobMetricsDto {
+    @Schema(description = "Job name (bean class and method)", example = "HabitReminderScheduler.sendDailyReminders")
+    private String name;
+
+    @Schema(description = "True while a run is in progress")
+    private boolean running;
+
+    @Schema(description = "Completed runs since startup", example = "42")
+    private long runs;
+
+    @Schema(description = "Runs that ended with an exception", example = "1")
+    private long failures;
+
+    @Schema(description = "Start time of the last run")
+    private LocalDateTime lastStartedAt;
+
+    @Schema(description = "Duration of the last run in milliseconds", example = "1250")
+    private long lastDurationMs;
+
+    @Schema(description = "Items the last run reported as processed", example = "318")
+    private long lastItemsProcessed;
+
+    @Schema(description = "How late the last run started compared to its schedule, in milliseconds", example = "3")
+    private long lastLagMs;
+
+    @Schema(description = "Message of the last failure, if any")
+    private String lastError;
+}
@@ -0,0 +1,16 @@
+package com.habitFlow.habitService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(name = "PendingHabitDto", description = "Habit that is due today and not completed yet")
+public class PendingHabitDto {
+    @Schema(description = "Unique habit ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Title of the habit", example = "Morning workout")
+    private String title;
+}
@@ -0,0 +1,35 @@
+package com.habitFlow.habitService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@Schema(name = "SyncResponseDto", description = "Habits and trackings changed since the client's sync token")
+public class SyncResponseDto {
+    @Schema(description = "Token to send as 'since' on the next sync", example = "1042")
+    private Long nextToken;
+
+    @Schema(description = "True when the token was missing or too old and the full state is returned;" +
+            " the client should replace its local copy")
+    private boolean fullResync;
+
+    @Schema(description = "True when more changes are available, sync again with nextToken right away")
+    private boolean hasMore;
+
+    @Schema(description = "Created or changed habits")
+    private List<HabitDto> habits;
+
+    @Schema(description = "Created or changed trackings, grouped by habit ID")
+    private Map<Long, List<HabitTrackingDto>> trackings;
+
+    @Schema(description = "IDs of deleted habits")
+    private List<Long> deletedHabitIds;
+
+    @Schema(description = "IDs of deleted trackings")
+    private List<Long> deletedTrackingIds;
+}
@@ -0,0 +1,31 @@
+package com.habitFlow.habitService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(name = "TodayHabitDto", description = "A habit with its status for today")
+public class TodayHabitDto {
+    public static final String DONE = "DONE";
+    public static final String NOT_DONE = "NOT_DONE";
+    public static final String UNTRACKED = "UNTRACKED";
+
+    @Schema(description = "The habit itself")
+    private HabitDto habit;
+
+    @Schema(description = "Today's tracking state: DONE, NOT_DONE or UNTRACKED", example = "DONE")
+    private String todayStatus;
+
+    @Schema(description = "ID of today's tracking, if there is one", example = "17")
+    private Long todayTrackingId;
+
+    @Schema(description = "Consecutive completed periods (days for daily habits, weeks for weekly ones, ...)" +
+            " up to the current one, counted within the last 90 days or the previous period, whichever" +
+            " reaches further back", example = "12")
+    private int currentStreak;
+
+    @Schema(description = "True when the habit is active today and its current period is not completed yet")
+    private boolean due;
+}
@@ -0,0 +1,34 @@
+package com.habitFlow.habitService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(name = "TrackingHistoryDto", description = "Tracking state of a habit replayed from its event log")
+public class TrackingHistoryDto {
+    @Schema(description = "Habit ID", example = "1")
+    private Long habitId;
+
+    @Schema(description = "ID of the last event the state includes", example = "1042")
+    private long lastEventId;
+
+    @Schema(description = "Events replayed on top of the latest snapshot", example = "17")
+    private long replayedEvents;
+
+    @Schema(description = "Live tracking records", example = "120")
+    private int trackings;
+
+    @Schema(description = "Days with a completed tracking", example = "98")
+    private int completedDays;
+
+    @Schema(description = "Consecutive completed days up to today", example = "5")
+    private int currentStreak;
+
+    @Schema(description = "Longest run of consecutive completed days", example = "21")
+    private int longestStreak;
+
+    @Schema(description = "Sum of all tracked values", example = "240.5")
+    private double valueTotal;
+}
@@ -0,0 +1,38 @@
+package com.habitFlow.habitService.dto;
+
+import com.habitFlow.habitService.model.enums.RollupPeriod;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "TrackingRollupDto", description = "Aggregated tracking values of a habit for one day, week or month")
+public class TrackingRollupDto {
+    @Schema(description = "Length of the period", example = "WEEKLY")
+    private RollupPeriod period;
+
+    @Schema(description = "First day of the period, weeks start on Monday", example = "2025-09-29")
+    private LocalDate periodStart;
+
+    @Schema(description = "Unit of the values", example = "l")
+    private String unit;
+
+    @Schema(description = "Sum of the values", example = "12.5")
+    private double total;
+
+    @Schema(description = "Smallest value", example = "1.0")
+    private double min;
+
+    @Schema(description = "Largest value", example = "2.5")
+    private double max;
+
+    @Schema(description = "Number of trackings with a value", example = "7")
+    private long count;
+}
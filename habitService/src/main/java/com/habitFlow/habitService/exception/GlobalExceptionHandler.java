@@ -2,6 +2,7 @@ package com.habitFlow.habitService.exception;
 
 import com.habitFlow.habitService.exception.custom.ExternalServiceException;
 import com.habitFlow.habitService.exception.custom.ForbiddenException;
+import com.habitFlow.habitService.exception.custom.InvalidRequestException;
 import com.habitFlow.habitService.exception.custom.ResourceNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -40,6 +41,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(InvalidRequestException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(
             org.springframework.web.bind.MethodArgumentNotValidException ex) {
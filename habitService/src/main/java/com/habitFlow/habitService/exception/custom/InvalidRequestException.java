@@ -0,0 +1,7 @@
+package com.habitFlow.habitService.exception.custom;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,53 @@
+package com.habitFlow.habitService.mapper;
+
+import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.exception.custom.InvalidRequestException;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Sparse fieldsets for habit lists: the names are the HabitDto properties,
+ * which are also the attribute names of the Habit entity.
+ */
+public class HabitFields {
+
+    private static final Map<String, Function<HabitDto, Object>> ACCESSORS = new LinkedHashMap<>();
+
+    static {
+        ACCESSORS.put("id", HabitDto::getId);
+        ACCESSORS.put("userId", HabitDto::getUserId);
+        ACCESSORS.put("title", HabitDto::getTitle);
+        ACCESSORS.put("description", HabitDto::getDescription);
+        ACCESSORS.put("frequency", HabitDto::getFrequency);
+        ACCESSORS.put("startDate", HabitDto::getStartDate);
+        ACCESSORS.put("endDate", HabitDto::getEndDate);
+        ACCESSORS.put("status", HabitDto::getStatus);
+    }
+
+    public static List<String> parse(String fields) {
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ACCESSORS.containsKey(name)) {
+                throw new InvalidRequestException("Unknown field '" + name + "', allowed: " + ACCESSORS.keySet());
+            }
+            parsed.add(name);
+        }
+        if (parsed.isEmpty()) {
+            throw new InvalidRequestException("At least one field is required");
+        }
+        return List.copyOf(parsed);
+    }
+
+    public static Map<String, Object> trim(HabitDto habit, List<String> fields) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String field : fields) {
+            result.put(field, ACCESSORS.get(field).apply(habit));
+        }
+        return result;
+    }
+}
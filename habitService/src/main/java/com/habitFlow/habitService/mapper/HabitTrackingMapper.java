@@ -1,7 +1,10 @@
 package com.habitFlow.habitService.mapper;
 
 import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.dto.TrackingRollupDto;
 import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.HabitTrackingArchive;
+import com.habitFlow.habitService.model.TrackingRollup;
 
 public class HabitTrackingMapper {
 
@@ -10,6 +13,18 @@ public class HabitTrackingMapper {
                 .id(entity.getId())
                 .trackDate(entity.getTrackDate())
                 .done(entity.isDone())
+                .value(entity.getAmount())
+                .unit(entity.getUnit())
+                .build();
+    }
+
+    public static HabitTrackingDto toDto(HabitTrackingArchive entity) {
+        return HabitTrackingDto.builder()
+                .id(entity.getId())
+                .trackDate(entity.getTrackDate())
+                .done(entity.isDone())
+                .value(entity.getAmount())
+                .unit(entity.getUnit())
                 .build();
     }
 
@@ -18,6 +33,20 @@ public class HabitTrackingMapper {
                 .id(dto.getId())
                 .trackDate(dto.getTrackDate())
                 .done(dto.isDone())
+                .amount(dto.getValue())
+                .unit(dto.getUnit())
+                .build();
+    }
+
+    public static TrackingRollupDto toDto(TrackingRollup entity) {
+        return TrackingRollupDto.builder()
+                .period(entity.getPeriod())
+                .periodStart(entity.getPeriodStart())
+                .unit(entity.getUnit())
+                .total(entity.getTotal())
+                .min(entity.getMinValue())
+                .max(entity.getMaxValue())
+                .count(entity.getSampleCount())
                 .build();
     }
 }
@@ -0,0 +1,32 @@
+package com.habitFlow.habitService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "completion_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_completion_rollup_key_date", columnNames = {"habit_key", "rollup_date"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // normalized habit title, or CompletionCounters.ALL_HABITS for the daily total
+    @Column(name = "habit_key", length = 100)
+    private String habitKey;
+
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    private long completions;
+}
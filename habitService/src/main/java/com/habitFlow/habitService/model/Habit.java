@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name="habit")
+@Table(name="habit", indexes = {
+        @Index(name = "idx_habit_user_id", columnList = "user_id"),
+        @Index(name = "idx_habit_status_end_date", columnList = "status, end_date")
+})
 @Builder
 @Entity
 public class Habit {
@@ -0,0 +1,46 @@
+package com.habitFlow.habitService.model;
+
+import com.habitFlow.habitService.model.enums.AnalyticsDimension;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One aggregate of the last analytics run: habits, trackings and completions of every frequency,
+ * creation-month cohort or (popular) habit title. Replaced as a whole by each run.
+ */
+@Entity
+@Table(name = "habit_analytics_result", indexes = {
+        @Index(name = "idx_habit_analytics_result_dimension", columnList = "dimension, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HabitAnalyticsResult {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private AnalyticsDimension dimension;
+
+    // frequency name, cohort month as yyyy-MM, or normalized habit title
+    @Column(name = "group_key", length = 100, nullable = false)
+    private String groupKey;
+
+    private long habits;
+    private long trackings;
+    private long completions;
+
+    @Column(name = "completion_rate")
+    private double completionRate;
+
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+}
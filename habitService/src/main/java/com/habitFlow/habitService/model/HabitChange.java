@@ -0,0 +1,45 @@
+package com.habitFlow.habitService.model;
+
+import com.habitFlow.habitService.model.enums.ChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per habit or tracking write; the id doubles as the sync sequence handed to clients.
+ * Delete rows are the tombstones, all rows are compacted after the retention window.
+ */
+@Entity
+@Table(name = "habit_change", indexes = {
+        @Index(name = "idx_habit_change_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_habit_change_changed_at", columnList = "changed_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HabitChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", length = 20)
+    private ChangeType changeType;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "habit_id")
+    private Long habitId;
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+}
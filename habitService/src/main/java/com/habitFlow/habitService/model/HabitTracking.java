@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "habit_tracking")
+@Table(name = "habit_tracking", indexes = {
+        @Index(name = "idx_habit_tracking_habit_date", columnList = "habit_id, track_date"),
+        @Index(name = "idx_habit_tracking_track_date", columnList = "track_date")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -25,4 +28,10 @@ public class HabitTracking {
 
     private LocalDate trackDate;
     private boolean done;
+
+    // optional measured amount, e.g. 2.0 with unit "l"; not named "value", which is reserved in SQL
+    private Double amount;
+
+    @Column(length = 20)
+    private String unit;
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.habitFlow.habitService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "habit_tracking_archive", indexes = {
+        @Index(name = "idx_tracking_archive_habit_date", columnList = "habit_id, track_date")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HabitTrackingArchive {
+    @Id
+    private Long id;
+
+    @Column(name = "habit_id")
+    private Long habitId;
+
+    private LocalDate trackDate;
+    private boolean done;
+    private Double amount;
+
+    @Column(length = 20)
+    private String unit;
+}
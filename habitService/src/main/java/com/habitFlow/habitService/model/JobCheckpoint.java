@@ -0,0 +1,37 @@
+package com.habitFlow.habitService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked job, one row per job name. The table and its last_user_id column keep the
+ * names they got for the weekly report, so existing checkpoints carry over under ddl-auto=update.
+ */
+@Entity
+@Table(name = "report_checkpoint")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+    @Id
+    @Column(name = "job_name", length = 50)
+    private String jobName;
+
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    // every key (user id, habit id, ...) up to and including this one is done for the period
+    @Column(name = "last_user_id")
+    private Long lastProcessedId;
+
+    private boolean completed;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.habitFlow.habitService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Record of claimed daily reminders. The unique (habit_id, reminder_date) key is the claim a reminder
+ * run takes before dispatching, so a habit is reminded at most once per day; a failed dispatch deletes
+ * its claim again. Rows behind the retention window are purged every night.
+ */
+@Entity
+@Table(name = "reminder_log", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reminder_log_habit_date", columnNames = {"habit_id", "reminder_date"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "habit_id", nullable = false)
+    private Long habitId;
+
+    @Column(name = "reminder_date", nullable = false)
+    private LocalDate reminderDate;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,58 @@
+package com.habitFlow.habitService.model;
+
+import com.habitFlow.habitService.model.enums.TrackingEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only history of tracking writes: a tracking row is recorded once when it is created and
+ * once when it is removed, with its full content, so any state of a habit can be replayed.
+ * The id orders the events of a habit; rows are never updated or compacted while the habit exists,
+ * and the whole history is deleted together with its habit.
+ */
+@Entity
+@Immutable
+@Table(name = "tracking_event", indexes = {
+        @Index(name = "idx_tracking_event_habit_id", columnList = "habit_id, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "habit_id", nullable = false)
+    private Long habitId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 10, nullable = false)
+    private TrackingEventType eventType;
+
+    @Column(name = "tracking_id", nullable = false)
+    private Long trackingId;
+
+    @Column(name = "track_date")
+    private LocalDate trackDate;
+
+    private boolean done;
+    private Double amount;
+
+    @Column(length = 20)
+    private String unit;
+
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+}
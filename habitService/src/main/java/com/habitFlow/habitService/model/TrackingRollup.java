@@ -0,0 +1,59 @@
+package com.habitFlow.habitService.model;
+
+import com.habitFlow.habitService.model.enums.RollupPeriod;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Sum/min/max of the tracked values of one habit per day, week or month, kept current on every
+ * tracking write so progress charts never aggregate raw trackings.
+ */
+@Entity
+@Table(name = "tracking_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tracking_rollup_habit_period_start",
+                columnNames = {"habit_id", "period", "period_start"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // HabitService deletes a habit's rollups with it, the cascade covers habits removed by other means
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "habit_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Habit habit;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private RollupPeriod period;
+
+    // the day itself, the Monday of the week or the first of the month
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(length = 20)
+    private String unit;
+
+    private double total;
+
+    @Column(name = "min_value")
+    private double minValue;
+
+    @Column(name = "max_value")
+    private double maxValue;
+
+    @Column(name = "sample_count")
+    private long sampleCount;
+}
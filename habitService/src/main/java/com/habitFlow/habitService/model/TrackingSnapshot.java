@@ -0,0 +1,40 @@
+package com.habitFlow.habitService.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest replayed tracking state of a habit, encoded by TrackingHistory. Replays start
+ * here and only read the events after lastEventId.
+ */
+@Entity
+@Table(name = "tracking_snapshot", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tracking_snapshot_habit_id", columnNames = {"habit_id"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "habit_id", nullable = false)
+    private Long habitId;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Lob
+    @Column(name = "state", columnDefinition = "MEDIUMBLOB", nullable = false)
+    private byte[] state;
+
+    @Column(name = "taken_at")
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,7 @@
+package com.habitFlow.habitService.model.enums;
+
+public enum AnalyticsDimension {
+    FREQUENCY,
+    COHORT,
+    TITLE
+}
@@ -0,0 +1,5 @@
+package com.habitFlow.habitService.model.enums;
+
+public enum ChangeType {
+    HABIT_UPSERT, HABIT_DELETE, TRACKING_UPSERT, TRACKING_DELETE
+}
@@ -0,0 +1,28 @@
+package com.habitFlow.habitService.model.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum RollupPeriod {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    // weeks start on Monday
+    public LocalDate startOf(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate endOf(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> startOf(date).plusDays(6);
+            case MONTHLY -> date.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+}
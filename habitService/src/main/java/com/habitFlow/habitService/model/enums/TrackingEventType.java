@@ -0,0 +1,5 @@
+package com.habitFlow.habitService.model.enums;
+
+public enum TrackingEventType {
+    RECORDED, REMOVED
+}
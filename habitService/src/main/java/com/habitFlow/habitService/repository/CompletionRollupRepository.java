@@ -0,0 +1,32 @@
+package com.habitFlow.habitService.repository;
+
+import com.habitFlow.habitService.model.CompletionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface CompletionRollupRepository extends JpaRepository<CompletionRollup,Long> {
+    Optional<CompletionRollup> findByHabitKeyAndRollupDate(String habitKey, LocalDate rollupDate);
+
+    // atomic, so instances flushing the same counter add up instead of overwriting each other;
+    // not clamped at zero, one instance's revoke may arrive before another's matching completion
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO completion_rollup (habit_key, rollup_date, completions)" +
+            " VALUES (:habitKey, :date, :delta)" +
+            " ON DUPLICATE KEY UPDATE completions = completions + :delta", nativeQuery = true)
+    int addCompletions(@Param("habitKey") String habitKey, @Param("date") LocalDate date, @Param("delta") long delta);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO completion_rollup (habit_key, rollup_date, completions)" +
+            " VALUES (:habitKey, :date, :completions)" +
+            " ON DUPLICATE KEY UPDATE completions = :completions", nativeQuery = true)
+    int setCompletions(@Param("habitKey") String habitKey, @Param("date") LocalDate date,
+                       @Param("completions") long completions);
+}
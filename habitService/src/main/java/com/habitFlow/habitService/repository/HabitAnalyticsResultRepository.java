@@ -0,0 +1,12 @@
+package com.habitFlow.habitService.repository;
+
+import com.habitFlow.habitService.model.HabitAnalyticsResult;
+import com.habitFlow.habitService.model.enums.AnalyticsDimension;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface HabitAnalyticsResultRepository extends JpaRepository<HabitAnalyticsResult,Long> {
+    List<HabitAnalyticsResult> findByDimensionOrderByIdAsc(AnalyticsDimension dimension);
+    List<HabitAnalyticsResult> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,51 @@
+package com.habitFlow.habitService.repository;
+
+import com.habitFlow.habitService.model.HabitChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface HabitChangeRepository extends JpaRepository<HabitChange,Long> {
+
+    @Query(value = "SELECT * FROM habit_change WHERE user_id = :userId AND id > :since AND id <= :upTo" +
+            " ORDER BY id ASC LIMIT :limit", nativeQuery = true)
+    List<HabitChange> findUserChanges(@Param("userId") Long userId, @Param("since") Long since,
+                                      @Param("upTo") Long upTo, @Param("limit") int limit);
+
+    // habits written by any user between two change ids, for instances catching up on each other's writes
+    @Query(value = "SELECT DISTINCT habit_id FROM habit_change WHERE id > :since AND id <= :upTo" +
+            " AND change_type IN ('HABIT_UPSERT', 'HABIT_DELETE')", nativeQuery = true)
+    List<Long> findChangedHabitIds(@Param("since") Long since, @Param("upTo") Long upTo);
+
+    // newest change written up to :cutoff; walks the primary key back over the changes after it only
+    @Query(value = "SELECT id FROM habit_change WHERE changed_at <= :cutoff ORDER BY id DESC LIMIT 1",
+            nativeQuery = true)
+    Long findLastIdChangedUpTo(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO habit_change (user_id, change_type, entity_id, habit_id, changed_at)" +
+            " SELECT user_id, 'HABIT_UPSERT', id, id, :now FROM habit WHERE id IN (:ids)", nativeQuery = true)
+    int insertHabitUpserts(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // tombstones for every tracking of a habit, hot and archived, before they are deleted with it
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO habit_change (user_id, change_type, entity_id, habit_id, changed_at)" +
+            " SELECT h.user_id, 'TRACKING_DELETE', t.id, h.id, :now FROM habit h" +
+            " JOIN (SELECT id, habit_id FROM habit_tracking WHERE habit_id = :habitId" +
+            "       UNION ALL SELECT id, habit_id FROM habit_tracking_archive WHERE habit_id = :habitId) t" +
+            " ON t.habit_id = h.id", nativeQuery = true)
+    int insertTrackingDeletesOfHabit(@Param("habitId") Long habitId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM habit_change WHERE id <= :upTo ORDER BY id LIMIT :limit", nativeQuery = true)
+    int deleteUpTo(@Param("upTo") Long upTo, @Param("limit") int limit);
+}
@@ -0,0 +1,12 @@
+package com.habitFlow.habitService.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface HabitProjectionRepository {
+
+    /**
+     * Selects only the given Habit attributes of a user's habits, one map per habit in id order.
+     */
+    List<Map<String, Object>> findFieldsByUserId(Long userId, List<String> fields);
+}
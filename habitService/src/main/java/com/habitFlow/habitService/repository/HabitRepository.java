@@ -1,18 +1,89 @@
 package com.habitFlow.habitService.repository;
 
 import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.enums.Frequency;
 import com.habitFlow.habitService.model.enums.HabitStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface HabitRepository extends JpaRepository<Habit,Long> {
+public interface HabitRepository extends JpaRepository<Habit,Long>, HabitProjectionRepository,
+        HabitStatsScanRepository {
     List<Habit> findByUserId(Long userId);
 
+    Optional<Habit> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT h.id FROM Habit h WHERE h.id IN :ids AND h.userId = :userId")
+    List<Long> findIdsOwnedBy(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Habit h WHERE h.id = :id AND h.userId = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
     List<Habit> findByStatus(HabitStatus status);
 
+    @Query("SELECT h.id, h.title FROM Habit h WHERE h.id IN :ids")
+    List<Object[]> findTitlesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MIN(h.id), 0) FROM Habit h")
+    long findMinId();
+
+    @Query("SELECT COALESCE(MAX(h.id), 0) FROM Habit h")
+    long findMaxId();
+
+    List<Habit> findByUserIdBetween(Long fromUserId, Long toUserId);
+
+    @Query(value = "SELECT DISTINCT user_id FROM habit WHERE user_id > :lastUserId ORDER BY user_id ASC" +
+            " LIMIT :limit", nativeQuery = true)
+    List<Long> findUserIdsAfter(@Param("lastUserId") Long lastUserId, @Param("limit") int limit);
+
+    @Query("SELECT h FROM Habit h WHERE h.status = :status AND (h.endDate IS NULL OR h.endDate >= :date)")
+    List<Habit> findLiveByStatus(@Param("status") HabitStatus status, @Param("date") LocalDate date);
+
     @Query(value = "SELECT * FROM habit WHERE id > :lastId ORDER BY id ASC LIMIT :limit", nativeQuery = true)
     List<Habit> findTopNByIdGreaterThanOrderByIdAsc(@Param("lastId") Long lastId, @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM habit WHERE status = :status AND end_date < :date ORDER BY end_date ASC" +
+            " LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsByStatusAndEndDateBefore(@Param("status") String status, @Param("date") LocalDate date,
+                                               @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Habit h SET h.status = :newStatus, h.updatedAt = :now" +
+            " WHERE h.id IN :ids AND h.status = :oldStatus")
+    int updateStatusByIds(@Param("ids") List<Long> ids,
+                          @Param("oldStatus") HabitStatus oldStatus,
+                          @Param("newStatus") HabitStatus newStatus,
+                          @Param("now") LocalDateTime now);
+
+    // absent (null) fields keep their value; clears the context so reloads see the new rows
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Habit h SET h.title = COALESCE(:title, h.title)," +
+            " h.description = COALESCE(:description, h.description)," +
+            " h.frequency = COALESCE(:frequency, h.frequency)," +
+            " h.endDate = COALESCE(:endDate, h.endDate)," +
+            " h.status = COALESCE(:status, h.status)," +
+            " h.updatedAt = :now" +
+            " WHERE h.id IN :ids AND h.userId = :userId")
+    int updateFieldsByIdsAndUserId(@Param("ids") Collection<Long> ids,
+                                   @Param("userId") Long userId,
+                                   @Param("title") String title,
+                                   @Param("description") String description,
+                                   @Param("frequency") Frequency frequency,
+                                   @Param("endDate") LocalDate endDate,
+                                   @Param("status") HabitStatus status,
+                                   @Param("now") LocalDateTime now);
 }
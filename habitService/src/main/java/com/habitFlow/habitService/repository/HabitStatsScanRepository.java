@@ -0,0 +1,24 @@
+package com.habitFlow.habitService.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+public interface HabitStatsScanRepository {
+
+    /**
+     * Primitive row callback, so millions of rows don't box anything.
+     * The cohort is the creation month counted from January of {@link #COHORT_EPOCH_YEAR}, -1 if unknown.
+     */
+    @FunctionalInterface
+    interface HabitStatsConsumer {
+        void accept(long habitId, String frequency, int cohort, String title, long trackings, long completions);
+    }
+
+    int COHORT_EPOCH_YEAR = 2000;
+
+    /**
+     * Streams every habit with an id in [fromId, toId] together with its tracking and completion
+     * counts (hot and archived) through a forward-only cursor, without loading the range into memory.
+     */
+    @Transactional(readOnly = true)
+    void scanHabitStats(long fromId, long toId, HabitStatsConsumer consumer);
+}
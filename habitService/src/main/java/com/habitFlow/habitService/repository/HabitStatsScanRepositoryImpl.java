@@ -0,0 +1,49 @@
+package com.habitFlow.habitService.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+public class HabitStatsScanRepositoryImpl implements HabitStatsScanRepository {
+
+    private static final String HABIT_STATS_SQL = "SELECT h.id, h.frequency," +
+            " COALESCE((YEAR(h.created_at) - :epochYear) * 12 + MONTH(h.created_at) - 1, -1)," +
+            " LOWER(TRIM(h.title))," +
+            " COALESCE(t.trackings, 0) + COALESCE(a.trackings, 0)," +
+            " COALESCE(t.completions, 0) + COALESCE(a.completions, 0)" +
+            " FROM habit h" +
+            " LEFT JOIN (SELECT habit_id, COUNT(*) AS trackings, SUM(done) AS completions FROM habit_tracking" +
+            "            WHERE habit_id BETWEEN :fromId AND :toId GROUP BY habit_id) t ON t.habit_id = h.id" +
+            " LEFT JOIN (SELECT habit_id, COUNT(*) AS trackings, SUM(done) AS completions" +
+            "            FROM habit_tracking_archive" +
+            "            WHERE habit_id BETWEEN :fromId AND :toId GROUP BY habit_id) a ON a.habit_id = h.id" +
+            " WHERE h.id BETWEEN :fromId AND :toId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void scanHabitStats(long fromId, long toId, HabitStatsConsumer consumer) {
+        Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults<Object[]> rows = session.createNativeQuery(HABIT_STATS_SQL, Object[].class)
+                .setParameter("epochYear", COHORT_EPOCH_YEAR)
+                .setParameter("fromId", fromId)
+                .setParameter("toId", toId)
+                // MySQL Connector/J only streams rows with this fetch size, otherwise it buffers the result
+                .setFetchSize(Integer.MIN_VALUE)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                consumer.accept(((Number) row[0]).longValue(),
+                        (String) row[1],
+                        ((Number) row[2]).intValue(),
+                        (String) row[3],
+                        ((Number) row[4]).longValue(),
+                        ((Number) row[5]).longValue());
+            }
+        }
+    }
+}
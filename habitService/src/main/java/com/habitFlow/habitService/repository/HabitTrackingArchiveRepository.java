@@ -0,0 +1,46 @@
+package com.habitFlow.habitService.repository;
+
+import com.habitFlow.habitService.model.HabitTrackingArchive;
+import com.habitFlow.habitService.repository.HabitTrackingRepository.TrackingOwnerView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface HabitTrackingArchiveRepository extends JpaRepository<HabitTrackingArchive,Long> {
+    List<HabitTrackingArchive> findByHabitIdOrderByTrackDateAsc(Long habitId);
+    List<HabitTrackingArchive> findByHabitIdAndTrackDate(Long habitId, LocalDate trackDate);
+    List<HabitTrackingArchive> findByHabitIdAndTrackDateBetweenOrderByTrackDateAsc(Long habitId, LocalDate from,
+                                                                                 LocalDate to);
+    List<HabitTrackingArchive> findByHabitIdInAndTrackDateBetweenOrderByTrackDateAsc(Collection<Long> habitIds,
+                                                                                    LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO habit_tracking_archive (id, habit_id, track_date, done, amount, unit)" +
+            " SELECT id, habit_id, track_date, done, amount, unit FROM habit_tracking WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromHotTable(@Param("ids") List<Long> ids);
+
+    @Query("SELECT h.id AS habitId, h.userId AS userId, h.title AS habitTitle," +
+            " a.trackDate AS trackDate, a.done AS done, a.amount AS amount," +
+            " a.unit AS unit" +
+            " FROM HabitTrackingArchive a JOIN Habit h ON h.id = a.habitId WHERE a.id = :id")
+    Optional<TrackingOwnerView> findOwnerViewById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM HabitTrackingArchive a WHERE a.id = :id" +
+            " AND a.habitId IN (SELECT h.id FROM Habit h WHERE h.userId = :userId)")
+    int deleteByIdAndOwner(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM HabitTrackingArchive a WHERE a.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM HabitTrackingArchive a WHERE a.habitId = :habitId")
+    int deleteByHabitId(@Param("habitId") Long habitId);
+}
@@ -1,16 +1,142 @@
 package com.habitFlow.habitService.repository;
 
 import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.enums.Frequency;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface HabitTrackingRepository extends JpaRepository<HabitTracking,Long> {
+
+    interface TrackingOwnerView {
+        Long getHabitId();
+        Long getUserId();
+        String getHabitTitle();
+        LocalDate getTrackDate();
+        Boolean getDone();
+        Double getAmount();
+        String getUnit();
+    }
+
+    interface CompletedDayView {
+        Long getHabitId();
+        LocalDate getTrackDate();
+    }
+
+    interface TrackingDayView {
+        Long getId();
+        Long getHabitId();
+        LocalDate getTrackDate();
+        Boolean getDone();
+    }
+
     List<HabitTracking> findByHabitId(Long habitId);
     List<HabitTracking> findByHabitIdAndTrackDate(Long habitId, LocalDate trackDate);
     @Query("SELECT ht.habit.id FROM HabitTracking ht WHERE ht.trackDate = :date")
     List<Long> findHabitIdsTrackedOnDate(@Param("date") LocalDate date);
+
+    // habits without a frequency are daily ones
+    @Query("SELECT ht.id AS id, h.id AS habitId, ht.trackDate AS trackDate, ht.done AS done" +
+            " FROM HabitTracking ht JOIN ht.habit h WHERE ht.done = true AND ht.trackDate BETWEEN :from AND :to" +
+            " AND (h.frequency = :frequency OR (h.frequency IS NULL AND :frequency = " +
+            "com.habitFlow.habitService.model.enums.Frequency.DAILY))")
+    List<TrackingDayView> findCompletionsByFrequencyBetween(@Param("frequency") Frequency frequency,
+                                                            @Param("from") LocalDate from,
+                                                            @Param("to") LocalDate to);
+
+    @Query("SELECT ht.id AS id, ht.habit.id AS habitId, ht.trackDate AS trackDate, ht.done AS done" +
+            " FROM HabitTracking ht WHERE ht.habit.id IN :habitIds AND ht.done = true" +
+            " AND ht.trackDate BETWEEN :from AND :to")
+    List<TrackingDayView> findCompletionsOfHabitsBetween(@Param("habitIds") Collection<Long> habitIds,
+                                                         @Param("from") LocalDate from,
+                                                         @Param("to") LocalDate to);
+
+    @Query("SELECT ht.habit.id AS habitId, ht.trackDate AS trackDate FROM HabitTracking ht" +
+            " WHERE ht.habit.userId BETWEEN :fromUserId AND :toUserId AND ht.done = true" +
+            " AND ht.trackDate BETWEEN :from AND :to")
+    List<CompletedDayView> findCompletedDaysByOwnerRange(@Param("fromUserId") Long fromUserId,
+                                                         @Param("toUserId") Long toUserId,
+                                                         @Param("from") LocalDate from,
+                                                         @Param("to") LocalDate to);
+
+    @Query("SELECT ht.id AS id, ht.habit.id AS habitId, ht.trackDate AS trackDate, ht.done AS done" +
+            " FROM HabitTracking ht WHERE ht.habit.userId = :userId" +
+            " AND ht.trackDate BETWEEN :from AND :today AND (ht.done = true OR ht.trackDate = :today)")
+    List<TrackingDayView> findCompletionsAndTodayByOwner(@Param("userId") Long userId,
+                                                         @Param("from") LocalDate from,
+                                                         @Param("today") LocalDate today);
+
+    @Query("SELECT ht FROM HabitTracking ht WHERE ht.habit.userId = :userId")
+    List<HabitTracking> findByOwner(@Param("userId") Long userId);
+
+    @Query("SELECT ht FROM HabitTracking ht WHERE ht.habit.id = :habitId AND ht.habit.userId = :userId")
+    List<HabitTracking> findByHabitIdAndOwner(@Param("habitId") Long habitId, @Param("userId") Long userId);
+
+    @Query("SELECT ht FROM HabitTracking ht" +
+            " WHERE ht.habit.id = :habitId AND ht.habit.userId = :userId AND ht.trackDate = :date")
+    List<HabitTracking> findByHabitIdAndOwnerAndTrackDate(@Param("habitId") Long habitId,
+                                                          @Param("userId") Long userId,
+                                                          @Param("date") LocalDate date);
+
+    @Query("SELECT ht FROM HabitTracking ht WHERE ht.habit.id = :habitId AND ht.habit.userId = :userId" +
+            " AND ht.trackDate BETWEEN :from AND :to ORDER BY ht.trackDate ASC")
+    List<HabitTracking> findByHabitIdAndOwnerAndTrackDateBetween(@Param("habitId") Long habitId,
+                                                                 @Param("userId") Long userId,
+                                                                 @Param("from") LocalDate from,
+                                                                 @Param("to") LocalDate to);
+
+    @Query("SELECT ht FROM HabitTracking ht" +
+            " WHERE ht.habit.id IN :habitIds AND ht.trackDate BETWEEN :from AND :to ORDER BY ht.trackDate ASC")
+    List<HabitTracking> findByHabitIdsAndTrackDateBetween(@Param("habitIds") Collection<Long> habitIds,
+                                                          @Param("from") LocalDate from,
+                                                          @Param("to") LocalDate to);
+
+    @Query("SELECT LOWER(TRIM(h.title)), ht.trackDate, COUNT(ht) FROM HabitTracking ht JOIN ht.habit h" +
+            " WHERE ht.done = true AND ht.trackDate >= :from GROUP BY LOWER(TRIM(h.title)), ht.trackDate")
+    List<Object[]> countCompletionsByTitleAndDateSince(@Param("from") LocalDate from);
+
+    // rows of habit id, day and completions, hot and archived trackings together
+    @Query(value = "SELECT t.habit_id, t.track_date, COUNT(*) FROM (" +
+            "SELECT habit_id, track_date FROM habit_tracking WHERE habit_id IN (:habitIds) AND done" +
+            " UNION ALL SELECT habit_id, track_date FROM habit_tracking_archive WHERE habit_id IN (:habitIds) AND done" +
+            ") t GROUP BY t.habit_id, t.track_date", nativeQuery = true)
+    List<Object[]> countCompletionsByHabitAndDate(@Param("habitIds") Collection<Long> habitIds);
+
+    // rows of id, title, frequency, trackings, completed trackings, hot and archived trackings together
+    @Query(value = "SELECT h.id, h.title, h.frequency, COUNT(*), SUM(CASE WHEN t.done THEN 1 ELSE 0 END)" +
+            " FROM habit h JOIN (SELECT habit_id, done FROM habit_tracking" +
+            " UNION ALL SELECT habit_id, done FROM habit_tracking_archive) t ON t.habit_id = h.id" +
+            " GROUP BY h.id, h.title, h.frequency", nativeQuery = true)
+    List<Object[]> countTrackingsPerHabit();
+
+    @Query("SELECT h.id AS habitId, h.userId AS userId, h.title AS habitTitle," +
+            " ht.trackDate AS trackDate, ht.done AS done, ht.amount AS amount," +
+            " ht.unit AS unit" +
+            " FROM HabitTracking ht JOIN ht.habit h WHERE ht.id = :id")
+    Optional<TrackingOwnerView> findOwnerViewById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM HabitTracking ht WHERE ht.id = :id" +
+            " AND ht.habit.id IN (SELECT h.id FROM Habit h WHERE h.userId = :userId)")
+    int deleteByIdAndOwner(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(value = "SELECT id FROM habit_tracking WHERE track_date < :cutoff ORDER BY track_date ASC" +
+            " LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsByTrackDateBefore(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM HabitTracking ht WHERE ht.habit.id = :habitId")
+    int deleteByHabitId(@Param("habitId") Long habitId);
+
+    @Modifying
+    @Query("DELETE FROM HabitTracking ht WHERE ht.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
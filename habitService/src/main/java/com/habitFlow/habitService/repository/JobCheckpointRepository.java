@@ -0,0 +1,7 @@
+package com.habitFlow.habitService.repository;
+
+import com.habitFlow.habitService.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint,String> {
+}
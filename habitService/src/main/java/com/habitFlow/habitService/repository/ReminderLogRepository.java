@@ -0,0 +1,35 @@
+package com.habitFlow.habitService.repository;
+
+import com.habitFlow.habitService.model.ReminderLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface ReminderLogRepository extends JpaRepository<ReminderLog,Long> {
+
+    // returns 0 when the reminder was already claimed, the unique key turns the duplicate into a no-op
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO reminder_log (habit_id, reminder_date, sent_at)" +
+            " VALUES (:habitId, :reminderDate, :sentAt)", nativeQuery = true)
+    int claim(@Param("habitId") Long habitId, @Param("reminderDate") LocalDate reminderDate,
+              @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ReminderLog r WHERE r.habitId = :habitId AND r.reminderDate = :reminderDate")
+    int release(@Param("habitId") Long habitId, @Param("reminderDate") LocalDate reminderDate);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM reminder_log WHERE reminder_date < :cutoff ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    boolean existsByHabitIdAndReminderDate(Long habitId, LocalDate reminderDate);
+}
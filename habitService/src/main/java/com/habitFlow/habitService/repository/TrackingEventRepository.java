@@ -0,0 +1,39 @@
+package com.habitFlow.habitService.repository;
+
+import com.habitFlow.habitService.model.TrackingEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TrackingEventRepository extends JpaRepository<TrackingEvent,Long> {
+
+    @Query(value = "SELECT * FROM tracking_event WHERE habit_id = :habitId AND id > :afterId ORDER BY id ASC" +
+            " LIMIT :limit", nativeQuery = true)
+    List<TrackingEvent> findByHabitIdAfter(@Param("habitId") Long habitId, @Param("afterId") Long afterId,
+                                           @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM TrackingEvent e WHERE e.habitId = :habitId")
+    int deleteByHabitId(@Param("habitId") Long habitId);
+
+    // habits with events past :afterEventId, a primary key range; in habit id order for keyset paging
+    @Query(value = "SELECT DISTINCT habit_id FROM tracking_event" +
+            " WHERE id > :afterEventId AND habit_id > :afterHabitId ORDER BY habit_id ASC LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findHabitIdsWithEventsAfter(@Param("afterEventId") Long afterEventId,
+                                           @Param("afterHabitId") Long afterHabitId,
+                                           @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM tracking_event WHERE habit_id = :habitId AND id > :afterId",
+            nativeQuery = true)
+    long countByHabitIdAfter(@Param("habitId") Long habitId, @Param("afterId") Long afterId);
+
+    @Query(value = "SELECT MAX(id) FROM tracking_event WHERE id > :afterEventId AND occurred_at < :settledBefore",
+            nativeQuery = true)
+    Long findLastIdSettledAfter(@Param("afterEventId") Long afterEventId,
+                                @Param("settledBefore") LocalDateTime settledBefore);
+}
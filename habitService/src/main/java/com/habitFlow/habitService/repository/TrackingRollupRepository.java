@@ -0,0 +1,82 @@
+package com.habitFlow.habitService.repository;
+
+import com.habitFlow.habitService.model.TrackingRollup;
+import com.habitFlow.habitService.model.enums.RollupPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface TrackingRollupRepository extends JpaRepository<TrackingRollup,Long> {
+
+    @Query("SELECT r FROM TrackingRollup r WHERE r.habit.id = :habitId AND r.period = :period" +
+            " AND r.periodStart BETWEEN :from AND :to ORDER BY r.periodStart ASC")
+    List<TrackingRollup> findByHabitAndPeriodBetween(@Param("habitId") Long habitId,
+                                                     @Param("period") RollupPeriod period,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to);
+
+    // the unit the habit's values are tracked in, taken from its first rollup that has one
+    @Query(value = "SELECT unit FROM tracking_rollup WHERE habit_id = :habitId AND unit IS NOT NULL LIMIT 1",
+            nativeQuery = true)
+    Optional<String> findUnitOf(@Param("habitId") Long habitId);
+
+    // folds one value into its day, week and month in a single statement, creating missing rows;
+    // a bucket keeps the unit it was created with
+    @Modifying
+    @Query(value = "INSERT INTO tracking_rollup" +
+            " (habit_id, period, period_start, unit, total, min_value, max_value, sample_count) VALUES" +
+            " (:habitId, 'DAILY', :day, :unit, :amount, :amount, :amount, 1)," +
+            " (:habitId, 'WEEKLY', :week, :unit, :amount, :amount, :amount, 1)," +
+            " (:habitId, 'MONTHLY', :month, :unit, :amount, :amount, :amount, 1)" +
+            " ON DUPLICATE KEY UPDATE total = total + VALUES(total)," +
+            " min_value = LEAST(min_value, VALUES(min_value)), max_value = GREATEST(max_value, VALUES(max_value))," +
+            " sample_count = sample_count + 1, unit = COALESCE(unit, VALUES(unit))", nativeQuery = true)
+    int addValue(@Param("habitId") Long habitId,
+                 @Param("day") LocalDate day,
+                 @Param("week") LocalDate week,
+                 @Param("month") LocalDate month,
+                 @Param("amount") double amount,
+                 @Param("unit") String unit);
+
+    @Modifying
+    @Query("DELETE FROM TrackingRollup r WHERE r.habit.id = :habitId AND r.period = :period" +
+            " AND r.periodStart = :periodStart")
+    int deleteBucket(@Param("habitId") Long habitId,
+                     @Param("period") RollupPeriod period,
+                     @Param("periodStart") LocalDate periodStart);
+
+    @Modifying
+    @Query("DELETE FROM TrackingRollup r WHERE r.habit.id = :habitId")
+    int deleteByHabitId(@Param("habitId") Long habitId);
+
+    // min/max can't be taken back, so removals rebuild the day from the raw values of both tracking tables
+    @Modifying
+    @Query(value = "INSERT INTO tracking_rollup" +
+            " (habit_id, period, period_start, unit, total, min_value, max_value, sample_count)" +
+            " SELECT :habitId, 'DAILY', :day, MAX(t.unit), SUM(t.amount), MIN(t.amount), MAX(t.amount), COUNT(*)" +
+            " FROM (SELECT amount, unit FROM habit_tracking" +
+            "       WHERE habit_id = :habitId AND track_date = :day AND amount IS NOT NULL" +
+            "       UNION ALL SELECT amount, unit FROM habit_tracking_archive" +
+            "       WHERE habit_id = :habitId AND track_date = :day AND amount IS NOT NULL) t" +
+            " HAVING COUNT(*) > 0", nativeQuery = true)
+    int rebuildDay(@Param("habitId") Long habitId, @Param("day") LocalDate day);
+
+    // ...and weeks and months from the rebuilt days
+    @Modifying
+    @Query(value = "INSERT INTO tracking_rollup" +
+            " (habit_id, period, period_start, unit, total, min_value, max_value, sample_count)" +
+            " SELECT :habitId, :period, :periodStart, MAX(d.unit), SUM(d.total), MIN(d.min_value)," +
+            " MAX(d.max_value), SUM(d.sample_count)" +
+            " FROM tracking_rollup d WHERE d.habit_id = :habitId AND d.period = 'DAILY'" +
+            " AND d.period_start BETWEEN :periodStart AND :periodEnd" +
+            " HAVING COUNT(*) > 0", nativeQuery = true)
+    int rebuildFromDays(@Param("habitId") Long habitId,
+                        @Param("period") String period,
+                        @Param("periodStart") LocalDate periodStart,
+                        @Param("periodEnd") LocalDate periodEnd);
+}
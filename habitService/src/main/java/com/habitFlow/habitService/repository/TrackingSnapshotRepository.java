@@ -0,0 +1,17 @@
+package com.habitFlow.habitService.repository;
+
+import com.habitFlow.habitService.model.TrackingSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface TrackingSnapshotRepository extends JpaRepository<TrackingSnapshot,Long> {
+    Optional<TrackingSnapshot> findByHabitId(Long habitId);
+
+    @Modifying
+    @Query("DELETE FROM TrackingSnapshot s WHERE s.habitId = :habitId")
+    int deleteByHabitId(@Param("habitId") Long habitId);
+}
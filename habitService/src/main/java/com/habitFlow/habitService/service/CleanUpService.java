@@ -13,6 +13,7 @@ import java.util.List;
 public class CleanUpService {
     private final HabitService habitService;
     private final UserService userService;
+    private final ScheduledJobMonitor scheduledJobMonitor;
 
     private static final int BATCH_SIZE = 5;
 
@@ -49,5 +50,6 @@ public class CleanUpService {
         }
 
         lastProcessedId = batch.get(batch.size() - 1).getId();
+        scheduledJobMonitor.itemsProcessed(batch.size());
     }
 }
@@ -0,0 +1,148 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.model.CompletionRollup;
+import com.habitFlow.habitService.repository.CompletionRollupRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Completion counters per habit title and day, plus a per-day total over all habits.
+ * completion_rollup holds the counts every instance has flushed; changes since an instance's
+ * last flush are counted in its memory and added to the rollup rows with an atomic upsert,
+ * so several instances never overwrite each other's counts.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompletionCounters {
+
+    public static final String ALL_HABITS = "*";
+
+    private final HabitTrackingRepository habitTrackingRepository;
+    private final CompletionRollupRepository completionRollupRepository;
+    private final Clock clock;
+
+    // changes not flushed yet; merge and remove are atomic per key, so no change falls between them
+    private final Map<CounterKey, Long> unflushed = new ConcurrentHashMap<>();
+
+    // days recounted by the startup reconcile
+    @Value("${habit.counters.days-in-memory:7}")
+    private int daysInMemory;
+
+    public void recordCompletion(String habitTitle, LocalDate date) {
+        add(new CounterKey(normalize(habitTitle), date), 1);
+        add(new CounterKey(ALL_HABITS, date), 1);
+    }
+
+    public void revokeCompletion(String habitTitle, LocalDate date) {
+        add(new CounterKey(normalize(habitTitle), date), -1);
+        add(new CounterKey(ALL_HABITS, date), -1);
+    }
+
+    /**
+     * Moves the completions of renamed habits from their old title to the new one,
+     * so completions revoked later come off the title they were counted under.
+     */
+    public void habitsRenamed(Map<Long, String> oldTitles, String newTitle) {
+        String newKey = normalize(newTitle);
+        Set<Long> renamed = new HashSet<>();
+        oldTitles.forEach((habitId, oldTitle) -> {
+            if (!normalize(oldTitle).equals(newKey)) {
+                renamed.add(habitId);
+            }
+        });
+        if (renamed.isEmpty()) {
+            return;
+        }
+        for (Object[] row : habitTrackingRepository.countCompletionsByHabitAndDate(renamed)) {
+            Long habitId = ((Number) row[0]).longValue();
+            LocalDate date = row[1] instanceof Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) row[1];
+            long count = ((Number) row[2]).longValue();
+            add(new CounterKey(normalize(oldTitles.get(habitId)), date), -count);
+            add(new CounterKey(newKey, date), count);
+        }
+    }
+
+    public long completionsOf(String habitTitle, LocalDate date) {
+        return read(new CounterKey(normalize(habitTitle), date));
+    }
+
+    public long totalCompletions(LocalDate date) {
+        return read(new CounterKey(ALL_HABITS, date));
+    }
+
+    // recounts the recent days from habit_tracking, so changes lost in a crash before their flush are
+    // restored; deltas another instance flushes right after this recount are counted once more
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        Map<CounterKey, Long> recounted = new HashMap<>();
+        for (Object[] row : habitTrackingRepository.countCompletionsByTitleAndDateSince(windowStart())) {
+            String habitKey = (String) row[0];
+            LocalDate date = (LocalDate) row[1];
+            long count = ((Number) row[2]).longValue();
+
+            recounted.merge(new CounterKey(habitKey, date), count, Long::sum);
+            recounted.merge(new CounterKey(ALL_HABITS, date), count, Long::sum);
+        }
+
+        unflushed.clear();
+        recounted.forEach((key, count) ->
+                completionRollupRepository.setCompletions(key.habitKey(), key.date(), count));
+
+        System.out.println("[CompletionCounters] ✅ Reconciled " + recounted.size() + " counters.");
+    }
+
+    @Scheduled(fixedDelayString = "${habit.counters.flush-ms:60000}")
+    public void flush() {
+        for (CounterKey key : List.copyOf(unflushed.keySet())) {
+            Long delta = unflushed.remove(key);
+            if (delta == null || delta == 0) {
+                continue;
+            }
+            try {
+                completionRollupRepository.addCompletions(key.habitKey(), key.date(), delta);
+            } catch (RuntimeException e) {
+                add(key, delta);
+                System.err.println("[CompletionCounters] 🚨 Failed to flush counter " + key + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void add(CounterKey key, long delta) {
+        unflushed.merge(key, delta, Long::sum);
+    }
+
+    private long read(CounterKey key) {
+        long flushed = completionRollupRepository.findByHabitKeyAndRollupDate(key.habitKey(), key.date())
+                .map(CompletionRollup::getCompletions)
+                .orElse(0L);
+        return Math.max(0, flushed + unflushed.getOrDefault(key, 0L));
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now(clock).minusDays(daysInMemory - 1L);
+    }
+
+    static String normalize(String habitTitle) {
+        return habitTitle == null ? "" : habitTitle.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record CounterKey(String habitKey, LocalDate date) {
+    }
+}
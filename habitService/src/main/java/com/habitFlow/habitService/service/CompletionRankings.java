@@ -0,0 +1,259 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.HabitRankingDto;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completion-rate sketches per habit title and frequency, plus one per frequency over all titles,
+ * so "top 10% for consistency" is a lookup in a fixed-size sketch instead of a sort over all habits.
+ * Built at startup and every night from the tracking tables, kept current by habit and tracking writes.
+ * <p>
+ * Memory grows with the number of habits that have trackings, roughly 150 bytes each, i.e. about
+ * 150 MB per million habits; the sketches themselves are fixed-size. Every instance builds its own
+ * rankings and only sees the writes it handles itself, so instances drift apart during the day
+ * until the nightly rebuild brings them back in line.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompletionRankings {
+
+    private final HabitTrackingRepository habitTrackingRepository;
+    private final ScheduledJobMonitor scheduledJobMonitor;
+
+    private final Object rebuildLock = new Object();
+    private Map<Long, RankedHabit> habits = new HashMap<>();
+    private Map<SketchKey, CompletionRateSketch> sketches = new HashMap<>();
+    // changes made while a rebuild reads the database, replayed onto the rebuilt rankings
+    private List<Runnable> changesDuringRebuild;
+
+    // a rate over a handful of days says little, such habits are neither ranked nor ranked against
+    @Value("${habit.rankings.min-trackings:5}")
+    private int minTrackings;
+
+    // smaller titles are ranked against all habits of the frequency
+    @Value("${habit.rankings.min-category-habits:20}")
+    private int minCategoryHabits;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 4 * * *", zone = "Europe/Berlin")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                rebuildFromDatabase();
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        Map<Long, RankedHabit> rebuiltHabits = new HashMap<>();
+        Map<SketchKey, CompletionRateSketch> rebuiltSketches = new HashMap<>();
+        for (Object[] row : habitTrackingRepository.countTrackingsPerHabit()) {
+            RankedHabit habit = new RankedHabit(category((String) row[1]),
+                    frequency(row[2] != null ? Frequency.valueOf((String) row[2]) : null));
+            habit.trackings = ((Number) row[3]).longValue();
+            habit.completions = ((Number) row[4]).longValue();
+            rebuiltHabits.put(((Number) row[0]).longValue(), habit);
+            if (isRanked(habit)) {
+                rebuiltSketches.computeIfAbsent(new SketchKey(habit.category, habit.frequency),
+                        key -> new CompletionRateSketch()).add(habit.rate());
+            }
+        }
+
+        Map<SketchKey, CompletionRateSketch> allHabits = new HashMap<>();
+        rebuiltSketches.forEach((key, sketch) -> allHabits
+                .computeIfAbsent(new SketchKey(CompletionCounters.ALL_HABITS, key.frequency()),
+                        allKey -> new CompletionRateSketch())
+                .merge(sketch));
+        rebuiltSketches.putAll(allHabits);
+
+        // a change committed right before the query started and recorded right after it is counted
+        // twice, which the next rebuild corrects
+        synchronized (this) {
+            habits = rebuiltHabits;
+            sketches = rebuiltSketches;
+            changesDuringRebuild.forEach(Runnable::run);
+        }
+
+        System.out.println("[CompletionRankings] ✅ " + rebuiltHabits.size() + " habits in "
+                + rebuiltSketches.size() + " completion-rate sketches");
+        scheduledJobMonitor.itemsProcessed(rebuiltHabits.size());
+    }
+
+    public void trackingRecorded(Long habitId, String title, Frequency frequency, boolean done) {
+        change(() -> {
+            RankedHabit habit = habits.computeIfAbsent(habitId,
+                    id -> new RankedHabit(category(title), frequency(frequency)));
+            leave(habit);
+            habit.trackings++;
+            if (done) {
+                habit.completions++;
+            }
+            enter(habit);
+        });
+    }
+
+    public void trackingRemoved(Long habitId, boolean done) {
+        change(() -> {
+            RankedHabit habit = habits.get(habitId);
+            if (habit == null) {
+                return;
+            }
+            leave(habit);
+            habit.trackings = Math.max(0, habit.trackings - 1);
+            if (done) {
+                habit.completions = Math.max(0, habit.completions - 1);
+            }
+            if (habit.trackings == 0) {
+                habits.remove(habitId);
+                return;
+            }
+            enter(habit);
+        });
+    }
+
+    // a new title or frequency moves the habit to other sketches
+    public void habitSaved(Habit habit) {
+        String category = category(habit.getTitle());
+        Frequency frequency = frequency(habit.getFrequency());
+        change(() -> {
+            RankedHabit ranked = habits.get(habit.getId());
+            if (ranked == null) {
+                return;
+            }
+            leave(ranked);
+            ranked.category = category;
+            ranked.frequency = frequency;
+            enter(ranked);
+        });
+    }
+
+    public void habitRemoved(Long habitId) {
+        change(() -> {
+            RankedHabit habit = habits.remove(habitId);
+            if (habit != null) {
+                leave(habit);
+            }
+        });
+    }
+
+    public synchronized HabitRankingDto rankingOf(Long habitId, String title, Frequency frequency) {
+        RankedHabit habit = habits.get(habitId);
+        String category = habit != null ? habit.category : category(title);
+        Frequency habitFrequency = habit != null ? habit.frequency : frequency(frequency);
+
+        CompletionRateSketch sketch = sketches.get(new SketchKey(category, habitFrequency));
+        if (sketch == null || sketch.population() < minCategoryHabits) {
+            category = CompletionCounters.ALL_HABITS;
+            sketch = sketches.get(new SketchKey(category, habitFrequency));
+        }
+
+        HabitRankingDto.HabitRankingDtoBuilder ranking = HabitRankingDto.builder()
+                .habitId(habitId)
+                .category(category)
+                .frequency(habitFrequency)
+                .population(sketch != null ? sketch.population() : 0);
+        if (habit == null) {
+            return ranking.build();
+        }
+        ranking.trackings(habit.trackings).completionRate(habit.rate());
+        if (!isRanked(habit) || sketch == null) {
+            return ranking.build();
+        }
+        double percentile = sketch.percentileOf(habit.rate());
+        return ranking
+                .percentile(percentile)
+                .topPercent((int) Math.max(1, Math.ceil(100 - percentile)))
+                .build();
+    }
+
+    // changes apply to whichever rankings are current when they run, so a replay lands on the rebuilt ones
+    private synchronized void change(Runnable change) {
+        change.run();
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private void enter(RankedHabit habit) {
+        if (!isRanked(habit)) {
+            return;
+        }
+        for (SketchKey key : keys(habit)) {
+            sketches.computeIfAbsent(key, k -> new CompletionRateSketch()).add(habit.rate());
+        }
+    }
+
+    private void leave(RankedHabit habit) {
+        if (!isRanked(habit)) {
+            return;
+        }
+        for (SketchKey key : keys(habit)) {
+            CompletionRateSketch sketch = sketches.get(key);
+            if (sketch != null) {
+                sketch.remove(habit.rate());
+                if (sketch.population() == 0) {
+                    sketches.remove(key);
+                }
+            }
+        }
+    }
+
+    private boolean isRanked(RankedHabit habit) {
+        return habit.trackings >= minTrackings;
+    }
+
+    private static SketchKey[] keys(RankedHabit habit) {
+        return new SketchKey[]{
+                new SketchKey(habit.category, habit.frequency),
+                new SketchKey(CompletionCounters.ALL_HABITS, habit.frequency)
+        };
+    }
+
+    private static String category(String title) {
+        return CompletionCounters.normalize(title);
+    }
+
+    // habits without a frequency count as daily ones
+    private static Frequency frequency(Frequency frequency) {
+        return frequency != null ? frequency : Frequency.DAILY;
+    }
+
+    private static final class RankedHabit {
+        private String category;
+        private Frequency frequency;
+        private long trackings;
+        private long completions;
+
+        private RankedHabit(String category, Frequency frequency) {
+            this.category = category;
+            this.frequency = frequency;
+        }
+
+        private double rate() {
+            return trackings == 0 ? 0 : (double) completions / trackings;
+        }
+    }
+
+    private record SketchKey(String category, Frequency frequency) {
+    }
+}
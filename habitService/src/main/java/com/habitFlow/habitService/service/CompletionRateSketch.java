@@ -0,0 +1,58 @@
+package com.habitFlow.habitService.service;
+
+/**
+ * Distribution of completion rates in whole percent, one counter per percent. Rates are bounded,
+ * so this fixed-size histogram is a quantile sketch with an exact 1% resolution: it takes the same
+ * memory whatever the number of habits, two sketches merge by adding their counters, and unlike a
+ * t-digest or KLL sketch a rate can be taken out again when a habit's rate changes.
+ */
+public class CompletionRateSketch {
+
+    static final int BUCKETS = 101;
+
+    private final long[] counts = new long[BUCKETS];
+    private long population;
+
+    public void add(double rate) {
+        counts[bucket(rate)]++;
+        population++;
+    }
+
+    public void remove(double rate) {
+        int bucket = bucket(rate);
+        if (counts[bucket] > 0) {
+            counts[bucket]--;
+            population--;
+        }
+    }
+
+    public void merge(CompletionRateSketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        population += other.population;
+    }
+
+    public long population() {
+        return population;
+    }
+
+    /**
+     * Share of rates below this one in percent, rates in the same bucket count half.
+     */
+    public double percentileOf(double rate) {
+        if (population == 0) {
+            return 0;
+        }
+        int bucket = bucket(rate);
+        long below = 0;
+        for (int i = 0; i < bucket; i++) {
+            below += counts[i];
+        }
+        return 100.0 * (below + counts[bucket] / 2.0) / population;
+    }
+
+    private static int bucket(double rate) {
+        return (int) Math.round(Math.min(Math.max(rate, 0), 1) * 100);
+    }
+}
@@ -0,0 +1,339 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.AnalyticsResultDto;
+import com.habitFlow.habitService.model.HabitAnalyticsResult;
+import com.habitFlow.habitService.model.enums.AnalyticsDimension;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.repository.HabitAnalyticsResultRepository;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitStatsScanRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Completion rates by frequency, by creation-month cohort and by habit title, so nobody has to
+ * run ad-hoc SQL against production. The habit id space is split into ranges; reader threads
+ * stream each range through a forward-only cursor into primitive column arrays, a fork-join pool
+ * aggregates the columns, and the merged totals replace the habit_analytics_result table.
+ */
+@Service
+public class HabitAnalyticsJob {
+
+    private static final int FORK_THRESHOLD = 2048;
+    private static final Frequency[] FREQUENCIES = Frequency.values();
+
+    private final HabitRepository habitRepository;
+    private final HabitAnalyticsResultRepository resultRepository;
+    private final ScheduledJobMonitor scheduledJobMonitor;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService readers;
+    private final ForkJoinPool aggregators;
+
+    @Value("${habit.analytics.range-size:10000}")
+    private int rangeSize;
+
+    @Value("${habit.analytics.max-titles:100}")
+    private int maxTitles;
+
+    // titles shared by fewer habits are left out, they say nothing and may identify a user
+    @Value("${habit.analytics.min-title-habits:5}")
+    private int minTitleHabits;
+
+    public HabitAnalyticsJob(HabitRepository habitRepository,
+                             HabitAnalyticsResultRepository resultRepository,
+                             ScheduledJobMonitor scheduledJobMonitor,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${habit.analytics.readers:2}") int readerCount,
+                             @Value("${habit.analytics.parallelism:4}") int parallelism) {
+        this.habitRepository = habitRepository;
+        this.resultRepository = resultRepository;
+        this.scheduledJobMonitor = scheduledJobMonitor;
+        this.transactionTemplate = transactionTemplate;
+        this.readers = Executors.newFixedThreadPool(readerCount);
+        this.aggregators = new ForkJoinPool(parallelism);
+    }
+
+    public record RunResult(int ranges, long habitsScanned, int resultRows, long elapsedMillis) {
+    }
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "Europe/Berlin")
+    public void computeNightly() {
+        scheduledJobMonitor.itemsProcessed(run().habitsScanned());
+    }
+
+    public RunResult run() {
+        long startedAt = System.nanoTime();
+        long minId = habitRepository.findMinId();
+        long maxId = habitRepository.findMaxId();
+
+        List<Future<RangeTotals>> ranges = new ArrayList<>();
+        for (long fromId = Math.max(minId, 1); fromId <= maxId; fromId += rangeSize) {
+            long from = fromId;
+            long to = Math.min(fromId + rangeSize - 1, maxId);
+            ranges.add(readers.submit(() -> scanRange(from, to)));
+        }
+
+        Totals totals = new Totals(new GroupTotals(FREQUENCIES.length), new GroupTotals(0), new HashMap<>());
+        long habitsScanned = 0;
+        for (Future<RangeTotals> range : ranges) {
+            RangeTotals rangeTotals = await(range);
+            totals.merge(rangeTotals);
+            habitsScanned += rangeTotals.habits();
+        }
+
+        List<HabitAnalyticsResult> results = toResults(totals, LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            resultRepository.deleteAllInBatch();
+            resultRepository.saveAll(results);
+        });
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        System.out.printf("[HabitAnalyticsJob] ✅ %d habits in %d ranges aggregated into %d rows, %d ms%n",
+                habitsScanned, ranges.size(), results.size(), elapsedMillis);
+        return new RunResult(ranges.size(), habitsScanned, results.size(), elapsedMillis);
+    }
+
+    public List<AnalyticsResultDto> getResults(AnalyticsDimension dimension) {
+        List<HabitAnalyticsResult> results = dimension != null
+                ? resultRepository.findByDimensionOrderByIdAsc(dimension)
+                : resultRepository.findAllByOrderByIdAsc();
+        return results.stream()
+                .map(result -> AnalyticsResultDto.builder()
+                        .dimension(result.getDimension())
+                        .group(result.getGroupKey())
+                        .habits(result.getHabits())
+                        .trackings(result.getTrackings())
+                        .completions(result.getCompletions())
+                        .completionRate(result.getCompletionRate())
+                        .computedAt(result.getComputedAt())
+                        .build())
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readers.shutdownNow();
+        aggregators.shutdownNow();
+    }
+
+    private RangeTotals scanRange(long fromId, long toId) {
+        HabitColumns columns = new HabitColumns();
+        habitRepository.scanHabitStats(fromId, toId, columns::add);
+        if (columns.size == 0) {
+            return new RangeTotals(0, new GroupTotals(FREQUENCIES.length), new GroupTotals(0), List.of(),
+                    new GroupTotals(0));
+        }
+
+        Aggregate aggregate = aggregators.invoke(new AggregateTask(columns, 0, columns.size));
+        return new RangeTotals(columns.size, aggregate.frequencies(), aggregate.cohorts(), columns.titles,
+                aggregate.titles());
+    }
+
+    private List<HabitAnalyticsResult> toResults(Totals totals, LocalDateTime computedAt) {
+        List<HabitAnalyticsResult> results = new ArrayList<>();
+        for (int i = 0; i < FREQUENCIES.length; i++) {
+            if (totals.frequencies().habits[i] > 0) {
+                results.add(result(AnalyticsDimension.FREQUENCY, FREQUENCIES[i].name(), totals.frequencies(), i,
+                        computedAt));
+            }
+        }
+        for (int i = 0; i < totals.cohorts().habits.length; i++) {
+            if (totals.cohorts().habits[i] > 0) {
+                YearMonth month = YearMonth.of(HabitStatsScanRepository.COHORT_EPOCH_YEAR, 1).plusMonths(i);
+                results.add(result(AnalyticsDimension.COHORT, month.toString(), totals.cohorts(), i, computedAt));
+            }
+        }
+        totals.titles().entrySet().stream()
+                .filter(title -> title.getValue()[0] >= minTitleHabits)
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> title) -> title.getValue()[0]).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(maxTitles)
+                .forEach(title -> results.add(result(AnalyticsDimension.TITLE, title.getKey(),
+                        title.getValue()[0], title.getValue()[1], title.getValue()[2], computedAt)));
+        return results;
+    }
+
+    private static HabitAnalyticsResult result(AnalyticsDimension dimension, String groupKey, GroupTotals totals,
+                                               int index, LocalDateTime computedAt) {
+        return result(dimension, groupKey, totals.habits[index], totals.trackings[index], totals.completions[index],
+                computedAt);
+    }
+
+    private static HabitAnalyticsResult result(AnalyticsDimension dimension, String groupKey, long habits,
+                                               long trackings, long completions, LocalDateTime computedAt) {
+        return HabitAnalyticsResult.builder()
+                .dimension(dimension)
+                .groupKey(groupKey.length() > 100 ? groupKey.substring(0, 100) : groupKey)
+                .habits(habits)
+                .trackings(trackings)
+                .completions(completions)
+                .completionRate(trackings > 0 ? (double) completions / trackings : 0)
+                .computedAt(computedAt)
+                .build();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Analytics run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Analytics range failed", e.getCause());
+        }
+    }
+
+    /**
+     * One range of habits as parallel primitive arrays. Titles are numbered per range,
+     * so the title totals of a range stay as small as the range itself.
+     */
+    private static final class HabitColumns {
+        private byte[] frequency = new byte[1024];
+        private int[] cohort = new int[1024];
+        private int[] title = new int[1024];
+        private long[] trackings = new long[1024];
+        private long[] completions = new long[1024];
+        private int size;
+
+        private final Map<String, Integer> titleIds = new HashMap<>();
+        private final List<String> titles = new ArrayList<>();
+
+        void add(long habitId, String frequencyName, int cohortIndex, String titleKey, long trackingCount,
+                 long completionCount) {
+            if (size == frequency.length) {
+                int capacity = size * 2;
+                frequency = Arrays.copyOf(frequency, capacity);
+                cohort = Arrays.copyOf(cohort, capacity);
+                title = Arrays.copyOf(title, capacity);
+                trackings = Arrays.copyOf(trackings, capacity);
+                completions = Arrays.copyOf(completions, capacity);
+            }
+            // unset frequencies count as daily, as on the dashboard
+            frequency[size] = (byte) (frequencyName != null ? Frequency.valueOf(frequencyName) : Frequency.DAILY)
+                    .ordinal();
+            cohort[size] = cohortIndex;
+            title[size] = titleKey == null || titleKey.isEmpty() ? -1 : titleIds.computeIfAbsent(titleKey, key -> {
+                titles.add(key);
+                return titles.size() - 1;
+            });
+            trackings[size] = trackingCount;
+            completions[size] = completionCount;
+            size++;
+        }
+    }
+
+    /**
+     * Habit, tracking and completion sums per group index
+     */
+    private static final class GroupTotals {
+        private long[] habits;
+        private long[] trackings;
+        private long[] completions;
+
+        GroupTotals(int groups) {
+            habits = new long[groups];
+            trackings = new long[groups];
+            completions = new long[groups];
+        }
+
+        void add(int group, long trackingCount, long completionCount) {
+            ensure(group + 1);
+            habits[group]++;
+            trackings[group] += trackingCount;
+            completions[group] += completionCount;
+        }
+
+        void merge(GroupTotals other) {
+            ensure(other.habits.length);
+            for (int i = 0; i < other.habits.length; i++) {
+                habits[i] += other.habits[i];
+                trackings[i] += other.trackings[i];
+                completions[i] += other.completions[i];
+            }
+        }
+
+        private void ensure(int groups) {
+            if (groups > habits.length) {
+                habits = Arrays.copyOf(habits, groups);
+                trackings = Arrays.copyOf(trackings, groups);
+                completions = Arrays.copyOf(completions, groups);
+            }
+        }
+    }
+
+    private record Aggregate(GroupTotals frequencies, GroupTotals cohorts, GroupTotals titles) {
+    }
+
+    private record RangeTotals(int habits, GroupTotals frequencies, GroupTotals cohorts, List<String> titleKeys,
+                               GroupTotals titles) {
+    }
+
+    private record Totals(GroupTotals frequencies, GroupTotals cohorts, Map<String, long[]> titles) {
+
+        void merge(RangeTotals range) {
+            frequencies.merge(range.frequencies());
+            cohorts.merge(range.cohorts());
+            GroupTotals rangeTitles = range.titles();
+            for (int i = 0; i < rangeTitles.habits.length; i++) {
+                long[] title = titles.computeIfAbsent(range.titleKeys().get(i), key -> new long[3]);
+                title[0] += rangeTitles.habits[i];
+                title[1] += rangeTitles.trackings[i];
+                title[2] += rangeTitles.completions[i];
+            }
+        }
+    }
+
+    private static final class AggregateTask extends RecursiveTask<Aggregate> {
+        private final HabitColumns columns;
+        private final int from;
+        private final int to;
+
+        AggregateTask(HabitColumns columns, int from, int to) {
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Aggregate compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                GroupTotals frequencies = new GroupTotals(FREQUENCIES.length);
+                GroupTotals cohorts = new GroupTotals(0);
+                GroupTotals titles = new GroupTotals(columns.titles.size());
+                for (int i = from; i < to; i++) {
+                    frequencies.add(columns.frequency[i], columns.trackings[i], columns.completions[i]);
+                    if (columns.cohort[i] >= 0) {
+                        cohorts.add(columns.cohort[i], columns.trackings[i], columns.completions[i]);
+                    }
+                    if (columns.title[i] >= 0) {
+                        titles.add(columns.title[i], columns.trackings[i], columns.completions[i]);
+                    }
+                }
+                return new Aggregate(frequencies, cohorts, titles);
+            }
+
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(columns, from, middle);
+            left.fork();
+            Aggregate right = new AggregateTask(columns, middle, to).compute();
+            Aggregate merged = left.join();
+            merged.frequencies().merge(right.frequencies());
+            merged.cohorts().merge(right.cohorts());
+            merged.titles().merge(right.titles());
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class HabitArchivalService {
+
+    private final HabitRepository habitRepository;
+    private final HabitSearchIndex habitSearchIndex;
+    private final HabitChangeLog habitChangeLog;
+    private final HabitCache habitCache;
+    private final ScheduledJobMonitor scheduledJobMonitor;
+    private final Clock clock;
+
+    @Value("${habit.archival.batch-size:500}")
+    private int batchSize;
+
+    @Value("${habit.archival.archive-after-days:30}")
+    private int archiveAfterDays;
+
+    /**
+     * Every night moves ACTIVE habits whose end date has passed to COMPLETED,
+     * and COMPLETED habits older than the retention window to ARCHIVED
+     */
+    @Scheduled(cron = "0 5 0 * * *", zone = "Europe/Berlin")
+    public void archiveExpiredHabits() {
+        LocalDate today = LocalDate.now(clock);
+
+        int completed = moveInChunks(HabitStatus.ACTIVE, HabitStatus.COMPLETED, today);
+        int archived = moveInChunks(HabitStatus.COMPLETED, HabitStatus.ARCHIVED, today.minusDays(archiveAfterDays));
+
+        System.out.printf("[HabitArchival] 📦 Completed %d expired habits, archived %d habits%n",
+                completed, archived);
+        scheduledJobMonitor.itemsProcessed(completed + archived);
+    }
+
+    private int moveInChunks(HabitStatus from, HabitStatus to, LocalDate endDateBefore) {
+        int total = 0;
+        while (true) {
+            List<Long> ids = habitRepository.findIdsByStatusAndEndDateBefore(from.name(), endDateBefore, batchSize);
+            if (ids.isEmpty()) {
+                return total;
+            }
+
+            total += habitRepository.updateStatusByIds(ids, from, to, LocalDateTime.now());
+            habitCache.evictAll(ids);
+            habitSearchIndex.updateStatus(ids, to);
+            habitChangeLog.habitsChanged(ids);
+
+            if (ids.size() < batchSize) {
+                return total;
+            }
+        }
+    }
+}
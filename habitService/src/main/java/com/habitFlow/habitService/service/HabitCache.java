@@ -0,0 +1,144 @@
+package com.habitFlow.habitService.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.habitFlow.habitService.dto.CacheMetricsDto;
+import com.habitFlow.habitService.dto.HabitDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size-bounded caches of habits by id and of each user's habit list, in front of GET /habit/{id}
+ * and GET /habit/me. Entries are mapped DTOs, never managed entities; they are copied on the way
+ * in and out, so callers can't change what other callers get.
+ * <p>
+ * Habit writes evict entries only in the cache of the instance that handled them. Other instances
+ * keep serving their entry until it expires, so the TTL is how long a read there can be stale.
+ */
+@Component
+public class HabitCache {
+
+    public static final String HABITS = "habits";
+    public static final String USER_HABITS = "userHabits";
+
+    private final TimedCache<Long, HabitDto> habits;
+    private final TimedCache<Long, List<HabitDto>> userHabits;
+
+    public HabitCache(@Value("${habit.cache.max-habits:10000}") long maxHabits,
+                      @Value("${habit.cache.max-user-lists:5000}") long maxUserLists,
+                      @Value("${habit.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.habits = new TimedCache<>(HABITS, maxHabits, Duration.ofSeconds(ttlSeconds), HabitCache::copy);
+        this.userHabits = new TimedCache<>(USER_HABITS, maxUserLists, Duration.ofSeconds(ttlSeconds),
+                HabitCache::copy);
+    }
+
+    // a null from the loader (habit not found) is returned but not cached
+    public HabitDto habit(Long id, Supplier<HabitDto> loader) {
+        return habits.get(id, loader);
+    }
+
+    public List<HabitDto> habitsOf(Long userId, Supplier<List<HabitDto>> loader) {
+        return userHabits.get(userId, loader);
+    }
+
+    // no load and no stats, for callers that have a cheaper fallback than a full load
+    public List<HabitDto> peekHabitsOf(Long userId) {
+        List<HabitDto> cached = userHabits.cache.asMap().get(userId);
+        return cached != null ? copy(cached) : null;
+    }
+
+    public void evict(Long habitId, Long userId) {
+        if (habitId != null) {
+            habits.cache.invalidate(habitId);
+        }
+        userHabits.cache.invalidate(userId);
+    }
+
+    public void evictAll(Collection<Long> habitIds, Long userId) {
+        habits.cache.invalidateAll(habitIds);
+        userHabits.cache.invalidate(userId);
+    }
+
+    // bulk updates don't know the owners, so every user list goes
+    public void evictAll(Collection<Long> habitIds) {
+        habits.cache.invalidateAll(habitIds);
+        userHabits.cache.invalidateAll();
+    }
+
+    public void clear() {
+        habits.cache.invalidateAll();
+        userHabits.cache.invalidateAll();
+    }
+
+    public List<CacheMetricsDto> getMetrics() {
+        return List.of(habits.toDto(), userHabits.toDto());
+    }
+
+    private static HabitDto copy(HabitDto habit) {
+        return habit.toBuilder().build();
+    }
+
+    private static List<HabitDto> copy(List<HabitDto> habits) {
+        return habits.stream().map(HabitCache::copy).toList();
+    }
+
+    private static class TimedCache<K, V> {
+        private final String name;
+        private final long maxSize;
+        private final Cache<K, V> cache;
+        private final UnaryOperator<V> copier;
+
+        private final LongAdder hitNanos = new LongAdder();
+        private final LongAdder missNanos = new LongAdder();
+
+        TimedCache(String name, long maxSize, Duration ttl, UnaryOperator<V> copier) {
+            this.name = name;
+            this.maxSize = maxSize;
+            this.copier = copier;
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+        }
+
+        V get(K key, Supplier<V> loader) {
+            long start = System.nanoTime();
+            boolean[] loaded = new boolean[1];
+            V value = cache.get(key, k -> {
+                loaded[0] = true;
+                V loadedValue = loader.get();
+                return loadedValue != null ? copier.apply(loadedValue) : null;
+            });
+            (loaded[0] ? missNanos : hitNanos).add(System.nanoTime() - start);
+            return value != null ? copier.apply(value) : null;
+        }
+
+        CacheMetricsDto toDto() {
+            CacheStats stats = cache.stats();
+            return CacheMetricsDto.builder()
+                    .name(name)
+                    .size(cache.estimatedSize())
+                    .maxSize(maxSize)
+                    .hits(stats.hitCount())
+                    .misses(stats.missCount())
+                    .hitRate(stats.hitRate())
+                    .evictions(stats.evictionCount())
+                    .avgHitMicros(average(hitNanos.sum(), stats.hitCount()))
+                    .avgMissMicros(average(missNanos.sum(), stats.missCount()))
+                    .build();
+        }
+
+        private static double average(long nanos, long count) {
+            return count == 0 ? 0 : nanos / 1_000.0 / count;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.model.HabitChange;
+import com.habitFlow.habitService.model.JobCheckpoint;
+import com.habitFlow.habitService.model.enums.ChangeType;
+import com.habitFlow.habitService.repository.HabitChangeRepository;
+import com.habitFlow.habitService.repository.JobCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends habit and tracking writes to habit_change for delta sync,
+ * and compacts rows older than the retention window every night
+ */
+@Component
+@RequiredArgsConstructor
+public class HabitChangeLog {
+
+    public static final String COMPACTION_JOB = "habit-change-compaction";
+
+    private final HabitChangeRepository habitChangeRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final ScheduledJobMonitor scheduledJobMonitor;
+
+    @Value("${habit.sync.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${habit.sync.compaction-batch-size:1000}")
+    private int compactionBatchSize;
+
+    // longer than any transaction that writes a change, so every id up to the settled head is committed
+    @Value("${habit.sync.settle-ms:2000}")
+    private long settleMillis;
+
+    public void habitChanged(Long userId, Long habitId) {
+        append(userId, ChangeType.HABIT_UPSERT, habitId, habitId);
+    }
+
+    public void habitDeleted(Long userId, Long habitId) {
+        append(userId, ChangeType.HABIT_DELETE, habitId, habitId);
+    }
+
+    public void habitsChanged(List<Long> habitIds) {
+        if (!habitIds.isEmpty()) {
+            habitChangeRepository.insertHabitUpserts(habitIds, LocalDateTime.now());
+        }
+    }
+
+    public void trackingChanged(Long userId, Long trackingId, Long habitId) {
+        append(userId, ChangeType.TRACKING_UPSERT, trackingId, habitId);
+    }
+
+    public void trackingDeleted(Long userId, Long trackingId, Long habitId) {
+        append(userId, ChangeType.TRACKING_DELETE, trackingId, habitId);
+    }
+
+    // called before the habit's trackings are deleted, in the same transaction
+    public void trackingsOfHabitDeleted(Long habitId) {
+        habitChangeRepository.insertTrackingDeletesOfHabit(habitId, LocalDateTime.now());
+    }
+
+    /**
+     * Highest change id a sync may hand out as token. Ids are taken at insert but become visible at
+     * commit, so a change with a lower id can still show up after a higher one; the head stays behind
+     * the newest changes by the settle window, so no change lands below a token already handed out.
+     */
+    public long settledHead() {
+        Long settled = habitChangeRepository.findLastIdChangedUpTo(
+                LocalDateTime.now().minus(Duration.ofMillis(settleMillis)));
+        return Math.max(settled != null ? settled : 0L, compactedUpTo());
+    }
+
+    /**
+     * Habits created, updated or deleted by changes after {@code since} up to and including {@code upTo}.
+     */
+    public List<Long> habitsChangedBetween(long since, long upTo) {
+        return habitChangeRepository.findChangedHabitIds(since, upTo);
+    }
+
+    /**
+     * Every change up to this id has been compacted away; older tokens have missed tombstones.
+     */
+    public long compactedUpTo() {
+        return checkpointRepository.findById(COMPACTION_JOB)
+                .map(JobCheckpoint::getLastProcessedId)
+                .orElse(0L);
+    }
+
+    @Scheduled(cron = "0 45 1 * * *", zone = "Europe/Berlin")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Long horizon = habitChangeRepository.findLastIdChangedUpTo(cutoff);
+        if (horizon == null || horizon <= compactedUpTo()) {
+            System.out.println("[HabitChangeLog] 🧹 No changes older than " + cutoff);
+            return;
+        }
+
+        // recorded before the rows go, so a sync never accepts a token whose tombstones are already gone
+        checkpointRepository.save(JobCheckpoint.builder()
+                .jobName(COMPACTION_JOB)
+                .lastProcessedId(horizon)
+                .completed(true)
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = habitChangeRepository.deleteUpTo(horizon, compactionBatchSize);
+            total += deleted;
+        } while (deleted == compactionBatchSize);
+
+        System.out.println("[HabitChangeLog] 🧹 Compacted " + total + " changes older than " + cutoff);
+        scheduledJobMonitor.itemsProcessed(total);
+    }
+
+    private void append(Long userId, ChangeType changeType, Long entityId, Long habitId) {
+        habitChangeRepository.save(HabitChange.builder()
+                .userId(userId)
+                .changeType(changeType)
+                .entityId(entityId)
+                .habitId(habitId)
+                .changedAt(LocalDateTime.now())
+                .build());
+    }
+}
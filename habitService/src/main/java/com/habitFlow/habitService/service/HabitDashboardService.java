@@ -0,0 +1,108 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.TodayHabitDto;
+import com.habitFlow.habitService.mapper.HabitMapper;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository.TrackingDayView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Builds the "today" screen from one habits query and one trackings query:
+ * the trackings query returns completions inside the streak window plus any tracking for today.
+ * The window reaches back habit.dashboard.streak-lookback-days, and at least to the start of every
+ * habit's previous period, so current streaks are capped: a daily streak shows at most
+ * lookback + 1 days, a yearly one at most 2 years.
+ */
+@Service
+@RequiredArgsConstructor
+public class HabitDashboardService {
+
+    private final HabitRepository habitRepository;
+    private final HabitTrackingRepository habitTrackingRepository;
+    private final TrackingWriteBuffer trackingWriteBuffer;
+
+    @Value("${habit.dashboard.streak-lookback-days:90}")
+    private int streakLookbackDays;
+
+    public List<TodayHabitDto> getToday(Long userId, LocalDate today) {
+        trackingWriteBuffer.flushUser(userId);
+        List<Habit> habits = habitRepository.findByUserId(userId);
+        if (habits.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate from = today.minusDays(streakLookbackDays);
+        for (Habit habit : habits) {
+            // the previous period decides whether a streak is still current
+            LocalDate previousPeriodStart = HabitPeriods.periodStart(habit,
+                    HabitPeriods.periodStart(habit, today).minusDays(1));
+            if (previousPeriodStart.isBefore(from)) {
+                from = previousPeriodStart;
+            }
+        }
+
+        Map<Long, Set<LocalDate>> completedDays = new HashMap<>();
+        Map<Long, TrackingDayView> todayTrackings = new HashMap<>();
+        for (TrackingDayView day : habitTrackingRepository.findCompletionsAndTodayByOwner(userId, from, today)) {
+            if (Boolean.TRUE.equals(day.getDone())) {
+                completedDays.computeIfAbsent(day.getHabitId(), id -> new HashSet<>()).add(day.getTrackDate());
+            }
+            if (day.getTrackDate().equals(today)) {
+                // a done entry wins over a "not done" one logged the same day
+                todayTrackings.merge(day.getHabitId(), day,
+                        (current, other) -> Boolean.TRUE.equals(current.getDone()) ? current : other);
+            }
+        }
+
+        return habits.stream()
+                .sorted(Comparator.comparing(Habit::getId))
+                .map(habit -> toToday(habit, today, completedDays.getOrDefault(habit.getId(), Set.of()),
+                        todayTrackings.get(habit.getId())))
+                .toList();
+    }
+
+    private static TodayHabitDto toToday(Habit habit, LocalDate today, Set<LocalDate> completedDays,
+                                         TrackingDayView todayTracking) {
+        Set<LocalDate> completedPeriods = new HashSet<>();
+        for (LocalDate day : completedDays) {
+            completedPeriods.add(HabitPeriods.periodStart(habit, day));
+        }
+
+        LocalDate currentPeriod = HabitPeriods.periodStart(habit, today);
+        boolean live = habit.getStatus() == HabitStatus.ACTIVE
+                && (habit.getStartDate() == null || !habit.getStartDate().isAfter(today))
+                && (habit.getEndDate() == null || !habit.getEndDate().isBefore(today));
+
+        String todayStatus = todayTracking == null ? TodayHabitDto.UNTRACKED
+                : Boolean.TRUE.equals(todayTracking.getDone()) ? TodayHabitDto.DONE : TodayHabitDto.NOT_DONE;
+
+        return TodayHabitDto.builder()
+                .habit(HabitMapper.toDto(habit))
+                .todayStatus(todayStatus)
+                .todayTrackingId(todayTracking != null ? todayTracking.getId() : null)
+                .currentStreak(currentStreak(habit, currentPeriod, completedPeriods))
+                .due(live && !completedPeriods.contains(currentPeriod))
+                .build();
+    }
+
+    // a streak is still current while only the running period is missing
+    private static int currentStreak(Habit habit, LocalDate currentPeriod, Set<LocalDate> completedPeriods) {
+        LocalDate period = completedPeriods.contains(currentPeriod)
+                ? currentPeriod : HabitPeriods.periodStart(habit, currentPeriod.minusDays(1));
+
+        int streak = 0;
+        while (completedPeriods.contains(period)) {
+            streak++;
+            period = HabitPeriods.periodStart(habit, period.minusDays(1));
+        }
+        return streak;
+    }
+}
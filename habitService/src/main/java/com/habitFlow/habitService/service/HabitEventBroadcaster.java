@@ -0,0 +1,172 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.HabitEventDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans habit and tracking changes out to every open event stream of a user.
+ * Publishing never blocks the caller: events go into a small per-connection buffer
+ * that a shared sender pool drains, and a connection whose buffer overflows is dropped.
+ * A send that blocks longer than {@code habit.events.send-timeout-ms} gets its connection
+ * evicted on the next heartbeat, so one stuck client can't hold a sender thread for good.
+ */
+@Component
+public class HabitEventBroadcaster {
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final long sendTimeoutMillis;
+
+    public HabitEventBroadcaster(@Value("${habit.events.sender-threads:4}") int senderThreads,
+                                 @Value("${habit.events.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${habit.events.buffer-size:32}") int bufferSize,
+                                 @Value("${habit.events.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.sender = Executors.newFixedThreadPool(senderThreads);
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter, new ArrayBlockingQueue<>(bufferSize));
+
+        // added inside compute, so it can't land in a set that unregister is removing from the map
+        connections.compute(userId, (id, userConnections) -> {
+            Set<Connection> updated = userConnections != null ? userConnections : ConcurrentHashMap.newKeySet();
+            updated.add(connection);
+            return updated;
+        });
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(e -> unregister(connection));
+
+        enqueue(connection, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public void publish(Long userId, HabitEventDto event) {
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+
+        event.setOccurredAt(LocalDateTime.now());
+        for (Connection connection : userConnections) {
+            enqueue(connection, SseEmitter.event().name(event.getType()).data(event));
+        }
+    }
+
+    public int connectionCount() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // keeps proxies from closing idle streams and flushes out connections whose client is gone
+    @Scheduled(fixedRateString = "${habit.events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        long now = System.currentTimeMillis();
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+            long sendStartedAt = connection.sendStartedAt;
+            if (sendStartedAt != 0 && now - sendStartedAt > sendTimeoutMillis) {
+                evictStuck(connection);
+            } else {
+                enqueue(connection, SseEmitter.event().comment("heartbeat"));
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.emitter.complete()));
+        connections.clear();
+    }
+
+    private void enqueue(Connection connection, SseEventBuilder event) {
+        if (!connection.buffer.offer(event)) {
+            System.out.println("[HabitEventBroadcaster] 🐢 Dropping slow event stream of user " + connection.userId);
+            unregister(connection);
+            connection.emitter.complete();
+            return;
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                connection.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            SseEventBuilder event;
+            while ((event = connection.buffer.poll()) != null) {
+                connection.sendStartedAt = System.currentTimeMillis();
+                connection.emitter.send(event);
+                connection.sendStartedAt = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            unregister(connection);
+            return;
+        } finally {
+            connection.sendStartedAt = 0;
+            connection.draining.set(false);
+        }
+
+        // an event may have slipped in between the last poll and releasing the flag
+        if (!connection.buffer.isEmpty()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    private void evictStuck(Connection connection) {
+        System.out.println("[HabitEventBroadcaster] 🐢 Evicting event stream of user " + connection.userId
+                + ", a send has been blocked for over " + sendTimeoutMillis + " ms");
+        unregister(connection);
+        connection.buffer.clear();
+        // closing the response fails the blocked write and hands the sender thread back
+        connection.emitter.completeWithError(new IOException("Event stream send timed out"));
+    }
+
+    private void unregister(Connection connection) {
+        connections.computeIfPresent(connection.userId, (userId, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private static final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // 0 while no send is in flight
+        private volatile long sendStartedAt;
+
+        private Connection(Long userId, SseEmitter emitter, BlockingQueue<SseEventBuilder> buffer) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
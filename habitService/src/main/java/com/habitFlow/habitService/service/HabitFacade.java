@@ -1,16 +1,26 @@
 package com.habitFlow.habitService.service;
 
 import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.CompletionStatsDto;
 import com.habitFlow.habitService.dto.HabitCreateDto;
 import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.dto.HabitRankingDto;
 import com.habitFlow.habitService.dto.HabitUpdateDto;
+import com.habitFlow.habitService.dto.PendingHabitDto;
+import com.habitFlow.habitService.dto.SyncResponseDto;
+import com.habitFlow.habitService.dto.TodayHabitDto;
 import com.habitFlow.habitService.dto.UserDto;
 import com.habitFlow.habitService.exception.custom.ResourceNotFoundException;
+import com.habitFlow.habitService.mapper.HabitFields;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -18,6 +28,10 @@ public class HabitFacade {
 
     private final HabitService habitService;
     private final UserService userService;
+    private final HabitEventBroadcaster habitEventBroadcaster;
+    private final HabitSyncService habitSyncService;
+    private final HabitDashboardService habitDashboardService;
+    private final Clock clock;
 
     private String getUsername() {
         return SecurityContextHolder.getContext().getAuthentication().getName();
@@ -29,7 +43,7 @@ public class HabitFacade {
         if (user == null) {
             throw new ResourceNotFoundException("User not found: " + username);
         }
-        return userService.getUserByUsername(username).getId();
+        return user.getId();
     }
 
     public HabitDto createHabit(HabitCreateDto dto) {
@@ -43,17 +57,70 @@ public class HabitFacade {
         return habitService.getHabitsByUserId(userId);
     }
 
+    public List<Map<String, Object>> getMyHabitFields(String fields) {
+        List<String> fieldNames = HabitFields.parse(fields);
+        Long userId = getUserId();
+        return habitService.getHabitFieldsByUserId(userId, fieldNames);
+    }
+
+    public List<HabitDto> searchMyHabits(String query) {
+        Long userId = getUserId();
+        return habitService.searchHabits(userId, query);
+    }
+
+    public List<Map<String, Object>> searchMyHabitFields(String query, String fields) {
+        List<String> fieldNames = HabitFields.parse(fields);
+        return searchMyHabits(query).stream()
+                .map(habit -> HabitFields.trim(habit, fieldNames))
+                .toList();
+    }
+
+    public List<PendingHabitDto> getMyPendingHabits() {
+        Long userId = getUserId();
+        return habitService.getPendingHabits(userId);
+    }
+
+    public List<TodayHabitDto> getMyToday() {
+        Long userId = getUserId();
+        return habitDashboardService.getToday(userId, LocalDate.now(clock));
+    }
+
+    public SyncResponseDto syncMyHabits(Long since) {
+        Long userId = getUserId();
+        return habitSyncService.sync(userId, since);
+    }
+
+    public SseEmitter subscribeToMyEvents() {
+        Long userId = getUserId();
+        return habitEventBroadcaster.subscribe(userId);
+    }
+
+    public CompletionStatsDto getCompletionStats(String habitTitle, LocalDate date) {
+        return habitService.getCompletionStats(habitTitle, date != null ? date : LocalDate.now(clock));
+    }
+
     public HabitDto getHabit(Long id) {
         Long userId = getUserId();
         return habitService.getHabitById(id, userId);
     }
 
+    public HabitRankingDto getRanking(Long id) {
+        Long userId = getUserId();
+        return habitService.getRanking(id, userId);
+    }
+
     public HabitDto updateHabit(Long id, HabitUpdateDto dto) {
         String username = getUsername();
         Long userId = getUserId();
         return habitService.updateHabit(id, dto, userId, username);
     }
 
+    public List<HabitDto> updateHabits(List<Long> ids, HabitUpdateDto changes) {
+        String username = getUsername();
+        Long userId = getUserId();
+        return habitService.updateHabits(ids, changes, userId, username);
+    }
+
     public void deleteHabit(Long id) {
         Long userId = getUserId();
         habitService.deleteHabit(id, userId);
@@ -0,0 +1,38 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.enums.Frequency;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The period a habit has to be completed in once: a day, a week from Monday, two weeks from the
+ * habit's start date, a calendar month, quarter or year. Habits without a frequency are daily.
+ */
+final class HabitPeriods {
+
+    // biweekly periods of habits without a start date are counted from this Monday
+    private static final LocalDate BIWEEKLY_ANCHOR = LocalDate.of(1970, 1, 5);
+
+    private HabitPeriods() {
+    }
+
+    static LocalDate periodStart(Habit habit, LocalDate date) {
+        Frequency frequency = habit.getFrequency() != null ? habit.getFrequency() : Frequency.DAILY;
+        return switch (frequency) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case BIWEEKLY -> {
+                LocalDate anchor = habit.getStartDate() != null ? habit.getStartDate() : BIWEEKLY_ANCHOR;
+                long periods = Math.floorDiv(ChronoUnit.DAYS.between(anchor, date), 14);
+                yield anchor.plusDays(periods * 14);
+            }
+            case MONTHLY -> date.withDayOfMonth(1);
+            case QUARTERLY -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+}
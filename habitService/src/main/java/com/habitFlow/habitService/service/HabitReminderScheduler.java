@@ -4,27 +4,57 @@ import com.habitFlow.habitService.config.NotificationClient;
 import com.habitFlow.habitService.config.UserService;
 import com.habitFlow.habitService.dto.UserDto;
 import com.habitFlow.habitService.exception.custom.ExternalServiceException;
-import com.habitFlow.habitService.model.Habit;
-import com.habitFlow.habitService.model.enums.HabitStatus;
-import com.habitFlow.habitService.repository.HabitRepository;
-import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.model.JobCheckpoint;
+import com.habitFlow.habitService.repository.JobCheckpointRepository;
+import com.habitFlow.habitService.repository.ReminderLogRepository;
+import com.habitFlow.habitService.service.PendingTodayIndex.DueHabit;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
+/**
+ * Daily reminder run. Every reminder is claimed in the reminder log before it is dispatched,
+ * so a habit gets at most one reminder per day, and progress is checkpointed by habit id
+ * so a run interrupted by a restart resumes after the last processed habit. A run whose
+ * dispatches failed stays open before the first failed habit, so its resume tries them again.
+ */
 @Component
 @RequiredArgsConstructor
 public class HabitReminderScheduler {
 
-    private final HabitRepository habitRepository;
-    private final HabitTrackingRepository habitTrackingRepository;
+    public static final String JOB_NAME = "daily-reminders";
+
+    // resumed runs are counted under the cron's name in the job metrics
+    private static final String MONITOR_NAME = "HabitReminderScheduler.sendDailyReminders";
+
+    private final PendingTodayIndex pendingTodayIndex;
     private final NotificationClient notificationClient;
     private final UserService userService;
+    private final ScheduledJobMonitor scheduledJobMonitor;
+    private final ReminderLogRepository reminderLogRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final Clock clock;
+
+    @Value("${habit.reminders.checkpoint-every:100}")
+    private int checkpointEvery;
+
+    // claims are only checked for the current day, older ones are kept for a while for support questions
+    @Value("${habit.reminders.log-retention-days:30}")
+    private int logRetentionDays;
+
+    @Value("${habit.reminders.purge-batch-size:1000}")
+    private int purgeBatchSize;
 
     /**
      * Sends reminders to users every day at 8:00 PM
@@ -32,15 +62,51 @@ public class HabitReminderScheduler {
      */
     @Scheduled(cron = "0 0 20 * * *", zone = "Europe/Berlin")
     public void sendDailyReminders() {
-        LocalDate today = LocalDate.now();
+        runFor(LocalDate.now(clock));
+    }
+
+    /**
+     * Picks up today's run if the service went down before it completed.
+     * Runs after the pending index has been rebuilt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void resumeInterruptedRun() {
+        LocalDate today = LocalDate.now(clock);
+        checkpointRepository.findById(JOB_NAME)
+                .filter(checkpoint -> today.equals(checkpoint.getPeriodStart()) && !checkpoint.isCompleted())
+                .ifPresent(checkpoint -> {
+                    System.out.println("[HabitReminderScheduler] ↩️ Resuming reminders for " + today
+                            + " after habit " + checkpoint.getLastProcessedId());
+                    scheduledJobMonitor.run(MONITOR_NAME, 0, () -> runFor(today));
+                });
+    }
+
+    public int runFor(LocalDate day) {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .filter(existing -> day.equals(existing.getPeriodStart()))
+                .orElseGet(() -> JobCheckpoint.builder()
+                        .jobName(JOB_NAME)
+                        .periodStart(day)
+                        .lastProcessedId(0L)
+                        .build());
 
-        List<Habit> activeHabits = habitRepository.findByStatus(HabitStatus.ACTIVE);
+        if (checkpoint.isCompleted()) {
+            System.out.println("[HabitReminderScheduler] ⏭️ Reminders for " + day + " already sent.");
+            return 0;
+        }
 
-        List<Long> trackedHabitIds = habitTrackingRepository.findHabitIdsTrackedOnDate(today);
-        var trackedSet = Set.copyOf(trackedHabitIds);
+        long resumeAfter = checkpoint.getLastProcessedId();
+        // written before the first dispatch, so a crash at any point leaves the day's run to resume
+        saveCheckpoint(checkpoint, resumeAfter);
 
-        List<Long> userIds = activeHabits.stream()
-                .map(Habit::getUserId)
+        // the index only knows completions made through this instance
+        List<DueHabit> pendingHabits = pendingTodayIndex.confirmPending(pendingTodayIndex.pendingHabits().stream()
+                .filter(habit -> habit.habitId() > resumeAfter)
+                .toList());
+
+        List<Long> userIds = pendingHabits.stream()
+                .map(DueHabit::userId)
                 .distinct()
                 .toList();
 
@@ -49,34 +115,97 @@ public class HabitReminderScheduler {
             users = userService.getUsersByIds(userIds);
         } catch (ExternalServiceException e) {
             System.err.println("[HabitReminderScheduler] 🚨 Failed to fetch users: " + e.getMessage());
-            return;
+            return 0;
         }
 
-        for (Habit habit : activeHabits) {
-            if (trackedSet.contains(habit.getId())) continue;
-
-            UserDto user = users.get(habit.getUserId());
-            if (user == null || user.getUsername() == null) {
-                System.out.printf("[HabitReminderScheduler] ⚠️ Skipping habit '%s' - no valid user found for id %d%n",
-                        habit.getTitle(), habit.getUserId());
-                continue;
+        int sent = 0;
+        int sinceCheckpoint = 0;
+        long lastDone = resumeAfter;
+        boolean failed = false;
+        for (DueHabit habit : pendingHabits) {
+            Outcome outcome = sendReminder(habit, users.get(habit.userId()), day);
+            if (outcome == Outcome.SENT) {
+                sent++;
+            } else if (outcome == Outcome.FAILED) {
+                failed = true;
             }
-
-            String username = user.getUsername();
-
-            try {
-                notificationClient.dispatchNotification(
-                        username,
-                        "Habit Reminder",
-                        "Don’t forget to complete your habit '" + habit.getTitle() + "' today! 💪"
-                );
-                System.out.printf("[HabitReminderScheduler] 🔔 Reminder sent for habit '%s' to '%s'%n",
-                        habit.getTitle(), username);
-            } catch (Exception e) {
-                System.err.printf("[HabitReminderScheduler] ⚠️ Failed to send reminder for habit '%s': %s%n",
-                        habit.getTitle(), e.getMessage());
+            // the checkpoint never moves past the first failed reminder
+            if (!failed) {
+                lastDone = habit.habitId();
+            }
+            if (++sinceCheckpoint == checkpointEvery) {
+                saveCheckpoint(checkpoint, lastDone);
+                sinceCheckpoint = 0;
             }
         }
+
+        // a run with failed reminders stays open, the resume after a restart tries them again
+        checkpoint.setCompleted(!failed);
+        saveCheckpoint(checkpoint, lastDone);
+        return sent;
     }
 
-}
\ No newline at end of file
+    private Outcome sendReminder(DueHabit habit, UserDto user, LocalDate day) {
+        if (user == null || user.getUsername() == null) {
+            System.out.printf("[HabitReminderScheduler] ⚠️ Skipping habit '%s' - no valid user found for id %d%n",
+                    habit.title(), habit.userId());
+            return Outcome.SKIPPED;
+        }
+
+        if (reminderLogRepository.claim(habit.habitId(), day, LocalDateTime.now()) == 0) {
+            System.out.printf("[HabitReminderScheduler] ⏭️ Reminder for habit '%s' already sent on %s%n",
+                    habit.title(), day);
+            return Outcome.SKIPPED;
+        }
+
+        String username = user.getUsername();
+
+        try {
+            notificationClient.dispatchNotification(
+                    username,
+                    "Habit Reminder",
+                    "Don’t forget to complete your habit '" + habit.title() + "' today! 💪"
+            );
+            System.out.printf("[HabitReminderScheduler] 🔔 Reminder sent for habit '%s' to '%s'%n",
+                    habit.title(), username);
+            scheduledJobMonitor.itemsProcessed(1);
+            return Outcome.SENT;
+        } catch (Exception e) {
+            // give the claim back so the resumed run can still remind
+            reminderLogRepository.release(habit.habitId(), day);
+            System.err.printf("[HabitReminderScheduler] ⚠️ Failed to send reminder for habit '%s': %s%n",
+                    habit.title(), e.getMessage());
+            return Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Every night deletes reminder claims older than the retention window, one chunk per statement
+     */
+    @Scheduled(cron = "0 15 2 * * *", zone = "Europe/Berlin")
+    public void purgeReminderLog() {
+        LocalDate cutoff = LocalDate.now(clock).minusDays(logRetentionDays);
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = reminderLogRepository.deleteOlderThan(cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        System.out.println("[HabitReminderScheduler] 🧹 Purged " + total + " reminder claims older than " + cutoff);
+        scheduledJobMonitor.itemsProcessed(total);
+    }
+
+    private void saveCheckpoint(JobCheckpoint checkpoint, Long lastHabitId) {
+        checkpoint.setLastProcessedId(lastHabitId);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    private enum Outcome {
+        SENT,
+        SKIPPED,
+        FAILED
+    }
+}
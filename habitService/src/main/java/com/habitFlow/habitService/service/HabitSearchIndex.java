@@ -0,0 +1,232 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.mapper.HabitMapper;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index over habit titles and descriptions, partitioned by user.
+ * Every query term is matched as a prefix, all terms must match.
+ * Each instance holds its own index: its own writes are indexed right away and re-read from the database
+ * on the next refresh if their transaction rolls back, writes of other instances are picked up from
+ * habit_change on refresh.
+ * Entries are never changed in place, searches return copies.
+ */
+@Component
+@RequiredArgsConstructor
+public class HabitSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final HabitRepository habitRepository;
+    private final HabitChangeLog habitChangeLog;
+
+    private final Map<Long, UserIndex> userIndexes = new ConcurrentHashMap<>();
+    private final Map<Long, Long> habitOwners = new ConcurrentHashMap<>();
+
+    // every habit change up to this id is reflected in the index
+    private volatile long indexedUpTo;
+    // habits indexed by transactions that rolled back, re-read on the next refresh
+    private final Set<Long> rolledBack = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        // taken before the load, changes committed meanwhile are re-read by the next refresh
+        long head = habitChangeLog.settledHead();
+        userIndexes.clear();
+        habitOwners.clear();
+
+        long lastId = 0L;
+        int indexed = 0;
+        List<Habit> batch;
+        while (!(batch = habitRepository.findTopNByIdGreaterThanOrderByIdAsc(lastId, REBUILD_BATCH_SIZE)).isEmpty()) {
+            batch.forEach(this::put);
+            indexed += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        indexedUpTo = head;
+
+        System.out.println("[HabitSearchIndex] ✅ Indexed " + indexed + " habits.");
+    }
+
+    @Scheduled(fixedDelayString = "${habit.search.refresh-ms:5000}")
+    public synchronized void refresh() {
+        if (indexedUpTo < habitChangeLog.compactedUpTo()) {
+            // changes were compacted away before this instance read them
+            rebuild();
+            return;
+        }
+        Set<Long> changed = new HashSet<>();
+        for (Long habitId : List.copyOf(rolledBack)) {
+            rolledBack.remove(habitId);
+            changed.add(habitId);
+        }
+        long head = habitChangeLog.settledHead();
+        if (head > indexedUpTo) {
+            changed.addAll(habitChangeLog.habitsChangedBetween(indexedUpTo, head));
+        }
+        reload(changed);
+        indexedUpTo = Math.max(indexedUpTo, head);
+    }
+
+    public void index(Habit habit) {
+        put(habit);
+        reloadOnRollback(List.of(habit.getId()));
+    }
+
+    public void remove(Long habitId) {
+        delete(habitId);
+        reloadOnRollback(List.of(habitId));
+    }
+
+    public void updateStatus(List<Long> habitIds, HabitStatus status) {
+        for (Long habitId : habitIds) {
+            Long owner = habitOwners.get(habitId);
+            if (owner != null) {
+                userIndexes.getOrDefault(owner, UserIndex.EMPTY).updateStatus(habitId, status);
+            }
+        }
+        reloadOnRollback(List.copyOf(habitIds));
+    }
+
+    public List<HabitDto> search(Long userId, String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return userIndexes.getOrDefault(userId, UserIndex.EMPTY).search(terms);
+    }
+
+    private void put(Habit habit) {
+        Long previousOwner = habitOwners.put(habit.getId(), habit.getUserId());
+        if (previousOwner != null && !previousOwner.equals(habit.getUserId())) {
+            userIndexes.getOrDefault(previousOwner, UserIndex.EMPTY).remove(habit.getId());
+        }
+        userIndexes.computeIfAbsent(habit.getUserId(), id -> new UserIndex()).put(HabitMapper.toDto(habit));
+    }
+
+    private void delete(Long habitId) {
+        Long owner = habitOwners.remove(habitId);
+        if (owner != null) {
+            userIndexes.getOrDefault(owner, UserIndex.EMPTY).remove(habitId);
+        }
+    }
+
+    // indexes the committed state of the habits, removing the ones that no longer exist
+    private void reload(Collection<Long> habitIds) {
+        if (habitIds.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(habitIds);
+        for (Habit habit : habitRepository.findAllById(habitIds)) {
+            put(habit);
+            missing.remove(habit.getId());
+        }
+        missing.forEach(this::delete);
+    }
+
+    // the rolled-back transaction's persistence context is still bound here, so the re-read waits for refresh
+    private void reloadOnRollback(List<Long> habitIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    rolledBack.addAll(habitIds);
+                }
+            }
+        });
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static class UserIndex {
+
+        private static final UserIndex EMPTY = new UserIndex();
+
+        private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+        private final Map<Long, HabitDto> documents = new HashMap<>();
+        private final Map<Long, List<String>> documentTerms = new HashMap<>();
+
+        synchronized void put(HabitDto habit) {
+            remove(habit.getId());
+
+            Set<String> terms = new LinkedHashSet<>(tokenize(habit.getTitle()));
+            terms.addAll(tokenize(habit.getDescription()));
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(habit.getId());
+            }
+            documents.put(habit.getId(), habit);
+            documentTerms.put(habit.getId(), List.copyOf(terms));
+        }
+
+        synchronized void remove(Long habitId) {
+            List<String> terms = documentTerms.remove(habitId);
+            if (terms == null) {
+                return;
+            }
+            documents.remove(habitId);
+            for (String term : terms) {
+                Set<Long> ids = postings.get(term);
+                if (ids != null) {
+                    ids.remove(habitId);
+                    if (ids.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        synchronized void updateStatus(Long habitId, HabitStatus status) {
+            HabitDto habit = documents.get(habitId);
+            if (habit != null) {
+                documents.put(habitId, habit.toBuilder().status(status).build());
+            }
+        }
+
+        synchronized List<HabitDto> search(List<String> terms) {
+            Set<Long> result = null;
+            for (String term : terms) {
+                Set<Long> matches = new HashSet<>();
+                postings.subMap(term, true, term + Character.MAX_VALUE, true).values().forEach(matches::addAll);
+
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.retainAll(matches);
+                }
+                if (result.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return result.stream()
+                    .sorted()
+                    .map(documents::get)
+                    .map(habit -> habit.toBuilder().build())
+                    .toList();
+        }
+    }
+}
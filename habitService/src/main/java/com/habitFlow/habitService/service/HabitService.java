@@ -2,32 +2,61 @@ package com.habitFlow.habitService.service;
 
 import com.habitFlow.habitService.config.NotificationClient;
 import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.CompletionStatsDto;
 import com.habitFlow.habitService.dto.HabitCreateDto;
 import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.dto.HabitEventDto;
+import com.habitFlow.habitService.dto.HabitRankingDto;
 import com.habitFlow.habitService.dto.HabitUpdateDto;
+import com.habitFlow.habitService.dto.PendingHabitDto;
 import com.habitFlow.habitService.dto.UserDto;
 import com.habitFlow.habitService.exception.custom.ForbiddenException;
+import com.habitFlow.habitService.exception.custom.InvalidRequestException;
 import com.habitFlow.habitService.exception.custom.ResourceNotFoundException;
+import com.habitFlow.habitService.mapper.HabitFields;
 import com.habitFlow.habitService.mapper.HabitMapper;
 import com.habitFlow.habitService.model.Habit;
-import com.habitFlow.habitService.model.HabitTracking;
 import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingArchiveRepository;
 import com.habitFlow.habitService.repository.HabitTrackingRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class HabitService {
 
+    private static final int MAX_BATCH_HABITS = 100;
+
     private final HabitRepository habitRepository;
     private final UserService userService;
     private final NotificationClient notificationClient;
     private final HabitTrackingRepository habitTrackingRepository;
+    private final HabitTrackingArchiveRepository habitTrackingArchiveRepository;
+    private final HabitSearchIndex habitSearchIndex;
+    private final HabitEventBroadcaster habitEventBroadcaster;
+    private final CompletionCounters completionCounters;
+    private final PendingTodayIndex pendingTodayIndex;
+    private final CompletionRankings completionRankings;
+    private final HabitChangeLog habitChangeLog;
+    private final TrackingWriteBuffer trackingWriteBuffer;
+    private final HabitCache habitCache;
+    private final TrackingRollups trackingRollups;
+    private final TrackingEventLog trackingEventLog;
 
     public HabitDto createHabit(HabitCreateDto dto, Long userId, String username) {
         Habit habit = HabitMapper.ToEntity(dto);
@@ -36,6 +65,15 @@ public class HabitService {
         habit.setUpdatedAt(LocalDateTime.now());
 
         Habit saved = habitRepository.save(habit);
+        habitCache.evict(null, userId);
+        habitSearchIndex.index(saved);
+        pendingTodayIndex.habitSaved(saved);
+        habitChangeLog.habitChanged(userId, saved.getId());
+        habitEventBroadcaster.publish(userId, HabitEventDto.builder()
+                .type(HabitEventDto.HABIT_CREATED)
+                .habitId(saved.getId())
+                .habit(HabitMapper.toDto(saved))
+                .build());
 
         notificationClient.dispatchNotification(
                 username,
@@ -46,52 +84,68 @@ public class HabitService {
         return HabitMapper.toDto(saved);
     }
     public List<HabitDto> getHabitsByUserId(Long userId) {
-        return habitRepository.findByUserId(userId)
+        return habitCache.habitsOf(userId, () -> habitRepository.findByUserId(userId)
                 .stream()
                 .map(HabitMapper::toDto)
-                .toList();
+                .toList());
     }
 
-    public HabitDto getHabitById(Long id, Long userId) {
-        Habit habit = habitRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Habit not found with id: " + id));
-
-        if (!habit.getUserId().equals(userId)) {
-            throw new ForbiddenException("You don’t have access to this habit");
+    /**
+     * Sparse variant of {@link #getHabitsByUserId}: trims a cached list if there is one,
+     * otherwise selects only the requested columns.
+     */
+    public List<Map<String, Object>> getHabitFieldsByUserId(Long userId, List<String> fields) {
+        List<HabitDto> cached = habitCache.peekHabitsOf(userId);
+        if (cached != null) {
+            return cached.stream()
+                    .map(habit -> HabitFields.trim(habit, fields))
+                    .toList();
         }
+        return habitRepository.findFieldsByUserId(userId, fields);
+    }
+
+    public List<HabitDto> searchHabits(Long userId, String query) {
+        return habitSearchIndex.search(userId, query);
+    }
 
-        return HabitMapper.toDto(habit);
+    public List<PendingHabitDto> getPendingHabits(Long userId) {
+        trackingWriteBuffer.flushUser(userId);
+        return pendingTodayIndex.pendingHabitsOf(userId).stream()
+                .map(habit -> new PendingHabitDto(habit.habitId(), habit.title()))
+                .toList();
+    }
+
+    public CompletionStatsDto getCompletionStats(String habitTitle, LocalDate date) {
+        return CompletionStatsDto.builder()
+                .date(date)
+                .habitTitle(habitTitle)
+                .habitCompletions(habitTitle != null ? completionCounters.completionsOf(habitTitle, date) : null)
+                .totalCompletions(completionCounters.totalCompletions(date))
+                .build();
+    }
+
+    public HabitDto getHabitById(Long id, Long userId) {
+        return findOwnedCachedHabit(id, userId);
     }
 
     public List<HabitDto> getHabitsByUsername(String username) {
         UserDto dto = userService.getUserByUsername(username);
-
-        return habitRepository.findByUserId(dto.getId())
-                .stream()
-                .map(HabitMapper::toDto)
-                .toList();
+        return getHabitsByUserId(dto.getId());
     }
 
     public HabitDto getHabitByIdAndUsername(Long id, String username) {
         UserDto userdto = userService.getUserByUsername(username);
+        return findOwnedCachedHabit(id, userdto.getId());
+    }
 
-        Habit habit = habitRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Habit not found with id: " + id));
-
-        if (!habit.getUserId().equals(userdto.getId())) {
-            throw new ForbiddenException("You don’t have access to this habit");
-        }
-
-        return HabitMapper.toDto(habit);
+    public HabitRankingDto getRanking(Long id, Long userId) {
+        HabitDto habit = findOwnedCachedHabit(id, userId);
+        return completionRankings.rankingOf(id, habit.getTitle(), habit.getFrequency());
     }
 
     public HabitDto updateHabit(Long id, HabitUpdateDto dto, Long userId, String username) {
-        Habit habit = habitRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Habit not found with id: " + id));
-
-        if (!habit.getUserId().equals(userId)) {
-            throw new ForbiddenException("You don’t have access to this habit");
-        }
+        Habit habit = findOwnedHabit(id, userId, "You don’t have access to this habit");
+        String oldTitle = habit.getTitle();
 
         if (dto.getTitle() != null) habit.setTitle(dto.getTitle());
         if (dto.getDescription() != null) habit.setDescription(dto.getDescription());
@@ -101,6 +155,19 @@ public class HabitService {
 
         habit.setUpdatedAt(LocalDateTime.now());
         Habit updated = habitRepository.save(habit);
+        if (dto.getTitle() != null) {
+            completionCounters.habitsRenamed(Collections.singletonMap(id, oldTitle), updated.getTitle());
+        }
+        habitCache.evict(id, userId);
+        habitSearchIndex.index(updated);
+        pendingTodayIndex.habitSaved(updated);
+        completionRankings.habitSaved(updated);
+        habitChangeLog.habitChanged(userId, updated.getId());
+        habitEventBroadcaster.publish(userId, HabitEventDto.builder()
+                .type(HabitEventDto.HABIT_UPDATED)
+                .habitId(updated.getId())
+                .habit(HabitMapper.toDto(updated))
+                .build());
 
         notificationClient.dispatchNotification(
                 username,
@@ -110,41 +177,170 @@ public class HabitService {
         return HabitMapper.toDto(updated);
     }
 
-    public void deleteHabit(Long id, String username) {
-        UserDto userdto = userService.getUserByUsername(username);
+    /**
+     * Applies the same partial update to several habits of one user with a single bulk UPDATE.
+     * All ids must belong to the user, otherwise nothing is changed. Sends one summary notification.
+     */
+    public List<HabitDto> updateHabits(List<Long> habitIds, HabitUpdateDto dto, Long userId, String username) {
+        requireValidBatchUpdate(habitIds, dto);
+        Set<Long> ids = new LinkedHashSet<>(habitIds);
+
+        List<Long> ownedIds = habitRepository.findIdsOwnedBy(ids, userId);
+        if (ownedIds.size() < ids.size()) {
+            Set<Long> notOwned = new LinkedHashSet<>(ids);
+            ownedIds.forEach(notOwned::remove);
+            if (!habitRepository.findAllById(notOwned).isEmpty()) {
+                throw new ForbiddenException("You don’t have access to habits: " + notOwned);
+            }
+            throw new ResourceNotFoundException("Habits not found with ids: " + notOwned);
+        }
+
+        Map<Long, String> oldTitles = new HashMap<>();
+        if (dto.getTitle() != null) {
+            habitRepository.findTitlesByIds(ids).forEach(row -> oldTitles.put((Long) row[0], (String) row[1]));
+        }
 
-        Habit habit = habitRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Habit not found with id: " + id));
+        habitRepository.updateFieldsByIdsAndUserId(ids, userId, dto.getTitle(), dto.getDescription(),
+                dto.getFrequency(), dto.getEndDate(), dto.getStatus(), LocalDateTime.now());
+        List<Habit> updated = habitRepository.findAllById(ids);
 
-        if (!habit.getUserId().equals(userdto.getId())) {
-            throw new ForbiddenException("You don’t have access to delete this habit");
+        if (dto.getTitle() != null) {
+            completionCounters.habitsRenamed(oldTitles, dto.getTitle());
         }
+        habitCache.evictAll(ids, userId);
+        habitChangeLog.habitsChanged(List.copyOf(ids));
+        List<HabitDto> result = new ArrayList<>(updated.size());
+        for (Habit habit : updated) {
+            habitSearchIndex.index(habit);
+            pendingTodayIndex.habitSaved(habit);
+            completionRankings.habitSaved(habit);
+            HabitDto habitDto = HabitMapper.toDto(habit);
+            habitEventBroadcaster.publish(userId, HabitEventDto.builder()
+                    .type(HabitEventDto.HABIT_UPDATED)
+                    .habitId(habit.getId())
+                    .habit(habitDto)
+                    .build());
+            result.add(habitDto);
+        }
+
+        notificationClient.dispatchNotification(
+                username,
+                "Habits Updated", result.size() + (result.size() == 1 ? " of your habits was" : " of your habits were")
+                        + " updated."
+        );
+
+        return result;
+    }
 
-        habitRepository.delete(habit);
+    public void deleteHabit(Long id, String username) {
+        UserDto userdto = userService.getUserByUsername(username);
+        deleteHabit(id, userdto.getId());
     }
 
     @Transactional
     public void deleteHabitByIdWithTrackings(Long habitId) {
-        List<HabitTracking> trackings = habitTrackingRepository.findByHabitId(habitId);
-        if (!trackings.isEmpty()) {
-            habitTrackingRepository.deleteAll(trackings);
-        }
+        deleteTrackingData(habitId);
 
         habitRepository.deleteById(habitId);
+        habitSearchIndex.remove(habitId);
+        afterCommit(() -> {
+            habitCache.evictAll(List.of(habitId));
+            pendingTodayIndex.habitRemoved(habitId);
+            completionRankings.habitRemoved(habitId);
+        });
     }
 
     public List<Habit> findBatchOfHabits(Long lastId, int limit) {
         return habitRepository.findTopNByIdGreaterThanOrderByIdAsc(lastId, limit);
     }
 
+    /**
+     * Deletes the habit together with its trackings, archived ones included, its rollups and its tracking
+     * events in one transaction. The habit itself goes last, the bulk DELETE would otherwise fail on the
+     * foreign key of its trackings. Caches, in-memory views and subscribers learn about it once the
+     * transaction has committed.
+     */
+    @Transactional
     public void deleteHabit(Long id, Long userId) {
-        Habit habit = habitRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Habit not found with id: " + id));
+        if (!habitRepository.existsByIdAndUserId(id, userId)) {
+            throw ownershipFailure(id, "You don’t have access to delete this habit");
+        }
+        deleteTrackingData(id);
+        if (habitRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw ownershipFailure(id, "You don’t have access to delete this habit");
+        }
+        habitSearchIndex.remove(id);
+        habitChangeLog.habitDeleted(userId, id);
+        afterCommit(() -> {
+            habitCache.evict(id, userId);
+            pendingTodayIndex.habitRemoved(id);
+            completionRankings.habitRemoved(id);
+            habitEventBroadcaster.publish(userId, HabitEventDto.builder()
+                    .type(HabitEventDto.HABIT_DELETED)
+                    .habitId(id)
+                    .build());
+        });
+    }
 
-        if (!habit.getUserId().equals(userId)) {
-            throw new ForbiddenException("You don’t have access to delete this habit");
+    // before the commit a concurrent read still sees the row and could cache it again
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 
-        habitRepository.delete(habit);
+    private void deleteTrackingData(Long habitId) {
+        habitChangeLog.trackingsOfHabitDeleted(habitId);
+        habitTrackingRepository.deleteByHabitId(habitId);
+        habitTrackingArchiveRepository.deleteByHabitId(habitId);
+        trackingRollups.habitDeleted(habitId);
+        trackingEventLog.habitDeleted(habitId);
+    }
+
+    private Habit findOwnedHabit(Long id, Long userId, String forbiddenMessage) {
+        return habitRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> ownershipFailure(id, forbiddenMessage));
+    }
+
+    // a cached habit carries its owner, so hits need no query for the ownership check either
+    private HabitDto findOwnedCachedHabit(Long id, Long userId) {
+        HabitDto habit = habitCache.habit(id, () -> habitRepository.findById(id)
+                .map(HabitMapper::toDto)
+                .orElse(null));
+        if (habit == null) {
+            throw new ResourceNotFoundException("Habit not found with id: " + id);
+        }
+        if (!userId.equals(habit.getUserId())) {
+            throw new ForbiddenException("You don’t have access to this habit");
+        }
+        return habit;
+    }
+
+    private static void requireValidBatchUpdate(List<Long> habitIds, HabitUpdateDto dto) {
+        if (habitIds == null || habitIds.isEmpty()) {
+            throw new InvalidRequestException("At least one habit id is required");
+        }
+        if (new HashSet<>(habitIds).size() > MAX_BATCH_HABITS) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_HABITS + " habits can be updated per request");
+        }
+        if (dto == null || (dto.getTitle() == null && dto.getDescription() == null && dto.getFrequency() == null
+                && dto.getEndDate() == null && dto.getStatus() == null)) {
+            throw new InvalidRequestException("At least one field to change is required");
+        }
+    }
+
+    // only reached when the (id, userId) lookup missed, to tell 404 from 403
+    private RuntimeException ownershipFailure(Long id, String forbiddenMessage) {
+        if (habitRepository.existsById(id)) {
+            return new ForbiddenException(forbiddenMessage);
+        }
+        return new ResourceNotFoundException("Habit not found with id: " + id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.dto.SyncResponseDto;
+import com.habitFlow.habitService.mapper.HabitMapper;
+import com.habitFlow.habitService.mapper.HabitTrackingMapper;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitChange;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.HabitTrackingArchive;
+import com.habitFlow.habitService.model.enums.ChangeType;
+import com.habitFlow.habitService.repository.HabitChangeRepository;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingArchiveRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class HabitSyncService {
+
+    private final HabitChangeRepository habitChangeRepository;
+    private final HabitRepository habitRepository;
+    private final HabitTrackingRepository habitTrackingRepository;
+    private final HabitTrackingArchiveRepository habitTrackingArchiveRepository;
+    private final TrackingWriteBuffer trackingWriteBuffer;
+    private final HabitChangeLog habitChangeLog;
+
+    @Value("${habit.sync.page-size:500}")
+    private int pageSize;
+
+    /**
+     * Returns what changed for the user after the given token. A missing token, one older than
+     * the compacted part of the change log, or one the server never handed out gets the full state
+     * instead, flagged as full resync.
+     */
+    public SyncResponseDto sync(Long userId, Long since) {
+        trackingWriteBuffer.flushUser(userId);
+        long head = habitChangeLog.settledHead();
+        long compactedUpTo = habitChangeLog.compactedUpTo();
+
+        boolean tokenUsable = since != null && since >= compactedUpTo && since <= head;
+        if (!tokenUsable) {
+            return fullState(userId, head);
+        }
+
+        List<HabitChange> changes = habitChangeRepository.findUserChanges(userId, since, head, pageSize);
+        boolean hasMore = changes.size() == pageSize;
+
+        // the last change of an entity decides whether it is sent as upsert or tombstone
+        Map<Long, ChangeType> habitChanges = new LinkedHashMap<>();
+        Map<Long, ChangeType> trackingChanges = new LinkedHashMap<>();
+        for (HabitChange change : changes) {
+            switch (change.getChangeType()) {
+                case HABIT_UPSERT, HABIT_DELETE -> habitChanges.put(change.getEntityId(), change.getChangeType());
+                case TRACKING_UPSERT, TRACKING_DELETE ->
+                        trackingChanges.put(change.getEntityId(), change.getChangeType());
+            }
+        }
+
+        List<Long> deletedHabitIds = idsOf(habitChanges, ChangeType.HABIT_DELETE);
+        List<Long> deletedTrackingIds = idsOf(trackingChanges, ChangeType.TRACKING_DELETE);
+        List<Long> upsertedHabitIds = idsOf(habitChanges, ChangeType.HABIT_UPSERT);
+        List<Long> upsertedTrackingIds = idsOf(trackingChanges, ChangeType.TRACKING_UPSERT);
+
+        List<HabitDto> habits = upsertedHabitIds.isEmpty() ? List.of()
+                : habitRepository.findAllById(upsertedHabitIds).stream()
+                .filter(habit -> userId.equals(habit.getUserId()))
+                .sorted(Comparator.comparing(Habit::getId))
+                .map(HabitMapper::toDto)
+                .toList();
+        List<HabitTracking> trackings = upsertedTrackingIds.isEmpty() ? List.of()
+                : habitTrackingRepository.findAllById(upsertedTrackingIds);
+        List<HabitTrackingArchive> archivedTrackings = findArchived(upsertedTrackingIds, trackings);
+
+        return SyncResponseDto.builder()
+                .nextToken(hasMore ? changes.get(changes.size() - 1).getId() : head)
+                .fullResync(false)
+                .hasMore(hasMore)
+                .habits(habits)
+                .trackings(groupByHabit(trackings, archivedTrackings))
+                .deletedHabitIds(deletedHabitIds)
+                .deletedTrackingIds(deletedTrackingIds)
+                .build();
+    }
+
+    private SyncResponseDto fullState(Long userId, long head) {
+        List<HabitDto> habits = habitRepository.findByUserId(userId).stream()
+                .map(HabitMapper::toDto)
+                .toList();
+
+        return SyncResponseDto.builder()
+                .nextToken(head)
+                .fullResync(true)
+                .hasMore(false)
+                .habits(habits)
+                .trackings(groupByHabit(habitTrackingRepository.findByOwner(userId), List.of()))
+                .deletedHabitIds(List.of())
+                .deletedTrackingIds(List.of())
+                .build();
+    }
+
+    private static List<Long> idsOf(Map<Long, ChangeType> changes, ChangeType changeType) {
+        return changes.entrySet().stream()
+                .filter(entry -> entry.getValue() == changeType)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // a tracking moved to the archive after its change was logged keeps its id there
+    private List<HabitTrackingArchive> findArchived(List<Long> trackingIds, List<HabitTracking> hotTrackings) {
+        Set<Long> missing = new HashSet<>(trackingIds);
+        hotTrackings.forEach(tracking -> missing.remove(tracking.getId()));
+        return missing.isEmpty() ? List.of() : habitTrackingArchiveRepository.findAllById(missing);
+    }
+
+    private static Map<Long, List<HabitTrackingDto>> groupByHabit(List<HabitTracking> trackings,
+                                                                  List<HabitTrackingArchive> archivedTrackings) {
+        Map<Long, List<HabitTrackingDto>> result = new TreeMap<>();
+        trackings.forEach(tracking -> result.computeIfAbsent(tracking.getHabit().getId(), id -> new ArrayList<>())
+                .add(HabitTrackingMapper.toDto(tracking)));
+        archivedTrackings.forEach(tracking -> result.computeIfAbsent(tracking.getHabitId(), id -> new ArrayList<>())
+                .add(HabitTrackingMapper.toDto(tracking)));
+        result.values().forEach(dtos -> dtos.sort(Comparator.comparing(HabitTrackingDto::getTrackDate)));
+        return result;
+    }
+}
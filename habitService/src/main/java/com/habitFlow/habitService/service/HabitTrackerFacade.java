@@ -1,12 +1,15 @@
 package com.habitFlow.habitService.service;
 
 import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.dto.TrackingRollupDto;
+import com.habitFlow.habitService.model.enums.RollupPeriod;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -27,11 +30,31 @@ public class HabitTrackerFacade {
         return trackingService.getTrackingsByHabit(username, habitId);
     }
 
+    public List<HabitTrackingDto> getTrackingsInRange(Long habitId, LocalDate from, LocalDate to) {
+        String username = getUsername();
+        return trackingService.getTrackingsInRange(username, habitId, from, to);
+    }
+
     public List<HabitTrackingDto> getTrackingByDate(Long habitId, LocalDate date) {
         String username = getUsername();
         return trackingService.getTrackingByDate(username, habitId, date);
     }
 
+    public Map<Long, List<HabitTrackingDto>> getTrackingsForHabits(List<Long> habitIds, LocalDate from, LocalDate to) {
+        String username = getUsername();
+        return trackingService.getTrackingsForHabits(username, habitIds, from, to);
+    }
+
+    public List<TrackingRollupDto> getRollups(Long habitId, RollupPeriod period, LocalDate from, LocalDate to) {
+        String username = getUsername();
+        return trackingService.getRollups(username, habitId, period, from, to);
+    }
+
+    public void setTrackingState(Long habitId, LocalDate date, Boolean done) {
+        String username = getUsername();
+        trackingService.setTrackingState(username, habitId, date, done);
+    }
+
     public void deleteTracking(Long trackingId) {
         String username = getUsername();
         trackingService.deleteTracking(username, trackingId);
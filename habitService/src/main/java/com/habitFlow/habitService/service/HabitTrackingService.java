@@ -2,20 +2,30 @@ package com.habitFlow.habitService.service;
 
 import com.habitFlow.habitService.config.NotificationClient;
 import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.HabitEventDto;
 import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.dto.TrackingRollupDto;
 import com.habitFlow.habitService.dto.UserDto;
 import com.habitFlow.habitService.exception.custom.ForbiddenException;
+import com.habitFlow.habitService.exception.custom.InvalidRequestException;
 import com.habitFlow.habitService.exception.custom.ResourceNotFoundException;
 import com.habitFlow.habitService.mapper.HabitTrackingMapper;
 import com.habitFlow.habitService.model.Habit;
 import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.enums.RollupPeriod;
 import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingArchiveRepository;
 import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository.TrackingOwnerView;
+import com.habitFlow.habitService.service.TrackingStateWriter.TrackingState;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -23,23 +33,61 @@ public class HabitTrackingService {
 
     private final HabitTrackingRepository habitTrackingRepository;
     private final HabitRepository habitRepository;
+    private final HabitTrackingArchiveRepository habitTrackingArchiveRepository;
 
     private final NotificationClient notificationClient;
     private final UserService userService;
+    private final HabitEventBroadcaster habitEventBroadcaster;
+    private final CompletionCounters completionCounters;
+    private final CompletionRankings completionRankings;
+    private final PendingTodayIndex pendingTodayIndex;
+    private final HabitChangeLog habitChangeLog;
+    private final TrackingWriteBuffer trackingWriteBuffer;
+    private final TrackingStateWriter trackingStateWriter;
+    private final TrackingRollups trackingRollups;
+    private final Clock clock;
 
-    public HabitTrackingDto createTracking(String username, Long habitId, HabitTrackingDto dto) {
-        UserDto userdto = userService.getUserByUsername(username);
+    private static final int MAX_BATCH_HABITS = 100;
+    private static final int DEFAULT_BATCH_DAYS = 30;
+    private static final int DEFAULT_ROLLUP_PERIODS = 12;
+    private static final LocalDate EARLIEST_TRACK_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST_TRACK_DATE = LocalDate.of(9999, 12, 31);
 
-        Habit habit = habitRepository.findById(habitId)
-                .orElseThrow(() -> new ResourceNotFoundException("Habit not found with id: " + habitId));
+    @Value("${habit.tracking.hot-days:365}")
+    private int hotDays;
+
+    /**
+     * Trackings older than this date live in habit_tracking_archive
+     */
+    public LocalDate hotCutoff() {
+        return LocalDate.now(clock).minusDays(hotDays);
+    }
 
-        if (!habit.getUserId().equals(userdto.getId())) {
-            throw new ForbiddenException("You cannot add tracking for this habit");
+    public HabitTrackingDto createTracking(String username, Long habitId, HabitTrackingDto dto) {
+        if (dto.getUnit() != null && dto.getValue() == null) {
+            throw new InvalidRequestException("A unit requires a value");
         }
+        UserDto userdto = userService.getUserByUsername(username);
+        trackingWriteBuffer.flushUser(userdto.getId());
+
+        Habit habit = habitRepository.findByIdAndUserId(habitId, userdto.getId())
+                .orElseThrow(() -> habitOwnershipFailure(habitId, "You cannot add tracking for this habit"));
 
         HabitTracking tracking = HabitTrackingMapper.toEntity(dto);
         tracking.setHabit(habit);
-        HabitTracking saved = habitTrackingRepository.save(tracking);
+        HabitTracking saved = trackingStateWriter.record(userdto.getId(), tracking);
+        completionRankings.trackingRecorded(habitId, habit.getTitle(), habit.getFrequency(), saved.isDone());
+        if (saved.isDone()) {
+            completionCounters.recordCompletion(habit.getTitle(), saved.getTrackDate());
+            pendingTodayIndex.markCompleted(habitId, saved.getId(), saved.getTrackDate());
+        }
+        habitChangeLog.trackingChanged(userdto.getId(), saved.getId(), habitId);
+        habitEventBroadcaster.publish(userdto.getId(), HabitEventDto.builder()
+                .type(HabitEventDto.TRACKING_CREATED)
+                .habitId(habitId)
+                .trackingId(saved.getId())
+                .tracking(HabitTrackingMapper.toDto(saved))
+                .build());
 
         notificationClient.dispatchNotification(
                 username,
@@ -50,46 +98,219 @@ public class HabitTrackingService {
         return HabitTrackingMapper.toDto(saved);
     }
 
+    /**
+     * Sets the tracking of a habit day to done or not done, or clears it when {@code done} is null.
+     * With write-behind enabled the change is buffered and coalesced with later changes of the same day.
+     */
+    public void setTrackingState(String username, Long habitId, LocalDate date, Boolean done) {
+        UserDto userdto = userService.getUserByUsername(username);
+
+        if (!trackingWriteBuffer.isBufferedFor(userdto.getId(), habitId, date)) {
+            requireOwnedHabit(habitId, userdto.getId(), "You cannot change tracking of this habit");
+        }
+        trackingWriteBuffer.submit(new TrackingState(userdto.getId(), username, habitId, date, done));
+    }
+
     public List<HabitTrackingDto> getTrackingsByHabit(String username, Long habitId) {
         UserDto userdto = userService.getUserByUsername(username);
+        return getTrackingsByHabit(userdto.getId(), habitId);
+    }
 
-        Habit habit = habitRepository.findById(habitId)
-                .orElseThrow(() -> new ResourceNotFoundException("Habit not found with id: " + habitId));
+    public List<HabitTrackingDto> getTrackingsByHabit(Long userId, Long habitId) {
+        trackingWriteBuffer.flushUser(userId);
 
-        if (!habit.getUserId().equals(userdto.getId())) {
-            throw new ForbiddenException("You cannot view trackings of this habit");
+        List<HabitTracking> trackings = habitTrackingRepository.findByHabitIdAndOwner(habitId, userId);
+        if (trackings.isEmpty()) {
+            requireOwnedHabit(habitId, userId, "You cannot view trackings of this habit");
         }
 
-        return habitTrackingRepository.findByHabitId(habitId).stream()
-                .map(HabitTrackingMapper::toDto)
-                .toList();
+        List<HabitTrackingDto> result = new ArrayList<>();
+        habitTrackingArchiveRepository.findByHabitIdOrderByTrackDateAsc(habitId)
+                .forEach(archived -> result.add(HabitTrackingMapper.toDto(archived)));
+        trackings.forEach(tracking -> result.add(HabitTrackingMapper.toDto(tracking)));
+        return result;
+    }
+
+    public List<HabitTrackingDto> getTrackingsInRange(String username, Long habitId, LocalDate from, LocalDate to) {
+        requireOrderedRange(from != null ? from : EARLIEST_TRACK_DATE, to != null ? to : LATEST_TRACK_DATE);
+
+        UserDto userdto = userService.getUserByUsername(username);
+        return getTrackingsInRange(userdto.getId(), habitId, from, to);
+    }
+
+    public List<HabitTrackingDto> getTrackingsInRange(Long userId, Long habitId, LocalDate from, LocalDate to) {
+        LocalDate fromDate = from != null ? from : EARLIEST_TRACK_DATE;
+        LocalDate toDate = to != null ? to : LATEST_TRACK_DATE;
+        requireOrderedRange(fromDate, toDate);
+
+        trackingWriteBuffer.flushUser(userId);
+
+        List<HabitTracking> trackings = habitTrackingRepository
+                .findByHabitIdAndOwnerAndTrackDateBetween(habitId, userId, fromDate, toDate);
+        if (trackings.isEmpty()) {
+            requireOwnedHabit(habitId, userId, "You cannot view trackings of this habit");
+        }
+
+        List<HabitTrackingDto> result = new ArrayList<>();
+        if (fromDate.isBefore(hotCutoff())) {
+            habitTrackingArchiveRepository.findByHabitIdAndTrackDateBetweenOrderByTrackDateAsc(habitId, fromDate, toDate)
+                    .forEach(archived -> result.add(HabitTrackingMapper.toDto(archived)));
+        }
+        trackings.forEach(tracking -> result.add(HabitTrackingMapper.toDto(tracking)));
+        return result;
     }
 
     public List<HabitTrackingDto> getTrackingByDate(String username, Long habitId, LocalDate date) {
         UserDto userdto = userService.getUserByUsername(username);
+        return getTrackingByDate(userdto.getId(), habitId, date);
+    }
+
+    public List<HabitTrackingDto> getTrackingByDate(Long userId, Long habitId, LocalDate date) {
+        trackingWriteBuffer.flushUser(userId);
+
+        List<HabitTracking> trackings =
+                habitTrackingRepository.findByHabitIdAndOwnerAndTrackDate(habitId, userId, date);
+        if (trackings.isEmpty()) {
+            requireOwnedHabit(habitId, userId, "You cannot view tracking of this habit");
+        }
+
+        List<HabitTrackingDto> result = new ArrayList<>();
+        // the archive only holds dates behind the hot window, recent dates never touch it
+        if (date.isBefore(hotCutoff())) {
+            habitTrackingArchiveRepository.findByHabitIdAndTrackDate(habitId, date)
+                    .forEach(archived -> result.add(HabitTrackingMapper.toDto(archived)));
+        }
+        trackings.forEach(tracking -> result.add(HabitTrackingMapper.toDto(tracking)));
+        return result;
+    }
+
+    public Map<Long, List<HabitTrackingDto>> getTrackingsForHabits(String username, List<Long> habitIds,
+                                                                   LocalDate from, LocalDate to) {
+        requireValidBatch(habitIds, from, to);
+
+        UserDto userdto = userService.getUserByUsername(username);
+        return getTrackingsForHabits(userdto.getId(), habitIds, from, to);
+    }
+
+    public Map<Long, List<HabitTrackingDto>> getTrackingsForHabits(Long userId, List<Long> habitIds,
+                                                                   LocalDate from, LocalDate to) {
+        requireValidBatch(habitIds, from, to);
+        Set<Long> ids = new LinkedHashSet<>(habitIds);
+        LocalDate toDate = to != null ? to : LocalDate.now(clock);
+        LocalDate fromDate = from != null ? from : toDate.minusDays(DEFAULT_BATCH_DAYS - 1);
+
+        trackingWriteBuffer.flushUser(userId);
+
+        List<Long> ownedIds = habitRepository.findIdsOwnedBy(ids, userId);
+        if (ownedIds.size() < ids.size()) {
+            Set<Long> notOwned = new LinkedHashSet<>(ids);
+            ownedIds.forEach(notOwned::remove);
+            if (!habitRepository.findAllById(notOwned).isEmpty()) {
+                throw new ForbiddenException("You cannot view trackings of habits: " + notOwned);
+            }
+            throw new ResourceNotFoundException("Habits not found with ids: " + notOwned);
+        }
 
-        Habit habit = habitRepository.findById(habitId)
-                .orElseThrow(() -> new ResourceNotFoundException("Habit not found with id: " + habitId));
+        Map<Long, List<HabitTrackingDto>> result = new LinkedHashMap<>();
+        ids.forEach(id -> result.put(id, new ArrayList<>()));
 
-        if (!habit.getUserId().equals(userdto.getId())) {
-            throw new ForbiddenException("You cannot view tracking of this habit");
+        if (fromDate.isBefore(hotCutoff())) {
+            habitTrackingArchiveRepository.findByHabitIdInAndTrackDateBetweenOrderByTrackDateAsc(ids, fromDate, toDate)
+                    .forEach(archived -> result.get(archived.getHabitId()).add(HabitTrackingMapper.toDto(archived)));
         }
+        habitTrackingRepository.findByHabitIdsAndTrackDateBetween(ids, fromDate, toDate)
+                .forEach(tracking -> result.get(tracking.getHabit().getId()).add(HabitTrackingMapper.toDto(tracking)));
+        return result;
+    }
 
-        return habitTrackingRepository.findByHabitIdAndTrackDate(habitId, date).stream()
-                .map(HabitTrackingMapper::toDto)
-                .toList();
+    /**
+     * Sum/min/max of the tracked values per period, read from the rollups. Defaults to the
+     * last {@value #DEFAULT_ROLLUP_PERIODS} periods up to today.
+     */
+    public List<TrackingRollupDto> getRollups(String username, Long habitId, RollupPeriod period,
+                                              LocalDate from, LocalDate to) {
+        LocalDate toDate = to != null ? to : LocalDate.now(clock);
+        LocalDate fromDate = from != null ? from : switch (period) {
+            case DAILY -> toDate.minusDays(DEFAULT_ROLLUP_PERIODS - 1);
+            case WEEKLY -> toDate.minusWeeks(DEFAULT_ROLLUP_PERIODS - 1);
+            case MONTHLY -> toDate.minusMonths(DEFAULT_ROLLUP_PERIODS - 1);
+        };
+        requireOrderedRange(fromDate, toDate);
+
+        UserDto userdto = userService.getUserByUsername(username);
+        trackingWriteBuffer.flushUser(userdto.getId());
+        requireOwnedHabit(habitId, userdto.getId(), "You cannot view trackings of this habit");
+        return trackingRollups.rollupsOf(habitId, period, fromDate, toDate);
     }
 
     public void deleteTracking(String username, Long id) {
         UserDto userdto = userService.getUserByUsername(username);
+        trackingWriteBuffer.flushUser(userdto.getId());
 
-        HabitTracking tracking = habitTrackingRepository.findById(id)
+        TrackingOwnerView tracking = habitTrackingRepository.findOwnerViewById(id)
+                .or(() -> habitTrackingArchiveRepository.findOwnerViewById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("HabitTracking not found with id: " + id));
 
-        if (!tracking.getHabit().getUserId().equals(userdto.getId())) {
+        if (!tracking.getUserId().equals(userdto.getId())) {
             throw new ForbiddenException("You cannot delete this tracking");
         }
+        if (!trackingStateWriter.remove(userdto.getId(), id, tracking)) {
+            throw new ResourceNotFoundException("HabitTracking not found with id: " + id);
+        }
+
+        completionRankings.trackingRemoved(tracking.getHabitId(), Boolean.TRUE.equals(tracking.getDone()));
+        if (Boolean.TRUE.equals(tracking.getDone())) {
+            completionCounters.revokeCompletion(tracking.getHabitTitle(), tracking.getTrackDate());
+            pendingTodayIndex.markNotCompleted(tracking.getHabitId(), id, tracking.getTrackDate());
+        }
+        habitChangeLog.trackingDeleted(userdto.getId(), id, tracking.getHabitId());
+        habitEventBroadcaster.publish(userdto.getId(), HabitEventDto.builder()
+                .type(HabitEventDto.TRACKING_DELETED)
+                .habitId(tracking.getHabitId())
+                .trackingId(id)
+                .build());
+    }
+
+    private static void requireOrderedRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+    }
+
+    private static void requireValidBatch(List<Long> habitIds, LocalDate from, LocalDate to) {
+        if (habitIds == null || habitIds.isEmpty()) {
+            throw new InvalidRequestException("At least one habit id is required");
+        }
+        if (new HashSet<>(habitIds).size() > MAX_BATCH_HABITS) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_HABITS + " habit ids are allowed per request");
+        }
+        LocalDate toDate = to != null ? to : LocalDate.now(clock);
+        requireOrderedRange(from != null ? from : toDate.minusDays(DEFAULT_BATCH_DAYS - 1), toDate);
+    }
+
+    // a miss on the owner-scoped query can still mean "no rows yet", so only then look at the habit itself
+    private void requireOwnedHabit(Long habitId, Long userId, String forbiddenMessage) {
+        if (!habitRepository.existsByIdAndUserId(habitId, userId)) {
+            throw habitOwnershipFailure(habitId, forbiddenMessage);
+        }
+    }
+
+    private RuntimeException habitOwnershipFailure(Long habitId, String forbiddenMessage) {
+        if (habitRepository.existsById(habitId)) {
+            return new ForbiddenException(forbiddenMessage);
+        }
+        return new ResourceNotFoundException("Habit not found with id: " + habitId);
+    }
+
+    @Transactional
+    public int archiveTrackingsBefore(LocalDate cutoff, int limit) {
+        List<Long> ids = habitTrackingRepository.findIdsByTrackDateBefore(cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
 
-        habitTrackingRepository.delete(tracking);
+        habitTrackingArchiveRepository.copyFromHotTable(ids);
+        habitTrackingRepository.deleteByIds(ids);
+        return ids.size();
     }
 }
@@ -0,0 +1,249 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository.TrackingDayView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Habits that are due today and not yet completed in their current period, i.e. today for daily
+ * habits, this week for weekly ones and so on. Built at midnight from live active habits, then
+ * kept current by habit and tracking writes, so /habit/me/pending never has to ask the database.
+ * Each instance holds its own index and only sees the writes it handled itself; the reminder job
+ * therefore confirms its candidates against the database with {@link #confirmPending(List)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PendingTodayIndex {
+
+    private static final int CONFIRM_BATCH_SIZE = 1000;
+
+    private final HabitRepository habitRepository;
+    private final HabitTrackingRepository habitTrackingRepository;
+    private final Clock clock;
+
+    private final Object rebuildLock = new Object();
+    private Index index = new Index(null);
+    // changes made while a rebuild reads the database, replayed onto the rebuilt index
+    private List<Consumer<Index>> changesDuringRebuild;
+
+    public record DueHabit(Long habitId, Long userId, String title) {
+    }
+
+    // built before other startup listeners read it, e.g. the reminder resume
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Scheduled(cron = "0 0 0 * * *", zone = "${habit.zone:Europe/Berlin}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+
+            LocalDate today = LocalDate.now(clock);
+            Index rebuilt = new Index(today);
+            Map<Frequency, LocalDate> periodStarts = new EnumMap<>(Frequency.class);
+            for (Habit habit : habitRepository.findLiveByStatus(HabitStatus.ACTIVE, today)) {
+                if (rebuilt.add(habit)) {
+                    periodStarts.merge(frequencyOf(habit), HabitPeriods.periodStart(habit, today),
+                            (a, b) -> a.isBefore(b) ? a : b);
+                }
+            }
+            periodStarts.forEach((frequency, from) -> habitTrackingRepository
+                    .findCompletionsByFrequencyBetween(frequency, from, today)
+                    .forEach(completion -> rebuilt.completed(completion.getHabitId(), completion.getId(),
+                            completion.getTrackDate())));
+
+            // every change is idempotent, so one already in the query result does no harm when replayed
+            synchronized (this) {
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                changesDuringRebuild = null;
+                index = rebuilt;
+            }
+
+            System.out.println("[PendingTodayIndex] ✅ " + rebuilt.pending.size() + " of " + rebuilt.due.size()
+                    + " due habits pending for " + today);
+        }
+    }
+
+    public void habitSaved(Habit habit) {
+        change(index -> index.saved(habit));
+    }
+
+    public void habitRemoved(Long habitId) {
+        change(index -> index.remove(habitId));
+    }
+
+    public void markCompleted(Long habitId, Long trackingId, LocalDate date) {
+        change(index -> index.completed(habitId, trackingId, date));
+    }
+
+    // the habit is pending again only once no completion of its period is left
+    public void markNotCompleted(Long habitId, Long trackingId, LocalDate date) {
+        change(index -> index.notCompleted(habitId, trackingId, date));
+    }
+
+    public synchronized List<DueHabit> pendingHabits() {
+        return index.pending.stream()
+                .map(habitId -> index.due.get(habitId).habit)
+                .toList();
+    }
+
+    /**
+     * The candidates that have no completion of their current period in the database either.
+     * Completions found there, e.g. made through another instance, are folded into the index.
+     */
+    public List<DueHabit> confirmPending(List<DueHabit> candidates) {
+        LocalDate day;
+        Map<Long, LocalDate> periodStarts = new HashMap<>();
+        synchronized (this) {
+            day = index.day;
+            for (DueHabit candidate : candidates) {
+                DueEntry entry = index.due.get(candidate.habitId());
+                if (entry != null) {
+                    periodStarts.put(candidate.habitId(), entry.periodStart);
+                }
+            }
+        }
+        if (periodStarts.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate from = Collections.min(periodStarts.values());
+        Set<Long> completed = new HashSet<>();
+        List<Long> habitIds = List.copyOf(periodStarts.keySet());
+        for (int start = 0; start < habitIds.size(); start += CONFIRM_BATCH_SIZE) {
+            List<Long> chunk = habitIds.subList(start, Math.min(start + CONFIRM_BATCH_SIZE, habitIds.size()));
+            for (TrackingDayView completion : habitTrackingRepository.findCompletionsOfHabitsBetween(chunk, from, day)) {
+                if (!completion.getTrackDate().isBefore(periodStarts.get(completion.getHabitId()))) {
+                    completed.add(completion.getHabitId());
+                    markCompleted(completion.getHabitId(), completion.getId(), completion.getTrackDate());
+                }
+            }
+        }
+
+        return candidates.stream()
+                .filter(candidate -> periodStarts.containsKey(candidate.habitId()))
+                .filter(candidate -> !completed.contains(candidate.habitId()))
+                .toList();
+    }
+
+    public synchronized List<DueHabit> pendingHabitsOf(Long userId) {
+        return index.dueByUser.getOrDefault(userId, Set.of()).stream()
+                .filter(index.pending::contains)
+                .sorted()
+                .map(habitId -> index.due.get(habitId).habit)
+                .toList();
+    }
+
+    private synchronized void change(Consumer<Index> change) {
+        change.accept(index);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private static Frequency frequencyOf(Habit habit) {
+        return habit.getFrequency() != null ? habit.getFrequency() : Frequency.DAILY;
+    }
+
+    private static boolean isDue(Habit habit, LocalDate date) {
+        return habit.getStatus() == HabitStatus.ACTIVE
+                && (habit.getStartDate() == null || !habit.getStartDate().isAfter(date))
+                && (habit.getEndDate() == null || !habit.getEndDate().isBefore(date));
+    }
+
+    private static final class Index {
+        private final LocalDate day;
+        private final Map<Long, DueEntry> due = new HashMap<>();
+        private final Map<Long, Set<Long>> dueByUser = new HashMap<>();
+        private final NavigableSet<Long> pending = new TreeSet<>();
+
+        private Index(LocalDate day) {
+            this.day = day;
+        }
+
+        private boolean add(Habit habit) {
+            if (day == null || !isDue(habit, day)) {
+                return false;
+            }
+            DueEntry entry = new DueEntry(new DueHabit(habit.getId(), habit.getUserId(), habit.getTitle()),
+                    HabitPeriods.periodStart(habit, day));
+            due.put(habit.getId(), entry);
+            dueByUser.computeIfAbsent(habit.getUserId(), id -> new HashSet<>()).add(habit.getId());
+            pending.add(habit.getId());
+            return true;
+        }
+
+        // completions stay with the habit as long as they fall into its new period
+        private void saved(Habit habit) {
+            DueEntry previous = due.get(habit.getId());
+            remove(habit.getId());
+            if (!add(habit) || previous == null) {
+                return;
+            }
+            previous.completions.forEach((trackingId, date) -> completed(habit.getId(), trackingId, date));
+        }
+
+        private void remove(Long habitId) {
+            DueEntry removed = due.remove(habitId);
+            if (removed == null) {
+                return;
+            }
+            pending.remove(habitId);
+            Set<Long> userHabits = dueByUser.get(removed.habit.userId());
+            userHabits.remove(habitId);
+            if (userHabits.isEmpty()) {
+                dueByUser.remove(removed.habit.userId());
+            }
+        }
+
+        private void completed(Long habitId, Long trackingId, LocalDate date) {
+            DueEntry entry = due.get(habitId);
+            if (entry != null && entry.inPeriod(date, day)) {
+                entry.completions.put(trackingId, date);
+                pending.remove(habitId);
+            }
+        }
+
+        private void notCompleted(Long habitId, Long trackingId, LocalDate date) {
+            DueEntry entry = due.get(habitId);
+            if (entry != null && entry.inPeriod(date, day)) {
+                entry.completions.remove(trackingId);
+                if (entry.completions.isEmpty()) {
+                    pending.add(habitId);
+                }
+            }
+        }
+    }
+
+    private static final class DueEntry {
+        private final DueHabit habit;
+        private final LocalDate periodStart;
+        // done trackings of the current period by tracking id
+        private final Map<Long, LocalDate> completions = new HashMap<>();
+
+        private DueEntry(DueHabit habit, LocalDate periodStart) {
+            this.habit = habit;
+            this.periodStart = periodStart;
+        }
+
+        private boolean inPeriod(LocalDate date, LocalDate day) {
+            return !date.isBefore(periodStart) && !date.isAfter(day);
+        }
+    }
+}
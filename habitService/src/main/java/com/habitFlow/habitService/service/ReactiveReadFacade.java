@@ -0,0 +1,71 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.ReactiveUserService;
+import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.dto.UserDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Read path that never parks a servlet thread: the user is resolved through a non-blocking
+ * call to user-service, and the JPA reads it leads to run on the bounded-elastic scheduler.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveReadFacade {
+
+    private final ReactiveUserService reactiveUserService;
+    private final HabitService habitService;
+    private final HabitTrackingService trackingService;
+
+    // read on the request thread, the security context does not follow the subscription
+    private String getUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    private Mono<Long> getUserId() {
+        return reactiveUserService.getUserByUsername(getUsername())
+                .map(UserDto::getId);
+    }
+
+    public Mono<List<HabitDto>> getMyHabits() {
+        return getUserId().flatMap(userId -> blocking(() -> habitService.getHabitsByUserId(userId)));
+    }
+
+    public Mono<HabitDto> getHabit(Long id) {
+        return getUserId().flatMap(userId -> blocking(() -> habitService.getHabitById(id, userId)));
+    }
+
+    public Mono<List<HabitTrackingDto>> getTrackingsByHabit(Long habitId) {
+        return getUserId().flatMap(userId -> blocking(() -> trackingService.getTrackingsByHabit(userId, habitId)));
+    }
+
+    public Mono<List<HabitTrackingDto>> getTrackingsInRange(Long habitId, LocalDate from, LocalDate to) {
+        return getUserId().flatMap(userId ->
+                blocking(() -> trackingService.getTrackingsInRange(userId, habitId, from, to)));
+    }
+
+    public Mono<List<HabitTrackingDto>> getTrackingByDate(Long habitId, LocalDate date) {
+        return getUserId().flatMap(userId ->
+                blocking(() -> trackingService.getTrackingByDate(userId, habitId, date)));
+    }
+
+    public Mono<Map<Long, List<HabitTrackingDto>>> getTrackingsForHabits(List<Long> habitIds,
+                                                                         LocalDate from, LocalDate to) {
+        return getUserId().flatMap(userId ->
+                blocking(() -> trackingService.getTrackingsForHabits(userId, habitIds, from, to)));
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
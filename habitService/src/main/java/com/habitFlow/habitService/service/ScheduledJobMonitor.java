@@ -0,0 +1,104 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.JobMetricsDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps per-job statistics of scheduled runs. The scheduler never starts a task while its previous run
+ * is still going, so runs of one job don't overlap on an instance; jobs that must not run on several
+ * instances at once guard themselves, like the reminder claims in reminder_log. Jobs report their work
+ * through {@link #itemsProcessed(long)}, which is attributed to the job running on the calling thread.
+ */
+@Component
+public class ScheduledJobMonitor {
+
+    private static final ThreadLocal<JobStats> CURRENT_JOB = new ThreadLocal<>();
+
+    private final Map<String, JobStats> jobs = new ConcurrentHashMap<>();
+
+    public void run(String jobName, long lagMillis, Runnable job) {
+        JobStats stats = jobs.computeIfAbsent(jobName, JobStats::new);
+        stats.running = true;
+
+        CURRENT_JOB.set(stats);
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            stats.itemsInRun = 0;
+            job.run();
+        } catch (Throwable e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            throw e;
+        } finally {
+            long items = stats.itemsInRun;
+            CURRENT_JOB.remove();
+            synchronized (stats) {
+                stats.runs++;
+                if (error != null) {
+                    stats.failures++;
+                    stats.lastError = error;
+                }
+                stats.lastStartedAt = startedAt;
+                stats.lastDurationMs = (System.nanoTime() - start) / 1_000_000;
+                stats.lastItemsProcessed = items;
+                stats.lastLagMs = lagMillis;
+            }
+            stats.running = false;
+        }
+    }
+
+    public void itemsProcessed(long count) {
+        JobStats stats = CURRENT_JOB.get();
+        if (stats != null) {
+            stats.itemsInRun += count;
+        }
+    }
+
+    public List<JobMetricsDto> getMetrics() {
+        return jobs.values().stream()
+                .map(JobStats::toDto)
+                .sorted(Comparator.comparing(JobMetricsDto::getName))
+                .toList();
+    }
+
+    private static class JobStats {
+        private final String name;
+        private volatile boolean running;
+
+        // only touched by the thread running the job
+        private long itemsInRun;
+
+        private long runs;
+        private long failures;
+        private LocalDateTime lastStartedAt;
+        private long lastDurationMs;
+        private long lastItemsProcessed;
+        private long lastLagMs;
+        private String lastError;
+
+        JobStats(String name) {
+            this.name = name;
+        }
+
+        synchronized JobMetricsDto toDto() {
+            return JobMetricsDto.builder()
+                    .name(name)
+                    .running(running)
+                    .runs(runs)
+                    .failures(failures)
+                    .lastStartedAt(lastStartedAt)
+                    .lastDurationMs(lastDurationMs)
+                    .lastItemsProcessed(lastItemsProcessed)
+                    .lastLagMs(lastLagMs)
+                    .lastError(lastError)
+                    .build();
+        }
+    }
+}
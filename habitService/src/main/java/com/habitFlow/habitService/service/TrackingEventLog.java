@@ -0,0 +1,175 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.JobCheckpoint;
+import com.habitFlow.habitService.model.TrackingEvent;
+import com.habitFlow.habitService.model.TrackingSnapshot;
+import com.habitFlow.habitService.model.enums.TrackingEventType;
+import com.habitFlow.habitService.repository.JobCheckpointRepository;
+import com.habitFlow.habitService.repository.TrackingEventRepository;
+import com.habitFlow.habitService.repository.TrackingSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends every tracking create and removal to tracking_event, and snapshots the replayed
+ * state of busy habits every night so replays only read the events since the last snapshot.
+ * The nightly run only looks at habits with events past the previous run's watermark, so it
+ * reads the day's events instead of the whole log.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrackingEventLog {
+
+    private static final int SETTLE_MINUTES = 5;
+    private static final String SNAPSHOT_JOB = "tracking-snapshot";
+
+    private final TrackingEventRepository trackingEventRepository;
+    private final TrackingSnapshotRepository trackingSnapshotRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final ScheduledJobMonitor scheduledJobMonitor;
+
+    @Value("${habit.tracking.events.snapshot-every:500}")
+    private int snapshotEvery;
+
+    @Value("${habit.tracking.events.replay-page-size:1000}")
+    private int replayPageSize;
+
+    public void trackingRecorded(Long userId, HabitTracking tracking) {
+        trackingsRecorded(userId, List.of(tracking));
+    }
+
+    public void trackingsRecorded(Long userId, List<HabitTracking> trackings) {
+        append(userId, TrackingEventType.RECORDED, trackings);
+    }
+
+    public void trackingsRemoved(Long userId, List<HabitTracking> trackings) {
+        append(userId, TrackingEventType.REMOVED, trackings);
+    }
+
+    public void trackingRemoved(Long userId, Long habitId, Long trackingId, LocalDate trackDate, boolean done,
+                                Double amount, String unit) {
+        trackingEventRepository.save(event(userId, TrackingEventType.REMOVED, habitId, trackingId, trackDate,
+                done, amount, unit, LocalDateTime.now()));
+    }
+
+    // the history goes with its habit, called in the transaction that deletes the habit
+    public void habitDeleted(Long habitId) {
+        trackingSnapshotRepository.deleteByHabitId(habitId);
+        trackingEventRepository.deleteByHabitId(habitId);
+    }
+
+    /**
+     * State of a habit as of its latest event: the snapshot, if any, plus the events after it.
+     */
+    public TrackingHistory replay(Long habitId) {
+        return replay(habitId, null);
+    }
+
+    private TrackingHistory replay(Long habitId, LocalDateTime settledBefore) {
+        TrackingHistory history = trackingSnapshotRepository.findByHabitId(habitId)
+                .map(snapshot -> TrackingHistory.decode(snapshot.getState()))
+                .orElseGet(TrackingHistory::new);
+
+        List<TrackingEvent> page;
+        do {
+            page = trackingEventRepository.findByHabitIdAfter(habitId, history.getLastEventId(), replayPageSize);
+            for (TrackingEvent event : page) {
+                if (settledBefore != null && !event.getOccurredAt().isBefore(settledBefore)) {
+                    return history;
+                }
+                history.apply(event);
+            }
+        } while (page.size() == replayPageSize);
+        return history;
+    }
+
+    @Scheduled(cron = "0 30 2 * * *", zone = "Europe/Berlin")
+    public void snapshotDueHabits() {
+        long watermark = checkpointRepository.findById(SNAPSHOT_JOB)
+                .map(JobCheckpoint::getLastProcessedId)
+                .orElse(0L);
+        // read before the scan: every settled event up to here is seen by it, later ones wait for the next run
+        Long settled = trackingEventRepository.findLastIdSettledAfter(watermark,
+                LocalDateTime.now().minusMinutes(SETTLE_MINUTES));
+
+        int snapshots = 0;
+        long lastHabitId = 0;
+        List<Long> touched;
+        do {
+            touched = trackingEventRepository.findHabitIdsWithEventsAfter(watermark, lastHabitId, replayPageSize);
+            for (Long habitId : touched) {
+                long lastSnapshotEventId = trackingSnapshotRepository.findByHabitId(habitId)
+                        .map(TrackingSnapshot::getLastEventId)
+                        .orElse(0L);
+                // counted past the snapshot, so events spread over several nights still add up
+                if (trackingEventRepository.countByHabitIdAfter(habitId, lastSnapshotEventId) >= snapshotEvery) {
+                    snapshot(habitId);
+                    snapshots++;
+                }
+                lastHabitId = habitId;
+            }
+        } while (touched.size() == replayPageSize);
+
+        if (settled != null) {
+            checkpointRepository.save(JobCheckpoint.builder()
+                    .jobName(SNAPSHOT_JOB)
+                    .lastProcessedId(settled)
+                    .completed(true)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+
+        System.out.println("[TrackingEventLog] 📸 Snapshotted " + snapshots + " habits with at least "
+                + snapshotEvery + " new tracking events");
+        scheduledJobMonitor.itemsProcessed(snapshots);
+    }
+
+    // recent events are left for the next snapshot: an id still being committed must not be skipped
+    public TrackingHistory snapshot(Long habitId) {
+        TrackingHistory history = replay(habitId, LocalDateTime.now().minusMinutes(SETTLE_MINUTES));
+        TrackingSnapshot snapshot = trackingSnapshotRepository.findByHabitId(habitId)
+                .orElseGet(() -> TrackingSnapshot.builder().habitId(habitId).build());
+        snapshot.setLastEventId(history.getLastEventId());
+        snapshot.setState(history.encode());
+        snapshot.setTakenAt(LocalDateTime.now());
+        trackingSnapshotRepository.save(snapshot);
+        return history;
+    }
+
+    private void append(Long userId, TrackingEventType eventType, List<HabitTracking> trackings) {
+        if (trackings.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TrackingEvent> events = new ArrayList<>(trackings.size());
+        for (HabitTracking tracking : trackings) {
+            events.add(event(userId, eventType, tracking.getHabit().getId(), tracking.getId(),
+                    tracking.getTrackDate(), tracking.isDone(), tracking.getAmount(), tracking.getUnit(), now));
+        }
+        trackingEventRepository.saveAll(events);
+    }
+
+    private static TrackingEvent event(Long userId, TrackingEventType eventType, Long habitId, Long trackingId,
+                                       LocalDate trackDate, boolean done, Double amount, String unit,
+                                       LocalDateTime occurredAt) {
+        return TrackingEvent.builder()
+                .userId(userId)
+                .habitId(habitId)
+                .eventType(eventType)
+                .trackingId(trackingId)
+                .trackDate(trackDate)
+                .done(done)
+                .amount(amount)
+                .unit(unit)
+                .occurredAt(occurredAt)
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.model.TrackingEvent;
+import com.habitFlow.habitService.model.enums.TrackingEventType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Tracking state of one habit folded from its events: the live trackings by id, and the
+ * views derived from them. Encodes to a compact snapshot so replays can resume from it.
+ */
+public class TrackingHistory {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<Long, Entry> trackings = new HashMap<>();
+    private long lastEventId;
+    private long appliedEvents;
+
+    public record Entry(LocalDate date, boolean done, Double amount) {
+    }
+
+    public void apply(TrackingEvent event) {
+        if (event.getEventType() == TrackingEventType.RECORDED) {
+            trackings.put(event.getTrackingId(), new Entry(event.getTrackDate(), event.isDone(), event.getAmount()));
+        } else {
+            trackings.remove(event.getTrackingId());
+        }
+        lastEventId = event.getId();
+        appliedEvents++;
+    }
+
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    // events applied since this instance was created or decoded, not counting the snapshot
+    public long getAppliedEvents() {
+        return appliedEvents;
+    }
+
+    public int trackingCount() {
+        return trackings.size();
+    }
+
+    public TreeSet<LocalDate> completedDays() {
+        TreeSet<LocalDate> days = new TreeSet<>();
+        for (Entry entry : trackings.values()) {
+            if (entry.done()) {
+                days.add(entry.date());
+            }
+        }
+        return days;
+    }
+
+    public double valueTotal() {
+        double total = 0;
+        for (Entry entry : trackings.values()) {
+            if (entry.amount() != null) {
+                total += entry.amount();
+            }
+        }
+        return total;
+    }
+
+    public int longestStreak() {
+        int longest = 0;
+        int streak = 0;
+        LocalDate previous = null;
+        for (LocalDate day : completedDays()) {
+            streak = previous != null && previous.plusDays(1).equals(day) ? streak + 1 : 1;
+            longest = Math.max(longest, streak);
+            previous = day;
+        }
+        return longest;
+    }
+
+    // a streak is still current while only today is missing
+    public int currentStreak(LocalDate today) {
+        TreeSet<LocalDate> days = completedDays();
+        LocalDate day = days.contains(today) ? today : today.minusDays(1);
+
+        int streak = 0;
+        while (days.contains(day)) {
+            streak++;
+            day = day.minusDays(1);
+        }
+        return streak;
+    }
+
+    /**
+     * version, last event id, entry count, then per entry: tracking id, epoch day,
+     * flags (bit 0 done, bit 1 has amount) and the amount if present
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + trackings.size() * 21);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(lastEventId);
+            out.writeInt(trackings.size());
+            for (Map.Entry<Long, Entry> tracking : trackings.entrySet()) {
+                Entry entry = tracking.getValue();
+                out.writeLong(tracking.getKey());
+                out.writeInt((int) entry.date().toEpochDay());
+                out.writeByte((entry.done() ? 1 : 0) | (entry.amount() != null ? 2 : 0));
+                if (entry.amount() != null) {
+                    out.writeDouble(entry.amount());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static TrackingHistory decode(byte[] snapshot) {
+        TrackingHistory history = new TrackingHistory();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+            int version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported tracking snapshot version " + version);
+            }
+            history.lastEventId = in.readLong();
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                long trackingId = in.readLong();
+                LocalDate date = LocalDate.ofEpochDay(in.readInt());
+                int flags = in.readByte();
+                Double amount = (flags & 2) != 0 ? in.readDouble() : null;
+                history.trackings.put(trackingId, new Entry(date, (flags & 1) != 0, amount));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return history;
+    }
+}
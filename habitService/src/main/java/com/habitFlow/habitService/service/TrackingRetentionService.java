@@ -0,0 +1,39 @@
+package com.habitFlow.habitService.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+public class TrackingRetentionService {
+
+    private final HabitTrackingService habitTrackingService;
+    private final ScheduledJobMonitor scheduledJobMonitor;
+
+    @Value("${habit.tracking.archive-batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Every night moves trackings older than the hot window from habit_tracking
+     * to habit_tracking_archive, one chunk per transaction
+     */
+    @Scheduled(cron = "0 30 1 * * *", zone = "Europe/Berlin")
+    public void archiveColdTrackings() {
+        LocalDate cutoff = habitTrackingService.hotCutoff();
+        System.out.println("[TrackingRetention] 🔍 Archiving trackings older than " + cutoff + "...");
+
+        int total = 0;
+        int moved;
+        do {
+            moved = habitTrackingService.archiveTrackingsBefore(cutoff, batchSize);
+            total += moved;
+        } while (moved == batchSize);
+
+        System.out.println("[TrackingRetention] 📦 Moved " + total + " trackings to archive.");
+        scheduledJobMonitor.itemsProcessed(total);
+    }
+}
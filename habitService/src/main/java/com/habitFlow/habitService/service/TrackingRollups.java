@@ -0,0 +1,70 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.TrackingRollupDto;
+import com.habitFlow.habitService.exception.custom.InvalidRequestException;
+import com.habitFlow.habitService.mapper.HabitTrackingMapper;
+import com.habitFlow.habitService.model.enums.RollupPeriod;
+import com.habitFlow.habitService.repository.TrackingRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily, weekly and monthly sum/min/max of tracked values. Added values are folded into the
+ * three rollups incrementally; removed values rebuild the affected day, week and month,
+ * since a minimum or maximum can't be taken back.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrackingRollups {
+
+    private final TrackingRollupRepository trackingRollupRepository;
+
+    /**
+     * Folds a value into its rollups. A habit's values share one unit, since the rollups only
+     * sum them per habit; a value in another unit is rejected, and rolls back the transaction
+     * that recorded it.
+     */
+    @Transactional
+    public void valueAdded(Long habitId, LocalDate date, double amount, String unit) {
+        if (unit != null) {
+            trackingRollupRepository.findUnitOf(habitId)
+                    .filter(trackedUnit -> !trackedUnit.equals(unit))
+                    .ifPresent(trackedUnit -> {
+                        throw new InvalidRequestException("Values of this habit are tracked in '" + trackedUnit + "'");
+                    });
+        }
+        trackingRollupRepository.addValue(habitId,
+                RollupPeriod.DAILY.startOf(date),
+                RollupPeriod.WEEKLY.startOf(date),
+                RollupPeriod.MONTHLY.startOf(date),
+                amount, unit);
+    }
+
+    @Transactional
+    public void valueRemoved(Long habitId, LocalDate date) {
+        trackingRollupRepository.deleteBucket(habitId, RollupPeriod.DAILY, date);
+        trackingRollupRepository.rebuildDay(habitId, date);
+
+        for (RollupPeriod period : List.of(RollupPeriod.WEEKLY, RollupPeriod.MONTHLY)) {
+            LocalDate start = period.startOf(date);
+            trackingRollupRepository.deleteBucket(habitId, period, start);
+            trackingRollupRepository.rebuildFromDays(habitId, period.name(), start, period.endOf(date));
+        }
+    }
+
+    // called in the transaction that deletes the habit
+    public void habitDeleted(Long habitId) {
+        trackingRollupRepository.deleteByHabitId(habitId);
+    }
+
+    public List<TrackingRollupDto> rollupsOf(Long habitId, RollupPeriod period, LocalDate from, LocalDate to) {
+        return trackingRollupRepository.findByHabitAndPeriodBetween(habitId, period, period.startOf(from), to)
+                .stream()
+                .map(HabitTrackingMapper::toDto)
+                .toList();
+    }
+}
@@ -0,0 +1,231 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.dto.HabitEventDto;
+import com.habitFlow.habitService.mapper.HabitTrackingMapper;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.HabitTrackingArchive;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingArchiveRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository.TrackingOwnerView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the final tracking state of (habit, date) pairs: the rows of a batch are written
+ * in one transaction, counters, change log, events and notifications follow once it is done.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrackingStateWriter {
+
+    private final HabitTrackingRepository habitTrackingRepository;
+    private final HabitRepository habitRepository;
+    private final HabitTrackingArchiveRepository habitTrackingArchiveRepository;
+    private final TrackingRollups trackingRollups;
+    private final TrackingEventLog trackingEventLog;
+
+    private final NotificationClient notificationClient;
+    private final HabitEventBroadcaster habitEventBroadcaster;
+    private final CompletionCounters completionCounters;
+    private final CompletionRankings completionRankings;
+    private final PendingTodayIndex pendingTodayIndex;
+    private final HabitChangeLog habitChangeLog;
+
+    /**
+     * Desired state of one habit day: done or not done, or no tracking at all when {@code done} is null.
+     */
+    public record TrackingState(Long userId, String username, Long habitId, LocalDate date, Boolean done) {
+    }
+
+    public record AppliedWrite(TrackingState state, String habitTitle, Frequency habitFrequency,
+                               List<HabitTracking> deleted, HabitTracking created) {
+    }
+
+    @Transactional
+    public List<AppliedWrite> write(List<TrackingState> states) {
+        Set<Long> habitIds = states.stream().map(TrackingState::habitId).collect(Collectors.toSet());
+        LocalDate from = states.stream().map(TrackingState::date).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = states.stream().map(TrackingState::date).max(Comparator.naturalOrder()).orElseThrow();
+
+        Map<Long, Habit> habits = habitRepository.findAllById(habitIds).stream()
+                .collect(Collectors.toMap(Habit::getId, Function.identity()));
+        Map<String, List<HabitTracking>> existing = new HashMap<>();
+        for (HabitTracking tracking : habitTrackingRepository.findByHabitIdsAndTrackDateBetween(habitIds, from, to)) {
+            String day = key(tracking.getHabit().getId(), tracking.getTrackDate());
+            existing.computeIfAbsent(day, ignored -> new ArrayList<>()).add(tracking);
+        }
+        // a state can target a day behind the hot window, its archived rows are replaced like hot ones
+        Set<Long> archivedIds = new HashSet<>();
+        for (HabitTrackingArchive archived : habitTrackingArchiveRepository
+                .findByHabitIdInAndTrackDateBetweenOrderByTrackDateAsc(habitIds, from, to)) {
+            Habit habit = habits.get(archived.getHabitId());
+            if (habit != null) {
+                archivedIds.add(archived.getId());
+                String day = key(habit.getId(), archived.getTrackDate());
+                existing.computeIfAbsent(day, ignored -> new ArrayList<>()).add(toTracking(archived, habit));
+            }
+        }
+
+        List<Long> deleteIds = new ArrayList<>();
+        List<Long> archivedDeleteIds = new ArrayList<>();
+        List<HabitTracking> inserts = new ArrayList<>();
+        List<AppliedWrite> applied = new ArrayList<>();
+        for (TrackingState state : states) {
+            Habit habit = habits.get(state.habitId());
+            if (habit == null || !state.userId().equals(habit.getUserId())) {
+                // habit deleted while the write was buffered
+                continue;
+            }
+
+            List<HabitTracking> current = existing.getOrDefault(key(state.habitId(), state.date()), List.of());
+            if (state.done() != null && current.size() == 1 && current.get(0).isDone() == state.done()) {
+                continue;
+            }
+            if (state.done() == null && current.isEmpty()) {
+                continue;
+            }
+
+            current.forEach(tracking -> (archivedIds.contains(tracking.getId()) ? archivedDeleteIds : deleteIds)
+                    .add(tracking.getId()));
+            HabitTracking created = null;
+            if (state.done() != null) {
+                created = HabitTracking.builder()
+                        .habit(habit)
+                        .trackDate(state.date())
+                        .done(state.done())
+                        .build();
+                inserts.add(created);
+            }
+            applied.add(new AppliedWrite(state, habit.getTitle(), habit.getFrequency(), current, created));
+        }
+
+        if (!deleteIds.isEmpty()) {
+            habitTrackingRepository.deleteByIds(deleteIds);
+        }
+        if (!archivedDeleteIds.isEmpty()) {
+            habitTrackingArchiveRepository.deleteByIds(archivedDeleteIds);
+        }
+        // state writes carry no values, only replaced trackings can change the rollups
+        for (AppliedWrite write : applied) {
+            if (write.deleted().stream().anyMatch(tracking -> tracking.getAmount() != null)) {
+                trackingRollups.valueRemoved(write.state().habitId(), write.state().date());
+            }
+        }
+        habitTrackingRepository.saveAll(inserts);
+        for (AppliedWrite write : applied) {
+            trackingEventLog.trackingsRemoved(write.state().userId(), write.deleted());
+            if (write.created() != null) {
+                trackingEventLog.trackingRecorded(write.state().userId(), write.created());
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Inserts a single tracking, folds its value into the rollups and appends its event in the same
+     * transaction, so a concurrent rebuild of the day neither misses the value nor counts it twice
+     * and the event log never misses a committed tracking.
+     */
+    @Transactional
+    public HabitTracking record(Long userId, HabitTracking tracking) {
+        HabitTracking saved = habitTrackingRepository.save(tracking);
+        if (saved.getAmount() != null) {
+            trackingRollups.valueAdded(saved.getHabit().getId(), saved.getTrackDate(), saved.getAmount(),
+                    saved.getUnit());
+        }
+        trackingEventLog.trackingRecorded(userId, saved);
+        return saved;
+    }
+
+    /**
+     * Deletes a single tracking of the user, hot or archived, rebuilds the rollups of its day and appends
+     * the removal event in the same transaction. Returns false when the tracking was not found.
+     */
+    @Transactional
+    public boolean remove(Long userId, Long trackingId, TrackingOwnerView tracking) {
+        // archived trackings keep their id, so it is unique over both tables
+        if (habitTrackingRepository.deleteByIdAndOwner(trackingId, userId) == 0
+                && habitTrackingArchiveRepository.deleteByIdAndOwner(trackingId, userId) == 0) {
+            return false;
+        }
+        if (tracking.getAmount() != null) {
+            trackingRollups.valueRemoved(tracking.getHabitId(), tracking.getTrackDate());
+        }
+        trackingEventLog.trackingRemoved(userId, tracking.getHabitId(), trackingId, tracking.getTrackDate(),
+                Boolean.TRUE.equals(tracking.getDone()), tracking.getAmount(), tracking.getUnit());
+        return true;
+    }
+
+    public void publish(List<AppliedWrite> applied) {
+        for (AppliedWrite write : applied) {
+            TrackingState state = write.state();
+            for (HabitTracking deleted : write.deleted()) {
+                completionRankings.trackingRemoved(state.habitId(), deleted.isDone());
+                if (deleted.isDone()) {
+                    completionCounters.revokeCompletion(write.habitTitle(), deleted.getTrackDate());
+                    pendingTodayIndex.markNotCompleted(state.habitId(), deleted.getId(), deleted.getTrackDate());
+                }
+                habitChangeLog.trackingDeleted(state.userId(), deleted.getId(), state.habitId());
+                habitEventBroadcaster.publish(state.userId(), HabitEventDto.builder()
+                        .type(HabitEventDto.TRACKING_DELETED)
+                        .habitId(state.habitId())
+                        .trackingId(deleted.getId())
+                        .build());
+            }
+
+            HabitTracking created = write.created();
+            if (created == null) {
+                continue;
+            }
+            completionRankings.trackingRecorded(state.habitId(), write.habitTitle(), write.habitFrequency(),
+                    created.isDone());
+            if (created.isDone()) {
+                completionCounters.recordCompletion(write.habitTitle(), created.getTrackDate());
+                pendingTodayIndex.markCompleted(state.habitId(), created.getId(), created.getTrackDate());
+            }
+            habitChangeLog.trackingChanged(state.userId(), created.getId(), state.habitId());
+            habitEventBroadcaster.publish(state.userId(), HabitEventDto.builder()
+                    .type(HabitEventDto.TRACKING_CREATED)
+                    .habitId(state.habitId())
+                    .trackingId(created.getId())
+                    .tracking(HabitTrackingMapper.toDto(created))
+                    .build());
+
+            try {
+                notificationClient.dispatchNotification(
+                        state.username(),
+                        "New Habit Tracking",
+                        "You added a new tracking for habit '" + write.habitTitle() + "' on " + state.date()
+                );
+            } catch (Exception e) {
+                System.err.printf("[TrackingStateWriter] ⚠️ Failed to notify '%s' about habit '%s': %s%n",
+                        state.username(), write.habitTitle(), e.getMessage());
+            }
+        }
+    }
+
+    private static HabitTracking toTracking(HabitTrackingArchive archived, Habit habit) {
+        return HabitTracking.builder()
+                .id(archived.getId())
+                .habit(habit)
+                .trackDate(archived.getTrackDate())
+                .done(archived.isDone())
+                .amount(archived.getAmount())
+                .unit(archived.getUnit())
+                .build();
+    }
+
+    private static String key(Long habitId, LocalDate date) {
+        return habitId + "@" + date;
+    }
+}
@@ -0,0 +1,284 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.service.TrackingStateWriter.AppliedWrite;
+import com.habitFlow.habitService.service.TrackingStateWriter.TrackingState;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Optional write-behind layer for tracking state changes. Changes of the same (habit, date)
+ * within the window overwrite each other, so a burst of toggles ends up as one write.
+ * Reads and direct writes of a user flush that user's buffered changes first.
+ * <p>
+ * The buffer lives in the memory of one instance: a read only sees the user's buffered changes
+ * when it reaches the instance that buffered them. Enable it only where requests are routed to
+ * instances by user, e.g. sticky sessions keyed on the user.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrackingWriteBuffer {
+
+    private static final int MAX_DEAD_LETTERS = 1000;
+
+    private final TrackingStateWriter trackingStateWriter;
+    private final ScheduledJobMonitor scheduledJobMonitor;
+
+    private final Map<Long, UserBuffer> buffers = new ConcurrentHashMap<>();
+    // changes that kept failing, kept for inspection; the oldest go once the list is full
+    private final Deque<TrackingState> deadLetters = new ConcurrentLinkedDeque<>();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    @Value("${habit.tracking.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${habit.tracking.write-behind.window-ms:3000}")
+    private long windowMillis;
+
+    @Value("${habit.tracking.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${habit.tracking.write-behind.max-attempts:5}")
+    private int maxAttempts;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void submit(TrackingState state) {
+        if (!enabled) {
+            publishApplied(apply(List.of(new BufferedState(state, 0, 0))).applied());
+            return;
+        }
+        buffer(new BufferedState(state, System.currentTimeMillis(), 0), false);
+    }
+
+    // ownership was checked when this user buffered the first change of the day
+    public boolean isBufferedFor(Long userId, Long habitId, LocalDate date) {
+        UserBuffer buffer = buffers.get(userId);
+        return buffer != null && buffer.states.containsKey(new BufferKey(habitId, date));
+    }
+
+    public int pendingCount() {
+        return buffers.values().stream().mapToInt(buffer -> buffer.states.size()).sum();
+    }
+
+    public long deadLetteredCount() {
+        return deadLettered.get();
+    }
+
+    public List<TrackingState> deadLetters() {
+        return List.copyOf(deadLetters);
+    }
+
+    /**
+     * Writes the user's buffered changes. Waits for a flush of the same user that is still
+     * writing, so the caller sees every change buffered before it; other users are not blocked.
+     */
+    public void flushUser(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        UserBuffer buffer = buffers.get(userId);
+        if (buffer != null) {
+            flushBuffer(userId, buffer);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${habit.tracking.write-behind.flush-ms:1000}")
+    public void flushDue() {
+        if (buffers.isEmpty()) {
+            return;
+        }
+        long dueBefore = System.currentTimeMillis() - windowMillis;
+        Predicate<BufferedState> due = entry -> entry.bufferedAt() <= dueBefore;
+
+        // users whose flush is already running are left for the next round, so the job never waits on a user
+        List<UserBuffer> locked = new ArrayList<>();
+        List<BufferedState> batch = new ArrayList<>(batchSize);
+        int flushed = 0;
+        for (Map.Entry<Long, UserBuffer> entry : buffers.entrySet()) {
+            UserBuffer buffer = entry.getValue();
+            if (!buffer.lock.tryLock()) {
+                continue;
+            }
+            locked.add(buffer);
+            drain(buffer, due, batch);
+            if (batch.size() >= batchSize) {
+                flushed += writeAndRelease(batch, locked);
+                batch = new ArrayList<>(batchSize);
+                locked = new ArrayList<>();
+            }
+        }
+        flushed += writeAndRelease(batch, locked);
+        buffers.keySet().forEach(this::removeIfEmpty);
+        scheduledJobMonitor.itemsProcessed(flushed);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        int flushed = 0;
+        for (Map.Entry<Long, UserBuffer> entry : buffers.entrySet()) {
+            flushed += flushBuffer(entry.getKey(), entry.getValue());
+        }
+        if (flushed > 0) {
+            System.out.println("[TrackingWriteBuffer] ✅ Flushed " + flushed + " buffered tracking changes.");
+        }
+    }
+
+    private int flushBuffer(Long userId, UserBuffer buffer) {
+        List<BufferedState> drained = new ArrayList<>();
+        BatchResult result;
+        buffer.lock.lock();
+        try {
+            drain(buffer, entry -> true, drained);
+            result = apply(drained);
+        } finally {
+            buffer.lock.unlock();
+        }
+        removeIfEmpty(userId);
+        publishApplied(result.applied());
+        return result.written();
+    }
+
+    // the batch is written while its users are locked, notifications go out after they are released
+    private int writeAndRelease(List<BufferedState> batch, List<UserBuffer> locked) {
+        BatchResult result;
+        try {
+            result = apply(batch);
+        } finally {
+            locked.forEach(buffer -> buffer.lock.unlock());
+        }
+        publishApplied(result.applied());
+        return result.written();
+    }
+
+    private static void drain(UserBuffer buffer, Predicate<BufferedState> due, List<BufferedState> into) {
+        for (Map.Entry<BufferKey, BufferedState> entry : buffer.states.entrySet()) {
+            // a change that replaced this entry in the meantime stays for the next flush
+            if (due.test(entry.getValue()) && buffer.states.remove(entry.getKey(), entry.getValue())) {
+                into.add(entry.getValue());
+            }
+        }
+    }
+
+    // changes that failed went back to the buffer and are not counted as written
+    private BatchResult apply(List<BufferedState> batch) {
+        if (batch.isEmpty()) {
+            return BatchResult.NONE;
+        }
+        try {
+            return new BatchResult(write(batch), batch.size());
+        } catch (RuntimeException e) {
+            System.err.println("[TrackingWriteBuffer] 🚨 Failed to write " + batch.size()
+                    + " tracking changes: " + e.getMessage());
+            if (!enabled) {
+                throw e;
+            }
+        }
+
+        // one bad change must not cost every user of the batch an attempt: each user is retried alone
+        Map<Long, List<BufferedState>> byUser = batch.stream()
+                .collect(Collectors.groupingBy(entry -> entry.state().userId(), LinkedHashMap::new,
+                        Collectors.toList()));
+        long now = System.currentTimeMillis();
+        if (byUser.size() == 1) {
+            batch.forEach(failed -> retryOrDeadLetter(failed, now));
+            return BatchResult.NONE;
+        }
+        List<AppliedWrite> applied = new ArrayList<>();
+        int written = 0;
+        for (Map.Entry<Long, List<BufferedState>> user : byUser.entrySet()) {
+            try {
+                applied.addAll(write(user.getValue()));
+                written += user.getValue().size();
+            } catch (RuntimeException e) {
+                System.err.println("[TrackingWriteBuffer] 🚨 Failed to write " + user.getValue().size()
+                        + " tracking changes of user " + user.getKey() + ": " + e.getMessage());
+                user.getValue().forEach(failed -> retryOrDeadLetter(failed, now));
+            }
+        }
+        return new BatchResult(applied, written);
+    }
+
+    private List<AppliedWrite> write(List<BufferedState> entries) {
+        return trackingStateWriter.write(entries.stream().map(BufferedState::state).toList());
+    }
+
+    private void retryOrDeadLetter(BufferedState failed, long now) {
+        int attempts = failed.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            deadLettered.incrementAndGet();
+            TrackingState state = failed.state();
+            deadLetters.addLast(state);
+            while (deadLetters.size() > MAX_DEAD_LETTERS) {
+                deadLetters.pollFirst();
+            }
+            System.err.printf("[TrackingWriteBuffer] ☠️ Dead-lettered tracking change after %d attempts:" +
+                            " user=%d habit=%d date=%s done=%s%n",
+                    attempts, state.userId(), state.habitId(), state.date(), state.done());
+            return;
+        }
+        // put it back unless the user changed the same day again meanwhile
+        buffer(new BufferedState(failed.state(), now, attempts), true);
+    }
+
+    private void publishApplied(List<AppliedWrite> applied) {
+        if (!applied.isEmpty()) {
+            trackingStateWriter.publish(applied);
+        }
+    }
+
+    // compute keeps adding a change atomic with removing the user's buffer once it is empty
+    private void buffer(BufferedState entry, boolean onlyIfAbsent) {
+        TrackingState state = entry.state();
+        BufferKey key = new BufferKey(state.habitId(), state.date());
+        buffers.compute(state.userId(), (userId, buffer) -> {
+            UserBuffer target = buffer != null ? buffer : new UserBuffer();
+            if (onlyIfAbsent) {
+                target.states.putIfAbsent(key, entry);
+            } else {
+                target.states.merge(key, entry,
+                        (previous, next) -> new BufferedState(state, previous.bufferedAt(), 0));
+            }
+            return target;
+        });
+    }
+
+    // a buffer that is still being written stays, so the user's next flush waits for that write
+    private void removeIfEmpty(Long userId) {
+        buffers.computeIfPresent(userId,
+                (id, buffer) -> buffer.states.isEmpty() && !buffer.lock.isLocked() ? null : buffer);
+    }
+
+    private static final class UserBuffer {
+        // held while the user's changes are taken out and written
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<BufferKey, BufferedState> states = new ConcurrentHashMap<>();
+    }
+
+    private record BufferKey(Long habitId, LocalDate date) {
+    }
+
+    private record BufferedState(TrackingState state, long bufferedAt, int attempts) {
+    }
+
+    private record BatchResult(List<AppliedWrite> applied, int written) {
+        private static final BatchResult NONE = new BatchResult(List.of(), 0);
+    }
+}
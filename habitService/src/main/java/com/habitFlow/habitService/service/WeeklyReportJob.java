@@ -0,0 +1,302 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.DispatchNotificationRequest;
+import com.habitFlow.habitService.dto.UserDto;
+import com.habitFlow.habitService.exception.custom.ExternalServiceException;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.JobCheckpoint;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository.CompletedDayView;
+import com.habitFlow.habitService.repository.JobCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Sends every user a summary of the previous week (Monday to Sunday).
+ * Users are processed in chunks of consecutive user ids: one keyset query for the ids,
+ * one for their habits and one for their completions, summaries are computed by a worker pool
+ * and sent to notification-service in batches. Progress is checkpointed after every batch,
+ * so a run that fails part way resumes from the last reported user.
+ */
+@Service
+public class WeeklyReportJob {
+
+    static final String JOB_NAME = "weekly-progress-report";
+
+    private final HabitRepository habitRepository;
+    private final HabitTrackingRepository habitTrackingRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final UserService userService;
+    private final NotificationClient notificationClient;
+    private final ScheduledJobMonitor scheduledJobMonitor;
+    private final Clock clock;
+    private final ExecutorService workers;
+    private final int workerCount;
+
+    @Value("${habit.reports.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${habit.reports.send-batch-size:100}")
+    private int sendBatchSize;
+
+    @Value("${habit.reports.streak-lookback-days:60}")
+    private int streakLookbackDays;
+
+    public WeeklyReportJob(HabitRepository habitRepository,
+                           HabitTrackingRepository habitTrackingRepository,
+                           JobCheckpointRepository checkpointRepository,
+                           UserService userService,
+                           NotificationClient notificationClient,
+                           ScheduledJobMonitor scheduledJobMonitor,
+                           Clock clock,
+                           @Value("${habit.reports.workers:4}") int workerCount) {
+        this.habitRepository = habitRepository;
+        this.habitTrackingRepository = habitTrackingRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.userService = userService;
+        this.notificationClient = notificationClient;
+        this.scheduledJobMonitor = scheduledJobMonitor;
+        this.clock = clock;
+        this.workers = Executors.newFixedThreadPool(workerCount);
+        this.workerCount = workerCount;
+    }
+
+    public record RunResult(int chunks, int usersScanned, int reportsSent, long elapsedMillis, long peakHeapBytes) {
+    }
+
+    record WeeklySummary(Long userId, int completed, int expected, String bestStreakHabit, int bestStreakDays,
+                         List<String> missedHabits) {
+    }
+
+    /**
+     * Runs daily so that a failed Monday run is resumed, a finished week is skipped
+     */
+    @Scheduled(cron = "0 0 7 * * *", zone = "Europe/Berlin")
+    public void sendWeeklyReports() {
+        LocalDate weekStart = LocalDate.now(clock).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+        try {
+            scheduledJobMonitor.itemsProcessed(runFor(weekStart).reportsSent());
+        } catch (ExternalServiceException e) {
+            System.err.println("[WeeklyReportJob] 🚨 Run interrupted, will resume from checkpoint: " + e.getMessage());
+        }
+    }
+
+    public RunResult runFor(LocalDate weekStart) {
+        LocalDate weekEnd = weekStart.plusDays(6);
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .filter(existing -> weekStart.equals(existing.getPeriodStart()))
+                .orElseGet(() -> JobCheckpoint.builder()
+                        .jobName(JOB_NAME)
+                        .periodStart(weekStart)
+                        .lastProcessedId(0L)
+                        .build());
+
+        if (checkpoint.isCompleted()) {
+            System.out.println("[WeeklyReportJob] ⏭️ Reports for week of " + weekStart + " already sent.");
+            return new RunResult(0, 0, 0, 0, 0);
+        }
+        if (checkpoint.getLastProcessedId() > 0) {
+            System.out.println("[WeeklyReportJob] ↩️ Resuming week of " + weekStart
+                    + " after user " + checkpoint.getLastProcessedId());
+        }
+
+        long startedAt = System.nanoTime();
+        long peakHeap = usedHeap();
+        int chunks = 0;
+        int usersScanned = 0;
+        int reportsSent = 0;
+
+        List<Long> userIds;
+        while (!(userIds = habitRepository.findUserIdsAfter(checkpoint.getLastProcessedId(), chunkSize)).isEmpty()) {
+            reportsSent += processChunk(userIds, weekStart, weekEnd, checkpoint);
+            chunks++;
+            usersScanned += userIds.size();
+            peakHeap = Math.max(peakHeap, usedHeap());
+
+            saveCheckpoint(checkpoint, userIds.get(userIds.size() - 1));
+            if (userIds.size() < chunkSize) {
+                break;
+            }
+        }
+
+        checkpoint.setCompleted(true);
+        saveCheckpoint(checkpoint, checkpoint.getLastProcessedId());
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        System.out.printf("[WeeklyReportJob] ✅ Week of %s: %d reports for %d users in %d chunks, %d ms"
+                        + " (%.0f users/s), peak heap %d MB%n",
+                weekStart, reportsSent, usersScanned, chunks, elapsedMillis,
+                usersScanned * 1000.0 / Math.max(elapsedMillis, 1), peakHeap / (1024 * 1024));
+        return new RunResult(chunks, usersScanned, reportsSent, elapsedMillis, peakHeap);
+    }
+
+    private int processChunk(List<Long> userIds, LocalDate weekStart, LocalDate weekEnd, JobCheckpoint checkpoint) {
+        Long fromUserId = userIds.get(0);
+        Long toUserId = userIds.get(userIds.size() - 1);
+
+        Map<Long, List<Habit>> habitsByUser = habitRepository.findByUserIdBetween(fromUserId, toUserId).stream()
+                .collect(Collectors.groupingBy(Habit::getUserId));
+        Map<Long, Set<LocalDate>> completedDays = new HashMap<>();
+        for (CompletedDayView day : habitTrackingRepository.findCompletedDaysByOwnerRange(
+                fromUserId, toUserId, weekEnd.minusDays(streakLookbackDays), weekEnd)) {
+            completedDays.computeIfAbsent(day.getHabitId(), id -> new HashSet<>()).add(day.getTrackDate());
+        }
+        Map<Long, UserDto> users = userService.getUsersByIds(userIds);
+
+        List<WeeklySummary> summaries = summarizeInParallel(userIds, habitsByUser, completedDays, weekStart, weekEnd);
+
+        int sent = 0;
+        List<DispatchNotificationRequest> batch = new ArrayList<>(sendBatchSize);
+        Long batchLastUserId = null;
+        for (WeeklySummary summary : summaries) {
+            UserDto user = users.get(summary.userId());
+            if (user == null || user.getUsername() == null) {
+                System.out.printf("[WeeklyReportJob] ⚠️ Skipping report - no valid user found for id %d%n",
+                        summary.userId());
+                continue;
+            }
+            batch.add(new DispatchNotificationRequest(user.getUsername(), "Your weekly habit report",
+                    formatMessage(summary, weekStart, weekEnd)));
+            batchLastUserId = summary.userId();
+
+            if (batch.size() == sendBatchSize) {
+                notificationClient.dispatchBatch(batch);
+                sent += batch.size();
+                saveCheckpoint(checkpoint, batchLastUserId);
+                batch = new ArrayList<>(sendBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            notificationClient.dispatchBatch(batch);
+            sent += batch.size();
+        }
+        return sent;
+    }
+
+    private List<WeeklySummary> summarizeInParallel(List<Long> userIds, Map<Long, List<Habit>> habitsByUser,
+                                                    Map<Long, Set<LocalDate>> completedDays,
+                                                    LocalDate weekStart, LocalDate weekEnd) {
+        int sliceSize = Math.max(1, (userIds.size() + workerCount - 1) / workerCount);
+        List<Future<List<WeeklySummary>>> slices = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += sliceSize) {
+            List<Long> slice = userIds.subList(from, Math.min(from + sliceSize, userIds.size()));
+            slices.add(workers.submit(() -> slice.stream()
+                    .map(userId -> summarize(userId, habitsByUser.getOrDefault(userId, List.of()),
+                            completedDays, weekStart, weekEnd))
+                    .filter(Objects::nonNull)
+                    .toList()));
+        }
+
+        List<WeeklySummary> summaries = new ArrayList<>(userIds.size());
+        try {
+            for (Future<List<WeeklySummary>> slice : slices) {
+                summaries.addAll(slice.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Weekly report run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to summarize weekly reports", e.getCause());
+        }
+        return summaries;
+    }
+
+    static WeeklySummary summarize(Long userId, List<Habit> habits, Map<Long, Set<LocalDate>> completedDays,
+                                   LocalDate weekStart, LocalDate weekEnd) {
+        int completed = 0;
+        int expected = 0;
+        String bestStreakHabit = null;
+        int bestStreakDays = 0;
+        List<String> missed = new ArrayList<>();
+
+        for (Habit habit : habits) {
+            if (habit.getStatus() == HabitStatus.ARCHIVED) continue;
+
+            LocalDate from = habit.getStartDate() != null && habit.getStartDate().isAfter(weekStart)
+                    ? habit.getStartDate() : weekStart;
+            LocalDate to = habit.getEndDate() != null && habit.getEndDate().isBefore(weekEnd)
+                    ? habit.getEndDate() : weekEnd;
+            if (from.isAfter(to)) continue;
+
+            Set<LocalDate> done = completedDays.getOrDefault(habit.getId(), Set.of());
+            long doneInWeek = done.stream().filter(day -> !day.isBefore(from) && !day.isAfter(to)).count();
+
+            if (habit.getFrequency() == Frequency.DAILY) {
+                expected += (int) ChronoUnit.DAYS.between(from, to) + 1;
+                completed += (int) doneInWeek;
+
+                int streak = 0;
+                for (LocalDate day = weekEnd; done.contains(day); day = day.minusDays(1)) {
+                    streak++;
+                }
+                if (streak > bestStreakDays) {
+                    bestStreakDays = streak;
+                    bestStreakHabit = habit.getTitle();
+                }
+            } else {
+                expected++;
+                completed += doneInWeek > 0 ? 1 : 0;
+            }
+
+            if (doneInWeek == 0) {
+                missed.add(habit.getTitle());
+            }
+        }
+
+        if (expected == 0) {
+            return null;
+        }
+        return new WeeklySummary(userId, completed, expected, bestStreakHabit, bestStreakDays, missed);
+    }
+
+    static String formatMessage(WeeklySummary summary, LocalDate weekStart, LocalDate weekEnd) {
+        StringBuilder message = new StringBuilder()
+                .append("Your week ").append(weekStart).append(" – ").append(weekEnd).append(": ")
+                .append(summary.completed()).append(" of ").append(summary.expected()).append(" check-ins done (")
+                .append(summary.completed() * 100 / summary.expected()).append("%).");
+        if (summary.bestStreakDays() > 0) {
+            message.append(" Current best streak: '").append(summary.bestStreakHabit()).append("' ")
+                    .append(summary.bestStreakDays()).append(" days 🔥.");
+        }
+        if (!summary.missedHabits().isEmpty()) {
+            message.append(" Missed this week: ").append(String.join(", ", summary.missedHabits())).append('.');
+        }
+        return message.toString();
+    }
+
+    private void saveCheckpoint(JobCheckpoint checkpoint, Long lastUserId) {
+        checkpoint.setLastProcessedId(lastUserId);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
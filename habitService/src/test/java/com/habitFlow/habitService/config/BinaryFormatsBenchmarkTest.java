@@ -0,0 +1,126 @@
+package com.habitFlow.habitService.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares payload size, server-side encode time and client-side parse time
+ * of JSON, CBOR and Smile for list sizes the mobile clients actually fetch.
+ * Uses the mappers the application serves responses with; results go to the test report.
+ * Timing-based, so it only runs with the benchmark task.
+ */
+@Tag("benchmark")
+@SpringBootTest(classes = {JacksonAutoConfiguration.class, BinaryFormatsConfig.class})
+class BinaryFormatsBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    private final Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+
+    @Autowired
+    BinaryFormatsBenchmarkTest(ObjectMapper objectMapper,
+                               MappingJackson2CborHttpMessageConverter cborConverter,
+                               MappingJackson2SmileHttpMessageConverter smileConverter) {
+        mappers.put("json", objectMapper);
+        mappers.put("cbor", cborConverter.getObjectMapper());
+        mappers.put("smile", smileConverter.getObjectMapper());
+    }
+
+    @Test
+    @DisplayName("📊 HabitDto list — 50 habits of one user")
+    void habitList(TestReporter reporter) throws Exception {
+        List<HabitDto> habits = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            habits.add(HabitDto.builder()
+                    .id(i)
+                    .userId(42L)
+                    .title("Habit number " + i)
+                    .description("Do the thing number " + i + " every single day, no excuses")
+                    .frequency(i % 3 == 0 ? Frequency.WEEKLY : Frequency.DAILY)
+                    .startDate(LocalDate.of(2026, 1, 1).plusDays(i))
+                    .endDate(LocalDate.of(2026, 12, 31))
+                    .status(HabitStatus.ACTIVE)
+                    .build());
+        }
+        assertTrue(new String(mappers.get("json").writeValueAsBytes(habits), StandardCharsets.UTF_8)
+                .contains("\"startDate\":\"2026-01-02\""), "dates should be written as in JSON responses");
+        compare(reporter, "50 habits", habits);
+    }
+
+    @Test
+    @DisplayName("📊 HabitTrackingDto list — one year and a batch of 30 habits x 30 days")
+    void trackingLists(TestReporter reporter) throws Exception {
+        compare(reporter, "365 trackings", trackings(365));
+        compare(reporter, "900 trackings", trackings(900));
+    }
+
+    private void compare(TestReporter reporter, String label, List<?> payload) throws Exception {
+        int jsonSize = 0;
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] bytes = mapper.writeValueAsBytes(payload);
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                mapper.readTree(mapper.writeValueAsBytes(payload));
+            }
+
+            long writeStart = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                mapper.writeValueAsBytes(payload);
+            }
+            long writeMicros = (System.nanoTime() - writeStart) / MEASURED_ROUNDS / 1_000;
+
+            long readStart = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                mapper.readTree(bytes);
+            }
+            long readMicros = (System.nanoTime() - readStart) / MEASURED_ROUNDS / 1_000;
+
+            if (entry.getKey().equals("json")) {
+                jsonSize = bytes.length;
+            } else {
+                assertTrue(bytes.length < jsonSize, entry.getKey() + " payload should be smaller than JSON");
+            }
+            assertEquals(payload.size(), mapper.readTree(bytes).size());
+
+            reporter.publishEntry(label + " " + entry.getKey(), String.format(
+                    "%d bytes (%d%% of json), write %d µs, read %d µs",
+                    bytes.length, bytes.length * 100 / jsonSize, writeMicros, readMicros));
+        }
+    }
+
+    private static List<HabitTrackingDto> trackings(int count) {
+        List<HabitTrackingDto> trackings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            trackings.add(HabitTrackingDto.builder()
+                    .id(10_000L + i)
+                    .trackDate(LocalDate.of(2025, 10, 1).plusDays(i % 365))
+                    .done(i % 5 != 0)
+                    .build());
+        }
+        return trackings;
+    }
+}
@@ -0,0 +1,120 @@
+package com.habitFlow.habitService.config;
+
+import com.habitFlow.habitService.dto.UserDto;
+import com.habitFlow.habitService.exception.custom.ExternalServiceException;
+import com.habitFlow.habitService.exception.custom.ResourceNotFoundException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveUserServiceTest {
+
+    private static final long TIMEOUT_MS = 300;
+
+    private final ServiceTokenProvider tokenProvider = Mockito.mock(ServiceTokenProvider.class);
+
+    private MockWebServer userServiceStub;
+    private ReactiveUserService reactiveUserService;
+
+    @BeforeEach
+    void setup() throws IOException {
+        userServiceStub = new MockWebServer();
+        userServiceStub.start();
+        Mockito.when(tokenProvider.getServiceToken()).thenReturn("service-token");
+
+        // stands in for the load balancer: USER-SERVICE resolves to the stub
+        WebClient.Builder builder = WebClient.builder().filter((request, next) -> next.exchange(
+                ClientRequest.from(request)
+                        .url(UriComponentsBuilder.fromUri(request.url())
+                                .host(userServiceStub.getHostName())
+                                .port(userServiceStub.getPort())
+                                .build(true)
+                                .toUri())
+                        .build()));
+        reactiveUserService = new ReactiveUserService(builder, tokenProvider, TIMEOUT_MS);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        userServiceStub.shutdown();
+    }
+
+    @Test
+    @DisplayName("✅ getUserByUsername — user is read from user-service with the service token")
+    void getUserByUsername_Success() throws InterruptedException {
+        userServiceStub.enqueue(new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"id\":7,\"username\":\"testUser1\"}"));
+
+        UserDto user = reactiveUserService.getUserByUsername("testUser1").block();
+
+        assertEquals(7L, user.getId());
+        assertEquals("testUser1", user.getUsername());
+        RecordedRequest request = userServiceStub.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("/auth/internal/username/testUser1", request.getPath());
+        assertEquals("Bearer service-token", request.getHeader(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    @DisplayName("❌ getUserByUsername — a 5xx from user-service becomes an ExternalServiceException (502)")
+    void getUserByUsername_ServerError() {
+        userServiceStub.enqueue(new MockResponse().setResponseCode(503));
+
+        ExternalServiceException e = assertThrows(ExternalServiceException.class,
+                () -> reactiveUserService.getUserByUsername("testUser1").block());
+
+        assertEquals("[UserService] Error: 503 SERVICE_UNAVAILABLE", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("❌ getUserByUsername — user-service answering too late becomes an ExternalServiceException")
+    void getUserByUsername_Timeout() {
+        userServiceStub.enqueue(new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"id\":7,\"username\":\"testUser1\"}")
+                .setHeadersDelay(TIMEOUT_MS * 5, TimeUnit.MILLISECONDS));
+
+        ExternalServiceException e = assertThrows(ExternalServiceException.class,
+                () -> reactiveUserService.getUserByUsername("testUser1").block());
+
+        assertEquals("[UserService] Internal error", e.getMessage());
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("❌ getUserByUsername — an empty answer means the user doesn't exist")
+    void getUserByUsername_EmptyBody() {
+        userServiceStub.enqueue(new MockResponse().setResponseCode(200));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> reactiveUserService.getUserByUsername("testUser1").block());
+    }
+
+    @Test
+    @DisplayName("❌ getUserByUsername — no service token, no request")
+    void getUserByUsername_MissingToken() {
+        Mockito.when(tokenProvider.getServiceToken()).thenReturn(" ");
+
+        ExternalServiceException e = assertThrows(ExternalServiceException.class,
+                () -> reactiveUserService.getUserByUsername("testUser1").block());
+
+        assertEquals("[UserService] Service token is null or empty!", e.getMessage());
+        assertEquals(0, userServiceStub.getRequestCount());
+    }
+}
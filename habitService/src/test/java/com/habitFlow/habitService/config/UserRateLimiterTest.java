@@ -0,0 +1,57 @@
+package com.habitFlow.habitService.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(SECOND);
+
+    @Test
+    @DisplayName("✅ tryAcquire — burst is allowed, next request waits one emission interval")
+    void tryAcquire_BurstThenLimited() {
+        UserRateLimiter limiter = new UserRateLimiter(10, 5, Duration.ofMinutes(1), clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("testUser1"));
+        }
+
+        assertEquals(SECOND / 10, limiter.tryAcquire("testUser1"));
+        assertEquals(0, limiter.tryAcquire("testUser2"));
+    }
+
+    @Test
+    @DisplayName("✅ tryAcquire — tokens refill with time")
+    void tryAcquire_Refills() {
+        UserRateLimiter limiter = new UserRateLimiter(10, 2, Duration.ofMinutes(1), clock::get);
+
+        limiter.tryAcquire("testUser1");
+        limiter.tryAcquire("testUser1");
+        assertTrue(limiter.tryAcquire("testUser1") > 0);
+
+        clock.addAndGet(SECOND / 10);
+        assertEquals(0, limiter.tryAcquire("testUser1"));
+    }
+
+    @Test
+    @DisplayName("✅ evictIdleBuckets — drops only buckets idle longer than the eviction window")
+    void evictIdleBuckets_RemovesIdle() {
+        UserRateLimiter limiter = new UserRateLimiter(10, 5, Duration.ofSeconds(30), clock::get);
+
+        limiter.tryAcquire("idleUser");
+        clock.addAndGet(31 * SECOND);
+        limiter.tryAcquire("activeUser");
+
+        limiter.evictIdleBuckets();
+
+        assertEquals(1, limiter.bucketCount());
+    }
+}
@@ -3,18 +3,44 @@ package com.habitFlow.habitService.controller;
 import com.habitFlow.habitService.config.JwtUtil;
 import com.habitFlow.habitService.config.NotificationClient;
 import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.HabitBatchUpdateDto;
 import com.habitFlow.habitService.dto.HabitCreateDto;
 import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.dto.HabitTrackingDto;
 import com.habitFlow.habitService.dto.HabitUpdateDto;
 import com.habitFlow.habitService.dto.UserDto;
 import com.habitFlow.habitService.exception.custom.ExternalServiceException;
 import com.habitFlow.habitService.exception.custom.ForbiddenException;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.HabitTrackingArchive;
+import com.habitFlow.habitService.model.TrackingEvent;
+import com.habitFlow.habitService.model.TrackingRollup;
+import com.habitFlow.habitService.model.HabitChange;
+import com.habitFlow.habitService.model.enums.ChangeType;
 import com.habitFlow.habitService.model.enums.Frequency;
 import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.model.enums.RollupPeriod;
+import com.habitFlow.habitService.model.enums.TrackingEventType;
+import com.habitFlow.habitService.repository.HabitChangeRepository;
 import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingArchiveRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.repository.TrackingEventRepository;
+import com.habitFlow.habitService.repository.TrackingRollupRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.habitFlow.habitService.service.CompletionRankings;
+import com.habitFlow.habitService.service.HabitCache;
+import com.habitFlow.habitService.service.HabitChangeLog;
 import com.habitFlow.habitService.service.HabitFacade;
 import com.habitFlow.habitService.service.HabitService;
+import com.habitFlow.habitService.service.PendingTodayIndex;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,18 +51,27 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+// changes are read back right after they are written, so the sync head doesn't wait for them to settle
+@SpringBootTest(properties = "habit.sync.settle-ms=0")
 @AutoConfigureMockMvc
 @Transactional
 @ActiveProfiles("test")
@@ -59,6 +94,39 @@ class HabitControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private HabitCache habitCache;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @Autowired
+    private CompletionRankings completionRankings;
+
+    @Autowired
+    private HabitTrackingArchiveRepository habitTrackingArchiveRepository;
+
+    @Autowired
+    private TrackingRollupRepository trackingRollupRepository;
+
+    @Autowired
+    private TrackingEventRepository trackingEventRepository;
+
+    @Autowired
+    private HabitChangeRepository habitChangeRepository;
+
+    @Autowired
+    private HabitChangeLog habitChangeLog;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private PendingTodayIndex pendingTodayIndex;
+
     @MockBean
     private NotificationClient notificationClient;
 
@@ -89,6 +157,7 @@ class HabitControllerIntegrationTest {
         token2 = jwtUtil.generateAccessToken("testUser2");
 
         habitRepository.deleteAll();
+        habitCache.clear();
 
         Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
         Mockito.when(userService.getUserByUsername("testUser2")).thenReturn(testUser2);
@@ -103,8 +172,8 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Morning Run");
         dto.setDescription("Run 3 km every morning");
         dto.setFrequency(Frequency.DAILY);
-        dto.setStartDate(LocalDate.now());
-        dto.setEndDate(LocalDate.now().plusDays(30));
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setEndDate(LocalDate.now(clock).plusDays(30));
         dto.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
@@ -148,7 +217,7 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Meditation");
         dto.setDescription("10 minutes of meditation");
         dto.setFrequency(Frequency.DAILY);
-        dto.setEndDate(LocalDate.now().plusDays(10));
+        dto.setEndDate(LocalDate.now(clock).plusDays(10));
 
         mockMvc.perform(post("/habit")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -165,8 +234,8 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Reading");
         dto.setDescription("Read for 30 minutes");
         dto.setFrequency(Frequency.DAILY);
-        dto.setStartDate(LocalDate.now());
-        dto.setEndDate(LocalDate.now().plusDays(15));
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setEndDate(LocalDate.now(clock).plusDays(15));
         dto.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1"))
@@ -187,8 +256,8 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Yoga");
         dto.setDescription("Stretch every morning");
         dto.setFrequency(Frequency.DAILY);
-        dto.setStartDate(LocalDate.now());
-        dto.setEndDate(LocalDate.now().plusDays(20));
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setEndDate(LocalDate.now(clock).plusDays(20));
         dto.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1"))
@@ -209,8 +278,8 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Test Habit");
         dto.setDescription("Description");
         dto.setFrequency(Frequency.DAILY);
-        dto.setStartDate(LocalDate.now());
-        dto.setEndDate(LocalDate.now().plusDays(5));
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setEndDate(LocalDate.now(clock).plusDays(5));
         dto.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
@@ -234,8 +303,8 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Habit from user");
         dto.setDescription("Test description");
         dto.setFrequency(Frequency.DAILY);
-        dto.setStartDate(LocalDate.now());
-        dto.setEndDate(LocalDate.now().plusDays(5));
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setEndDate(LocalDate.now(clock).plusDays(5));
         dto.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1"))
@@ -258,16 +327,16 @@ class HabitControllerIntegrationTest {
         dto1.setTitle("Morning Run");
         dto1.setDescription("Run 3 km every morning");
         dto1.setFrequency(Frequency.DAILY);
-        dto1.setStartDate(LocalDate.now());
-        dto1.setEndDate(LocalDate.now().plusDays(7));
+        dto1.setStartDate(LocalDate.now(clock));
+        dto1.setEndDate(LocalDate.now(clock).plusDays(7));
         dto1.setStatus(HabitStatus.ACTIVE);
 
         HabitCreateDto dto2 = new HabitCreateDto();
         dto2.setTitle("Read Book");
         dto2.setDescription("Read 10 pages before bed");
         dto2.setFrequency(Frequency.DAILY);
-        dto2.setStartDate(LocalDate.now());
-        dto2.setEndDate(LocalDate.now().plusDays(10));
+        dto2.setStartDate(LocalDate.now(clock));
+        dto2.setEndDate(LocalDate.now(clock).plusDays(10));
         dto2.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
@@ -292,6 +361,132 @@ class HabitControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test
+    @DisplayName("✅ getMyHabits — 200 OK: repeated reads come from the cache until a habit is created")
+    void getMyHabits_CachedUntilWrite() throws Exception {
+        habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Morning Run")
+                .status(HabitStatus.ACTIVE)
+                .build());
+
+        Statistics statistics = resetStatistics();
+        mockMvc.perform(get("/habit/me")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics = resetStatistics();
+        mockMvc.perform(get("/habit/me")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        HabitCreateDto dto = new HabitCreateDto();
+        dto.setTitle("Read Book");
+        dto.setFrequency(Frequency.DAILY);
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setStatus(HabitStatus.ACTIVE);
+        mockMvc.perform(post("/habit")
+                        .header("Authorization", "Bearer " + token1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/habit/me")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("✅ getMyHabits — 200 OK: ?fields selects and returns only the listed fields")
+    void getMyHabits_SparseFields() throws Exception {
+        habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Morning Run")
+                .description("Run 3 km every morning")
+                .frequency(Frequency.DAILY)
+                .startDate(LocalDate.now(clock))
+                .status(HabitStatus.ACTIVE)
+                .build());
+
+        Statistics statistics = resetStatistics();
+        mockMvc.perform(get("/habit/me")
+                        .param("fields", "id,title,status")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].title").value("Morning Run"))
+                .andExpect(jsonPath("$[0].status").value("ACTIVE"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].startDate").doesNotExist());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // a full list already in the cache is trimmed instead of queried
+        mockMvc.perform(get("/habit/me")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk());
+        statistics = resetStatistics();
+        mockMvc.perform(get("/habit/me")
+                        .param("fields", "title,startDate")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Morning Run"))
+                .andExpect(jsonPath("$[0].startDate").value(LocalDate.now(clock).toString()))
+                .andExpect(jsonPath("$[0].id").doesNotExist());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("❌ getMyHabits — 400 BAD REQUEST: unknown field in ?fields")
+    void getMyHabits_UnknownField() throws Exception {
+        mockMvc.perform(get("/habit/me")
+                        .param("fields", "id,createdAt")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(userService, Mockito.never()).getUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("✅ getMyHabits — 200 OK: CBOR and Smile are served on request, JSON stays the default")
+    void getMyHabits_BinaryFormats() throws Exception {
+        Habit habit = new Habit();
+        habit.setUserId(testUser1.getId());
+        habit.setTitle("Binary Habit");
+        habit.setStartDate(LocalDate.of(2026, 1, 5));
+        habitRepository.save(habit);
+
+        MediaType smile = new MediaType("application", "x-jackson-smile");
+
+        byte[] cborBody = mockMvc.perform(get("/habit/me")
+                        .header("Authorization", "Bearer " + token1)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode cborHabits = new CBORMapper().readTree(cborBody);
+        assertEquals("Binary Habit", cborHabits.get(0).get("title").asText());
+        assertEquals("2026-01-05", cborHabits.get(0).get("startDate").asText());
+
+        byte[] smileBody = mockMvc.perform(get("/habit/me")
+                        .header("Authorization", "Bearer " + token1)
+                        .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Binary Habit", new SmileMapper().readTree(smileBody).get(0).get("title").asText());
+
+        mockMvc.perform(get("/habit/me")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     @DisplayName("❌ getMyHabits — 401 UNAUTHORIZED: no token provided")
     void getMyHabits_Unauthorized() throws Exception {
@@ -324,6 +519,255 @@ class HabitControllerIntegrationTest {
                 .andExpect(jsonPath("$.error").value("[UserService] User Service unavailable"));
     }
 
+    // ================= SEARCH MY HABITS (GET habit/me/search) =================
+
+    @Test
+    @DisplayName("✅ searchMyHabits — 200 OK: prefix terms match title and description of own habits only")
+    void searchMyHabits_Success() throws Exception {
+        HabitCreateDto own = new HabitCreateDto();
+        own.setTitle("Zumbathon practice");
+        own.setDescription("Dance cardio in the living room");
+        own.setFrequency(Frequency.DAILY);
+        own.setStartDate(LocalDate.now(clock));
+        own.setStatus(HabitStatus.ACTIVE);
+
+        HabitCreateDto other = new HabitCreateDto();
+        other.setTitle("Zumbathon marathon");
+        other.setDescription("Dance cardio at the gym");
+        other.setFrequency(Frequency.DAILY);
+        other.setStartDate(LocalDate.now(clock));
+        other.setStatus(HabitStatus.ACTIVE);
+
+        mockMvc.perform(post("/habit")
+                        .header("Authorization", "Bearer " + token1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(own)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/habit")
+                        .header("Authorization", "Bearer " + token2)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(other)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/habit/me/search")
+                        .param("q", "zumba LIVING")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Zumbathon practice"));
+
+        mockMvc.perform(get("/habit/me/search")
+                        .param("q", "zumbathon gym")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("❌ searchMyHabits — 401 UNAUTHORIZED: no token provided")
+    void searchMyHabits_Unauthorized() throws Exception {
+        mockMvc.perform(get("/habit/me/search").param("q", "run"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error")
+                    .value("Full authentication is required to access this resource"));
+    }
+
+    // ================= TODAY DASHBOARD (GET habit/me/today) =================
+
+    @Test
+    @DisplayName("✅ getMyToday — 200 OK: status, streak and due flag from two queries and one user lookup")
+    void getMyToday_Dashboard() throws Exception {
+        LocalDate today = LocalDate.now(clock);
+        Habit run = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Run")
+                .frequency(Frequency.DAILY).status(HabitStatus.ACTIVE).startDate(today.minusDays(30)).build());
+        Habit review = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Review")
+                .frequency(Frequency.WEEKLY).status(HabitStatus.ACTIVE).startDate(today.minusDays(30)).build());
+
+        for (int daysAgo = 1; daysAgo <= 3; daysAgo++) {
+            habitTrackingRepository.save(HabitTracking.builder()
+                    .habit(run).trackDate(today.minusDays(daysAgo)).done(true).build());
+        }
+        HabitTracking reviewedToday = habitTrackingRepository.save(HabitTracking.builder()
+                .habit(review).trackDate(today).done(true).build());
+
+        Statistics statistics = resetStatistics();
+        mockMvc.perform(get("/habit/me/today")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].habit.title").value("Run"))
+                .andExpect(jsonPath("$[0].todayStatus").value("UNTRACKED"))
+                .andExpect(jsonPath("$[0].currentStreak").value(3))
+                .andExpect(jsonPath("$[0].due").value(true))
+                .andExpect(jsonPath("$[1].habit.title").value("Review"))
+                .andExpect(jsonPath("$[1].todayStatus").value("DONE"))
+                .andExpect(jsonPath("$[1].todayTrackingId").value(reviewedToday.getId()))
+                .andExpect(jsonPath("$[1].due").value(false));
+
+        // one habits query, one trackings query
+        assertEquals(2, statistics.getPrepareStatementCount());
+        Mockito.verify(userService, Mockito.times(1)).getUserByUsername("testUser1");
+    }
+
+    @Test
+    @DisplayName("✅ getMyToday — 200 OK: a yearly streak is still current while this year is open")
+    void getMyToday_YearlyStreakFromPreviousYear() throws Exception {
+        LocalDate today = LocalDate.now(clock);
+        Habit checkup = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Checkup")
+                .frequency(Frequency.YEARLY).status(HabitStatus.ACTIVE).startDate(today.minusYears(3)).build());
+        habitTrackingRepository.save(HabitTracking.builder()
+                .habit(checkup).trackDate(today.minusYears(1).withDayOfYear(1)).done(true).build());
+
+        mockMvc.perform(get("/habit/me/today")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].habit.title").value("Checkup"))
+                .andExpect(jsonPath("$[0].currentStreak").value(1))
+                .andExpect(jsonPath("$[0].due").value(true));
+    }
+
+    // ================= STREAM MY EVENTS (GET habit/me/events) =================
+
+    @Test
+    @DisplayName("✅ streamMyEvents — 200 OK: habit changes are pushed to the user's open stream")
+    void streamMyEvents_ReceivesHabitCreated() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/habit/me/events")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        HabitCreateDto dto = new HabitCreateDto();
+        dto.setTitle("Streamed habit");
+        dto.setFrequency(Frequency.DAILY);
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setStatus(HabitStatus.ACTIVE);
+        habitService.createHabit(dto, testUser1.getId(), "testUser1");
+
+        String body = stream.getResponse().getContentAsString();
+        for (int i = 0; i < 50 && !body.contains("Streamed habit"); i++) {
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+
+        assertTrue(body.contains("event:HABIT_CREATED"));
+        assertTrue(body.contains("Streamed habit"));
+    }
+
+    @Test
+    @DisplayName("❌ streamMyEvents — 401 UNAUTHORIZED: no token provided")
+    void streamMyEvents_Unauthorized() throws Exception {
+        mockMvc.perform(get("/habit/me/events"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("✅ syncMyHabits — 200 OK: full state first, then only changes and tombstones")
+    void syncMyHabits_FullThenDelta() throws Exception {
+        HabitCreateDto first = new HabitCreateDto();
+        first.setTitle("Synced Habit");
+        first.setFrequency(Frequency.DAILY);
+        first.setStartDate(LocalDate.now(clock));
+        first.setStatus(HabitStatus.ACTIVE);
+        HabitDto kept = habitService.createHabit(first, testUser1.getId(), "testUser1");
+        HabitTracking keptTracking = habitTrackingRepository.save(HabitTracking.builder()
+                .habit(habitRepository.findById(kept.getId()).orElseThrow())
+                .trackDate(LocalDate.now(clock))
+                .done(true)
+                .build());
+
+        MvcResult full = mockMvc.perform(get("/habit/me/sync")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullResync").value(true))
+                .andExpect(jsonPath("$.habits[0].title").value("Synced Habit"))
+                .andReturn();
+        long token = objectMapper.readTree(full.getResponse().getContentAsString()).get("nextToken").asLong();
+
+        HabitCreateDto second = new HabitCreateDto();
+        second.setTitle("Created Offline");
+        second.setFrequency(Frequency.DAILY);
+        second.setStartDate(LocalDate.now(clock));
+        second.setStatus(HabitStatus.ACTIVE);
+        habitService.createHabit(second, testUser1.getId(), "testUser1");
+        habitService.deleteHabit(kept.getId(), testUser1.getId());
+
+        mockMvc.perform(get("/habit/me/sync")
+                        .param("since", String.valueOf(token))
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullResync").value(false))
+                .andExpect(jsonPath("$.habits.length()").value(1))
+                .andExpect(jsonPath("$.habits[0].title").value("Created Offline"))
+                .andExpect(jsonPath("$.deletedHabitIds[0]").value(kept.getId()))
+                .andExpect(jsonPath("$.deletedTrackingIds[0]").value(keptTracking.getId()));
+
+        mockMvc.perform(get("/habit/me/sync")
+                        .param("since", String.valueOf(token + 1_000_000))
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullResync").value(true));
+    }
+
+    @Test
+    @DisplayName("✅ syncMyHabits — 200 OK: a changed tracking already moved to the archive is still sent")
+    void syncMyHabits_ArchivedTrackingUpsert() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Drink water")
+                .status(HabitStatus.ACTIVE)
+                .build());
+        long token = habitChangeLog.settledHead();
+        HabitTrackingArchive archived = habitTrackingArchiveRepository.save(HabitTrackingArchive.builder()
+                .id(Long.MAX_VALUE - 1)
+                .habitId(habit.getId())
+                .trackDate(LocalDate.of(2020, 1, 1))
+                .done(true)
+                .build());
+        habitChangeLog.trackingChanged(testUser1.getId(), archived.getId(), habit.getId());
+
+        mockMvc.perform(get("/habit/me/sync")
+                        .param("since", String.valueOf(token))
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullResync").value(false))
+                .andExpect(jsonPath("$.trackings['" + habit.getId() + "'][0].id").value(archived.getId()))
+                .andExpect(jsonPath("$.trackings['" + habit.getId() + "'][0].trackDate").value("2020-01-01"));
+    }
+
+    @Test
+    @DisplayName("✅ syncMyHabits — 200 OK: a token behind the compacted changes gets a full resync")
+    void syncMyHabits_TokenBehindCompaction() throws Exception {
+        HabitChange old = habitChangeRepository.save(HabitChange.builder()
+                .userId(testUser1.getId())
+                .changeType(ChangeType.HABIT_DELETE)
+                .entityId(Long.MAX_VALUE - 1)
+                .habitId(Long.MAX_VALUE - 1)
+                .changedAt(LocalDateTime.now().minusDays(40))
+                .build());
+
+        habitChangeLog.compact();
+
+        assertEquals(old.getId(), habitChangeLog.compactedUpTo());
+        mockMvc.perform(get("/habit/me/sync")
+                        .param("since", String.valueOf(old.getId() - 1))
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullResync").value(true));
+        mockMvc.perform(get("/habit/me/sync")
+                        .param("since", String.valueOf(old.getId()))
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullResync").value(false));
+    }
+
+    @Test
+    @DisplayName("❌ syncMyHabits — 401 UNAUTHORIZED: no token provided")
+    void syncMyHabits_Unauthorized() throws Exception {
+        mockMvc.perform(get("/habit/me/sync"))
+                .andExpect(status().isUnauthorized());
+    }
+
     // ================= GET HABIT BY ID (GET habit/id) =================
 
     @Test
@@ -333,8 +777,8 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Morning Run");
         dto.setDescription("Run 3 km every morning");
         dto.setFrequency(Frequency.DAILY);
-        dto.setStartDate(LocalDate.now());
-        dto.setEndDate(LocalDate.now().plusDays(7));
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setEndDate(LocalDate.now(clock).plusDays(7));
         dto.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
@@ -356,6 +800,79 @@ class HabitControllerIntegrationTest {
                 .andExpect(jsonPath("$.description").value("Run 3 km every morning"));
     }
 
+    @Test
+    @DisplayName("✅ getHabit — 200 OK: cached after the first read, evicted by an update")
+    void getHabitById_CachedUntilUpdate() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Evening Walk")
+                .status(HabitStatus.ACTIVE)
+                .build());
+
+        mockMvc.perform(get("/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk());
+
+        Statistics statistics = resetStatistics();
+        mockMvc.perform(get("/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Evening Walk"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token2))
+                .andExpect(status().isForbidden());
+
+        HabitUpdateDto updateDto = new HabitUpdateDto();
+        updateDto.setTitle("Night Walk");
+        mockMvc.perform(put("/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Night Walk"));
+    }
+
+    @Test
+    @DisplayName("✅ getHabit — changing a returned habit doesn't change the cached one")
+    void getHabitById_CachedCopies() {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Evening Walk")
+                .status(HabitStatus.ACTIVE)
+                .build());
+
+        HabitDto first = habitService.getHabitById(habit.getId(), testUser1.getId());
+        first.setTitle("Changed by a caller");
+        habitService.getHabitsByUserId(testUser1.getId()).get(0).setTitle("Changed by a caller");
+
+        assertEquals("Evening Walk", habitService.getHabitById(habit.getId(), testUser1.getId()).getTitle());
+        assertEquals("Evening Walk", habitService.getHabitsByUserId(testUser1.getId()).get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("✅ getHabit — 200 OK: ownership-checked lookup runs a single query")
+    void getHabitById_SingleQuery() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Evening Walk")
+                .status(HabitStatus.ACTIVE)
+                .build());
+        Statistics statistics = resetStatistics();
+
+        mockMvc.perform(get("/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Evening Walk"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
     @Test
     @DisplayName("❌ getHabit — 400 BAD REQUEST: invalid habit ID format")
     void getHabitById_InvalidId() throws Exception {
@@ -384,8 +901,8 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Other User Habit");
         dto.setDescription("Habit of testUser2");
         dto.setFrequency(Frequency.DAILY);
-        dto.setStartDate(LocalDate.now());
-        dto.setEndDate(LocalDate.now().plusDays(5));
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setEndDate(LocalDate.now(clock).plusDays(5));
         dto.setStatus(HabitStatus.ACTIVE);
 
         String token2 = jwtUtil.generateAccessToken("testUser2");
@@ -441,8 +958,8 @@ class HabitControllerIntegrationTest {
         createDto.setTitle("Morning Run");
         createDto.setDescription("Run 3 km every morning");
         createDto.setFrequency(Frequency.DAILY);
-        createDto.setStartDate(LocalDate.now());
-        createDto.setEndDate(LocalDate.now().plusDays(7));
+        createDto.setStartDate(LocalDate.now(clock));
+        createDto.setEndDate(LocalDate.now(clock).plusDays(7));
         createDto.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
@@ -507,8 +1024,8 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Foreign Habit");
         dto.setDescription("Belongs to user2");
         dto.setFrequency(Frequency.DAILY);
-        dto.setStartDate(LocalDate.now());
-        dto.setEndDate(LocalDate.now().plusDays(7));
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setEndDate(LocalDate.now(clock).plusDays(7));
         dto.setStatus(HabitStatus.ACTIVE);
 
         String token2 = jwtUtil.generateAccessToken("testUser2");
@@ -559,8 +1076,8 @@ class HabitControllerIntegrationTest {
         createDto.setTitle("Morning Run");
         createDto.setDescription("Run 3 km every morning");
         createDto.setFrequency(Frequency.DAILY);
-        createDto.setStartDate(LocalDate.now());
-        createDto.setEndDate(LocalDate.now().plusDays(7));
+        createDto.setStartDate(LocalDate.now(clock));
+        createDto.setEndDate(LocalDate.now(clock).plusDays(7));
         createDto.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
@@ -620,8 +1137,8 @@ class HabitControllerIntegrationTest {
         createDto.setTitle("Habit to delete");
         createDto.setDescription("Will be deleted soon");
         createDto.setFrequency(Frequency.DAILY);
-        createDto.setStartDate(LocalDate.now());
-        createDto.setEndDate(LocalDate.now().plusDays(5));
+        createDto.setStartDate(LocalDate.now(clock));
+        createDto.setEndDate(LocalDate.now(clock).plusDays(5));
         createDto.setStatus(HabitStatus.ACTIVE);
 
         Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
@@ -640,6 +1157,124 @@ class HabitControllerIntegrationTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("✅ deleteHabit — 204 NO CONTENT: one ownership check, then one DELETE per table")
+    void deleteHabit_StatementCount() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Habit to delete")
+                .status(HabitStatus.ACTIVE)
+                .build());
+        Statistics statistics = resetStatistics();
+
+        mockMvc.perform(delete("/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isNoContent());
+
+        // the ownership check, the INSERT ... SELECT of the tracking tombstones, DELETEs of the trackings,
+        // archived trackings, rollups, snapshot and events, the DELETE of the habit, plus the INSERT of
+        // the habit tombstone
+        assertEquals(9, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("✅ deleteHabit — 204 NO CONTENT: a habit with trackings is deleted together with them")
+    void deleteHabit_WithTrackings() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Habit to delete")
+                .status(HabitStatus.ACTIVE)
+                .build());
+        habitTrackingRepository.save(HabitTracking.builder()
+                .habit(habit)
+                .trackDate(LocalDate.now(clock).minusDays(1))
+                .done(true)
+                .build());
+        habitTrackingRepository.save(HabitTracking.builder()
+                .habit(habit)
+                .trackDate(LocalDate.now(clock))
+                .done(false)
+                .build());
+        entityManager.flush();
+
+        mockMvc.perform(delete("/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isNoContent());
+
+        assertTrue(habitRepository.findById(habit.getId()).isEmpty());
+        assertTrue(habitTrackingRepository.findByHabitId(habit.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ deleteHabit — 204 NO CONTENT: archived trackings, rollups and tracking events go with the habit")
+    void deleteHabit_RemovesTrackingHistory() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Drink water")
+                .status(HabitStatus.ACTIVE)
+                .build());
+        habitTrackingArchiveRepository.save(HabitTrackingArchive.builder()
+                .id(Long.MAX_VALUE - 1)
+                .habitId(habit.getId())
+                .trackDate(LocalDate.of(2020, 1, 1))
+                .done(true)
+                .amount(2.0)
+                .unit("l")
+                .build());
+        trackingRollupRepository.save(TrackingRollup.builder()
+                .habit(habit)
+                .period(RollupPeriod.DAILY)
+                .periodStart(LocalDate.of(2020, 1, 1))
+                .unit("l")
+                .total(2.0)
+                .minValue(2.0)
+                .maxValue(2.0)
+                .sampleCount(1)
+                .build());
+        trackingEventRepository.save(TrackingEvent.builder()
+                .habitId(habit.getId())
+                .eventType(TrackingEventType.RECORDED)
+                .trackingId(Long.MAX_VALUE - 1)
+                .trackDate(LocalDate.of(2020, 1, 1))
+                .done(true)
+                .build());
+
+        mockMvc.perform(delete("/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isNoContent());
+
+        assertTrue(habitRepository.findById(habit.getId()).isEmpty());
+        assertTrue(habitTrackingArchiveRepository.findByHabitIdOrderByTrackDateAsc(habit.getId()).isEmpty());
+        assertTrue(trackingRollupRepository.findByHabitAndPeriodBetween(habit.getId(), RollupPeriod.DAILY,
+                LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 1)).isEmpty());
+        assertTrue(trackingEventRepository.findByHabitIdAfter(habit.getId(), 0L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ deleteHabit — in-memory views keep the habit when the delete rolls back")
+    void deleteHabit_RolledBackKeepsInMemoryViews() {
+        HabitCreateDto dto = new HabitCreateDto();
+        dto.setTitle("Rolled back delete");
+        dto.setFrequency(Frequency.DAILY);
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setStatus(HabitStatus.ACTIVE);
+        HabitDto habit = habitService.createHabit(dto, testUser1.getId(), "testUser1");
+
+        habitService.deleteHabit(habit.getId(), testUser1.getId());
+        assertTrue(isPending(habit.getId()));
+
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        assertTrue(isPending(habit.getId()));
+        // the habit was created in the rolled-back transaction too
+        pendingTodayIndex.habitRemoved(habit.getId());
+    }
+
+    private boolean isPending(Long habitId) {
+        return pendingTodayIndex.pendingHabits().stream().anyMatch(due -> due.habitId().equals(habitId));
+    }
+
     @Test
     @DisplayName("❌ deleteHabit — 400 BAD REQUEST: invalid habit ID format")
     void deleteHabit_InvalidId() throws Exception {
@@ -667,8 +1302,8 @@ class HabitControllerIntegrationTest {
         dto.setTitle("Foreign Habit");
         dto.setDescription("Belongs to testUser2");
         dto.setFrequency(Frequency.DAILY);
-        dto.setStartDate(LocalDate.now());
-        dto.setEndDate(LocalDate.now().plusDays(7));
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setEndDate(LocalDate.now(clock).plusDays(7));
         dto.setStatus(HabitStatus.ACTIVE);
 
         String token2 = jwtUtil.generateAccessToken("testUser2");
@@ -713,4 +1348,193 @@ class HabitControllerIntegrationTest {
                 .andExpect(status().isBadGateway())
                 .andExpect(jsonPath("$.error").value("[UserService] User Service unavailable"));
     }
+
+    @Test
+    @DisplayName("✅ updateHabits — 200 OK: habits archived with one bulk update and one notification")
+    void updateHabits_Success() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(habitRepository.save(Habit.builder()
+                    .userId(testUser1.getId())
+                    .title("Habit " + i)
+                    .status(HabitStatus.ACTIVE)
+                    .build()).getId());
+        }
+        Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
+        Statistics statistics = resetStatistics();
+
+        HabitBatchUpdateDto dto = HabitBatchUpdateDto.builder()
+                .ids(ids)
+                .changes(HabitUpdateDto.builder().status(HabitStatus.ARCHIVED).build())
+                .build();
+
+        mockMvc.perform(patch("/habit/batch")
+                        .header("Authorization", "Bearer " + token1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("ARCHIVED"))
+                .andExpect(jsonPath("$[0].title").value("Habit 0"));
+
+        // ownership check, bulk UPDATE, reload, and the INSERT ... SELECT of the sync changes
+        assertEquals(4, statistics.getPrepareStatementCount());
+        Mockito.verify(notificationClient, Mockito.times(1))
+                .dispatchNotification(eq("testUser1"), eq("Habits Updated"), contains("3 of your habits"));
+        for (Long id : ids) {
+            assertEquals(HabitStatus.ARCHIVED, habitRepository.findById(id).orElseThrow().getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("❌ updateHabits — 403 FORBIDDEN: one of the habits belongs to another user, nothing changes")
+    void updateHabits_Forbidden() throws Exception {
+        Habit own = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Own habit")
+                .status(HabitStatus.ACTIVE)
+                .build());
+        Habit foreign = habitRepository.save(Habit.builder()
+                .userId(testUser2.getId())
+                .title("Foreign habit")
+                .status(HabitStatus.ACTIVE)
+                .build());
+        Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
+
+        HabitBatchUpdateDto dto = HabitBatchUpdateDto.builder()
+                .ids(List.of(own.getId(), foreign.getId()))
+                .changes(HabitUpdateDto.builder().title("Renamed").build())
+                .build();
+
+        mockMvc.perform(patch("/habit/batch")
+                        .header("Authorization", "Bearer " + token1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("You don’t have access to habits: [" + foreign.getId() + "]"));
+
+        assertEquals("Own habit", habitRepository.findById(own.getId()).orElseThrow().getTitle());
+        Mockito.verify(notificationClient, Mockito.never()).dispatchNotification(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("❌ updateHabits — 400 BAD REQUEST: no field to change")
+    void updateHabits_NoChanges() throws Exception {
+        Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(testUser1);
+
+        HabitBatchUpdateDto dto = HabitBatchUpdateDto.builder()
+                .ids(List.of(1L, 2L))
+                .changes(new HabitUpdateDto())
+                .build();
+
+        mockMvc.perform(patch("/habit/batch")
+                        .header("Authorization", "Bearer " + token1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("At least one field to change is required"));
+    }
+
+    // ================= RANKING (GET /habit/{id}/ranking) =================
+
+    @Test
+    @DisplayName("✅ getRanking — 200 OK: ranked against all daily habits while few share the title")
+    void getRanking_Success() throws Exception {
+        Habit mine = rankedHabit(testUser1, "Drink water", 5, 5);
+        rankedHabit(testUser2, "Read", 3, 5);
+        rankedHabit(testUser2, "Stretch", 1, 5);
+        rankedHabit(testUser2, "Meditate", 1, 1);
+        entityManager.flush();
+        completionRankings.rebuild();
+
+        // 2 of 3 ranked habits below, the habit itself counts half
+        mockMvc.perform(get("/habit/" + mine.getId() + "/ranking")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category").value("*"))
+                .andExpect(jsonPath("$.frequency").value("DAILY"))
+                .andExpect(jsonPath("$.trackings").value(5))
+                .andExpect(jsonPath("$.completionRate").value(1.0))
+                .andExpect(jsonPath("$.population").value(3))
+                .andExpect(jsonPath("$.percentile").value(250.0 / 3))
+                .andExpect(jsonPath("$.topPercent").value(17));
+    }
+
+    @Test
+    @DisplayName("✅ getRanking — 200 OK: new trackings move habits in the ranking without a rebuild")
+    void getRanking_UpdatedByTrackingWrites() throws Exception {
+        Habit mine = rankedHabit(testUser1, "Drink water", 5, 5);
+        Habit newcomer = rankedHabit(testUser1, "Meditate", 0, 1);
+        rankedHabit(testUser2, "Read", 3, 5);
+        entityManager.flush();
+        completionRankings.rebuild();
+
+        mockMvc.perform(get("/habit/" + newcomer.getId() + "/ranking")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.population").value(2))
+                .andExpect(jsonPath("$.percentile").doesNotExist())
+                .andExpect(jsonPath("$.topPercent").doesNotExist());
+
+        for (int day = 1; day <= 4; day++) {
+            mockMvc.perform(post("/tracking/habit/" + newcomer.getId())
+                            .header("Authorization", "Bearer " + token1)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(HabitTrackingDto.builder()
+                                    .trackDate(LocalDate.of(2025, 10, day))
+                                    .done(true)
+                                    .build())))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/habit/" + mine.getId() + "/ranking")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.population").value(3))
+                .andExpect(jsonPath("$.percentile").value(250.0 / 3));
+        mockMvc.perform(get("/habit/" + newcomer.getId() + "/ranking")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trackings").value(5))
+                .andExpect(jsonPath("$.completionRate").value(0.8))
+                .andExpect(jsonPath("$.percentile").value(50.0))
+                .andExpect(jsonPath("$.topPercent").value(50));
+    }
+
+    @Test
+    @DisplayName("❌ getRanking — 403 FORBIDDEN: habit belongs to another user")
+    void getRanking_Forbidden() throws Exception {
+        Habit foreign = rankedHabit(testUser2, "Read", 3, 5);
+
+        mockMvc.perform(get("/habit/" + foreign.getId() + "/ranking")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isForbidden());
+    }
+
+    private Habit rankedHabit(UserDto owner, String title, int completed, int trackings) {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(owner.getId())
+                .title(title)
+                .frequency(Frequency.DAILY)
+                .status(HabitStatus.ACTIVE)
+                .build());
+        for (int i = 0; i < trackings; i++) {
+            habitTrackingRepository.save(HabitTracking.builder()
+                    .habit(habit)
+                    .trackDate(LocalDate.of(2025, 9, 1).plusDays(i))
+                    .done(i < completed)
+                    .build());
+        }
+        return habit;
+    }
+
+    private Statistics resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
 }
\ No newline at end of file
@@ -4,15 +4,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.habitFlow.habitService.config.JwtUtil;
 import com.habitFlow.habitService.config.NotificationClient;
 import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.HabitCreateDto;
+import com.habitFlow.habitService.dto.HabitDto;
 import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.dto.HabitUpdateDto;
 import com.habitFlow.habitService.dto.UserDto;
 import com.habitFlow.habitService.exception.custom.ExternalServiceException;
 import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.HabitTrackingArchive;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.model.enums.HabitStatus;
 import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingArchiveRepository;
 import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.service.CompletionCounters;
 import com.habitFlow.habitService.service.HabitFacade;
 import com.habitFlow.habitService.service.HabitService;
 import com.habitFlow.habitService.service.HabitTrackingService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,8 +40,13 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Clock;
 import java.time.LocalDate;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -49,6 +66,9 @@ public class HabitTrackingControllerIntegrationTest {
     @Autowired
     private HabitTrackingRepository habitTrackingRepository;
 
+    @Autowired
+    private HabitTrackingArchiveRepository habitTrackingArchiveRepository;
+
     @Autowired
     private HabitService habitService;
 
@@ -64,6 +84,15 @@ public class HabitTrackingControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CompletionCounters completionCounters;
+
+    @Autowired
+    private Clock clock;
+
     @MockBean
     private NotificationClient notificationClient;
 
@@ -127,6 +156,31 @@ public class HabitTrackingControllerIntegrationTest {
                 .dispatchNotification(Mockito.eq("testUser1"), Mockito.anyString(), Mockito.anyString());
     }
 
+    @Test
+    @DisplayName("✅ createTracking — 200 OK: habit ownership is checked by the same query that loads it")
+    void createTracking_OwnershipCheckedInOneQuery() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Stretching")
+                .build());
+        Statistics statistics = resetStatistics();
+
+        HabitTrackingDto dto = HabitTrackingDto.builder()
+                .trackDate(LocalDate.now(clock))
+                .done(true)
+                .build();
+
+        mockMvc.perform(post("/tracking/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        // one owner-scoped SELECT of the habit, one INSERT of the tracking, one INSERT of the tracking event,
+        // one INSERT of the sync change
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
     @Test
     @DisplayName("❌ createTracking — 400 BAD REQUEST: invalid date format")
     void createTracking_InvalidDateFormat() throws Exception {
@@ -263,6 +317,32 @@ public class HabitTrackingControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].trackDate").value("2025-10-21"));
     }
 
+    @Test
+    @DisplayName("✅ getTrackingsByHabit — 200 OK: only trackings within 'from'..'to' are returned")
+    void getTrackingsByHabit_DateRange() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Plank").build());
+        for (int daysAgo = 0; daysAgo < 40; daysAgo++) {
+            habitTrackingRepository.save(HabitTracking.builder()
+                    .habit(habit)
+                    .trackDate(LocalDate.now(clock).minusDays(daysAgo))
+                    .done(true)
+                    .build());
+        }
+        Statistics statistics = resetStatistics();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/tracking/habit/" + habit.getId())
+                        .param("from", LocalDate.now(clock).minusDays(29).toString())
+                        .param("to", LocalDate.now(clock).toString())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(30))
+                .andExpect(jsonPath("$[0].trackDate").value(LocalDate.now(clock).minusDays(29).toString()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(30, statistics.getEntityLoadCount());
+    }
+
     @Test
     @DisplayName("❌ getTrackingsByHabit — 401 UNAUTHORIZED: no token provided")
     void getTrackingsByHabit_Unauthorized() throws Exception {
@@ -308,6 +388,152 @@ public class HabitTrackingControllerIntegrationTest {
                         " Expected type: Long"));
     }
 
+    // ================= GET TRACKINGS FOR SEVERAL HABITS (GET /tracking/batch) =================
+
+    @Test
+    @DisplayName("✅ getTrackingsForHabits — 200 OK: trackings in range grouped by habit")
+    void getTrackingsForHabits_Success() throws Exception {
+        Habit run = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Run").build());
+        Habit read = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Read").build());
+        habitTrackingRepository.save(HabitTracking.builder()
+                .habit(run).trackDate(LocalDate.now(clock).minusDays(1)).done(true).build());
+        habitTrackingRepository.save(HabitTracking.builder()
+                .habit(run).trackDate(LocalDate.now(clock).minusDays(60)).done(true).build());
+        Statistics statistics = resetStatistics();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/tracking/batch")
+                        .param("habitIds", run.getId() + "," + read.getId())
+                        .param("from", LocalDate.now(clock).minusDays(7).toString())
+                        .param("to", LocalDate.now(clock).toString())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + run.getId() + "'].length()").value(1))
+                .andExpect(jsonPath("$['" + run.getId() + "'][0].trackDate")
+                        .value(LocalDate.now(clock).minusDays(1).toString()))
+                .andExpect(jsonPath("$['" + read.getId() + "'].length()").value(0));
+
+        // one ownership query for all ids, one IN-list query for the trackings
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("❌ getTrackingsForHabits — 403 FORBIDDEN: one of the habits belongs to another user")
+    void getTrackingsForHabits_Forbidden() throws Exception {
+        Habit own = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Own").build());
+        Habit foreign = habitRepository.save(Habit.builder().userId(testUser2.getId()).title("Foreign").build());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/tracking/batch")
+                        .param("habitIds", own.getId() + "," + foreign.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("You cannot view trackings of habits: ["
+                        + foreign.getId() + "]"));
+    }
+
+    @Test
+    @DisplayName("❌ getTrackingsForHabits — 400 BAD REQUEST: 'from' after 'to'")
+    void getTrackingsForHabits_InvalidRange() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/tracking/batch")
+                        .param("habitIds", "1")
+                        .param("from", "2025-10-31")
+                        .param("to", "2025-10-01")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("'from' must not be after 'to'"));
+    }
+
+    // ================= COMPLETION COUNTERS (GET /habit/stats/completions) =================
+
+    @Test
+    @DisplayName("✅ getCompletionStats — 200 OK: counters follow created and deleted completions")
+    void getCompletionStats_FollowsTrackingWrites() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Counter Test Habit").build());
+
+        HabitTrackingDto created = habitTrackingService.createTracking("testUser1", habit.getId(),
+                HabitTrackingDto.builder().trackDate(LocalDate.now(clock)).done(true).build());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/habit/stats/completions")
+                        .param("title", "counter test habit")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.habitCompletions").value(1))
+                .andExpect(jsonPath("$.date").value(LocalDate.now(clock).toString()));
+
+        habitTrackingService.deleteTracking("testUser1", created.getId());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/habit/stats/completions")
+                        .param("title", "Counter Test Habit")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.habitCompletions").value(0));
+    }
+
+    @Test
+    @DisplayName("✅ getCompletionStats — flushed counts add up, a rename moves them to the new title")
+    void getCompletionStats_FlushAndRename() {
+        LocalDate today = LocalDate.now(clock);
+        Habit habit = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Rename Counter A").build());
+        HabitTrackingDto created = habitTrackingService.createTracking("testUser1", habit.getId(),
+                HabitTrackingDto.builder().trackDate(today).done(true).build());
+        long total = completionCounters.totalCompletions(today);
+
+        completionCounters.flush();
+        assertEquals(1, completionCounters.completionsOf("Rename Counter A", today));
+        assertEquals(total, completionCounters.totalCompletions(today));
+
+        habitService.updateHabit(habit.getId(), HabitUpdateDto.builder().title("Rename Counter B").build(),
+                testUser1.getId(), "testUser1");
+        assertEquals(0, completionCounters.completionsOf("Rename Counter A", today));
+        assertEquals(1, completionCounters.completionsOf("Rename Counter B", today));
+
+        habitTrackingService.deleteTracking("testUser1", created.getId());
+        completionCounters.flush();
+        assertEquals(0, completionCounters.completionsOf("Rename Counter A", today));
+        assertEquals(0, completionCounters.completionsOf("Rename Counter B", today));
+        assertEquals(total - 1, completionCounters.totalCompletions(today));
+    }
+
+    @Test
+    @DisplayName("✅ getMyPendingHabits — 200 OK: served from memory and follows today's completions")
+    void getMyPendingHabits_FollowsTrackingWrites() throws Exception {
+        HabitCreateDto dto = new HabitCreateDto();
+        dto.setTitle("Pending Test Habit");
+        dto.setFrequency(Frequency.DAILY);
+        dto.setStartDate(LocalDate.now(clock));
+        dto.setStatus(HabitStatus.ACTIVE);
+        HabitDto habit = habitService.createHabit(dto, testUser1.getId(), "testUser1");
+
+        Statistics statistics = resetStatistics();
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/habit/me/pending")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(habit.getId().intValue())));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        HabitTrackingDto created = habitTrackingService.createTracking("testUser1", habit.getId(),
+                HabitTrackingDto.builder().trackDate(LocalDate.now(clock)).done(true).build());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/habit/me/pending")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(habit.getId().intValue()))));
+
+        habitTrackingService.deleteTracking("testUser1", created.getId());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/habit/me/pending")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(habit.getId().intValue())));
+    }
+
     // ================= GET TRACKING BY DATE (GET /tracking/habit/{habitId}/date/{date}) =================
 
     @Test
@@ -345,6 +571,29 @@ public class HabitTrackingControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].done").value(true));
     }
 
+    @Test
+    @DisplayName("✅ getTrackingByDate — 200 OK: owner-scoped read runs a single query")
+    void getTrackingByDate_SingleQuery() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Journal")
+                .build());
+        habitTrackingRepository.save(HabitTracking.builder()
+                .habit(habit)
+                .trackDate(LocalDate.now(clock))
+                .done(true)
+                .build());
+        Statistics statistics = resetStatistics();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/tracking/habit/" + habit.getId() + "/date/" + LocalDate.now(clock))
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
     @Test
     @DisplayName("❌ getTrackingByDate — 400 BAD REQUEST: invalid date format")
     void getTrackingByDate_InvalidDateFormat() throws Exception {
@@ -393,6 +642,57 @@ public class HabitTrackingControllerIntegrationTest {
                 .andExpect(jsonPath("$.error").value("Habit not found with id: 9999"));
     }
 
+    // ================= SET TRACKING STATE (PUT/DELETE /tracking/habit/{habitId}/date/{date}) =================
+
+    @Test
+    @DisplayName("✅ setTrackingState — 204 No Content: replaces the day's tracking, clearing removes it")
+    void setTrackingState_Success() throws Exception {
+        Habit habit = new Habit();
+        habit.setUserId(testUser1.getId());
+        habit.setTitle("Morning Routine");
+        habit = habitRepository.save(habit);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put("/tracking/habit/" + habit.getId() + "/date/2025-10-21")
+                        .param("done", "true")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put("/tracking/habit/" + habit.getId() + "/date/2025-10-21")
+                        .param("done", "false")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/tracking/habit/" + habit.getId() + "/date/2025-10-21")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].done").value(false));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .delete("/tracking/habit/" + habit.getId() + "/date/2025-10-21")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isNoContent());
+
+        assertEquals(0, habitTrackingRepository.count());
+    }
+
+    @Test
+    @DisplayName("❌ setTrackingState — 403 Forbidden: habit of another user")
+    void setTrackingState_Forbidden() throws Exception {
+        Habit habit = new Habit();
+        habit.setUserId(testUser2.getId());
+        habit.setTitle("Evening Walk");
+        habit = habitRepository.save(habit);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put("/tracking/habit/" + habit.getId() + "/date/2025-10-21")
+                        .param("done", "true")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isForbidden());
+    }
+
     // ================= DELETE TRACKING RECORD(DELTE /tracking/{id}) =================
 
     @Test
@@ -407,7 +707,7 @@ public class HabitTrackingControllerIntegrationTest {
                 "testUser1",
                 habit.getId(),
                 HabitTrackingDto.builder()
-                        .trackDate(LocalDate.now())
+                        .trackDate(LocalDate.now(clock))
                         .done(true)
                         .build()
         );
@@ -418,6 +718,76 @@ public class HabitTrackingControllerIntegrationTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("✅ deleteTracking — 204 NO CONTENT: owner check without loading the habit, then one delete")
+    void deleteTracking_SingleStatement() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Cold Shower")
+                .build());
+        HabitTracking tracking = habitTrackingRepository.save(HabitTracking.builder()
+                .habit(habit)
+                .trackDate(LocalDate.now(clock))
+                .done(true)
+                .build());
+        Statistics statistics = resetStatistics();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .delete("/tracking/" + tracking.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isNoContent());
+
+        // one scalar owner/state lookup (the state feeds the completion counters), one DELETE,
+        // one INSERT of the tracking event, one INSERT of the sync tombstone
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertTrue(habitTrackingRepository.findById(tracking.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ deleteTracking — 204 NO CONTENT: archived trackings are deleted from the archive")
+    void deleteTracking_Archived() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser1.getId())
+                .title("Cold Shower")
+                .build());
+        HabitTrackingArchive archived = habitTrackingArchiveRepository.save(HabitTrackingArchive.builder()
+                .id(Long.MAX_VALUE - 1)
+                .habitId(habit.getId())
+                .trackDate(LocalDate.of(2020, 1, 1))
+                .done(true)
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .delete("/tracking/" + archived.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isNoContent());
+
+        assertTrue(habitTrackingArchiveRepository.findById(archived.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("❌ deleteTracking — 403 FORBIDDEN: archived tracking of another user")
+    void deleteTracking_ArchivedForbidden() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder()
+                .userId(testUser2.getId())
+                .title("Cold Shower")
+                .build());
+        HabitTrackingArchive archived = habitTrackingArchiveRepository.save(HabitTrackingArchive.builder()
+                .id(Long.MAX_VALUE - 1)
+                .habitId(habit.getId())
+                .trackDate(LocalDate.of(2020, 1, 1))
+                .done(true)
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .delete("/tracking/" + archived.getId())
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("You cannot delete this tracking"));
+
+        assertTrue(habitTrackingArchiveRepository.findById(archived.getId()).isPresent());
+    }
+
     @Test
     @DisplayName("❌ deleteTracking — 400 BAD REQUEST: invalid tracking ID parameter (non-numeric)")
     void deleteTracking_InvalidId() throws Exception {
@@ -450,7 +820,7 @@ public class HabitTrackingControllerIntegrationTest {
                 "testUser2",
                 habit.getId(),
                 HabitTrackingDto.builder()
-                        .trackDate(LocalDate.now())
+                        .trackDate(LocalDate.now(clock))
                         .done(false)
                         .build()
         );
@@ -471,4 +841,142 @@ public class HabitTrackingControllerIntegrationTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.error").value("HabitTracking not found with id: 9999"));
     }
+
+    // ================= TRACKING VALUE ROLLUPS (GET /tracking/habit/{id}/rollups) =================
+
+    @Test
+    @DisplayName("✅ getRollups — 200 OK: values are summed per day, week and month on write")
+    void getRollups_AggregatesValues() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Drink water").build());
+        trackValue(habit.getId(), LocalDate.of(2025, 9, 30), 2.0);
+        trackValue(habit.getId(), LocalDate.of(2025, 10, 1), 1.5);
+        trackValue(habit.getId(), LocalDate.of(2025, 10, 1), 0.5);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tracking/habit/" + habit.getId() + "/rollups")
+                        .param("from", "2025-09-30")
+                        .param("to", "2025-10-01")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].periodStart").value("2025-10-01"))
+                .andExpect(jsonPath("$[1].total").value(2.0))
+                .andExpect(jsonPath("$[1].count").value(2));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tracking/habit/" + habit.getId() + "/rollups")
+                        .param("period", "WEEKLY")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-05")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].periodStart").value("2025-09-29"))
+                .andExpect(jsonPath("$[0].unit").value("l"))
+                .andExpect(jsonPath("$[0].total").value(4.0))
+                .andExpect(jsonPath("$[0].min").value(0.5))
+                .andExpect(jsonPath("$[0].max").value(2.0))
+                .andExpect(jsonPath("$[0].count").value(3));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tracking/habit/" + habit.getId() + "/rollups")
+                        .param("period", "MONTHLY")
+                        .param("from", "2025-09-01")
+                        .param("to", "2025-10-31")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].total").value(2.0))
+                .andExpect(jsonPath("$[1].total").value(2.0));
+    }
+
+    @Test
+    @DisplayName("✅ getRollups — 200 OK: deleting the minimum rebuilds the affected periods")
+    void getRollups_RebuiltAfterDelete() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Drink water").build());
+        trackValue(habit.getId(), LocalDate.of(2025, 10, 1), 1.5);
+        Long smallest = trackValue(habit.getId(), LocalDate.of(2025, 10, 2), 0.5);
+        trackValue(habit.getId(), LocalDate.of(2025, 10, 2), 2.0);
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/tracking/" + smallest)
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tracking/habit/" + habit.getId() + "/rollups")
+                        .param("period", "WEEKLY")
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-05")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].total").value(3.5))
+                .andExpect(jsonPath("$[0].min").value(1.5))
+                .andExpect(jsonPath("$[0].max").value(2.0))
+                .andExpect(jsonPath("$[0].count").value(2));
+    }
+
+    @Test
+    @DisplayName("❌ getRollups — 403 FORBIDDEN: habit belongs to another user")
+    void getRollups_Forbidden() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder().userId(testUser2.getId()).title("Drink water").build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/tracking/habit/" + habit.getId() + "/rollups")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("You cannot view trackings of this habit"));
+    }
+
+    @Test
+    @DisplayName("❌ createTracking — 400 BAD REQUEST: unit without a value")
+    void createTracking_UnitWithoutValue() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Drink water").build());
+
+        HabitTrackingDto dto = HabitTrackingDto.builder()
+                .trackDate(LocalDate.of(2025, 10, 1))
+                .unit("l")
+                .build();
+
+        mockMvc.perform(post("/tracking/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("A unit requires a value"));
+    }
+
+    @Test
+    @DisplayName("❌ createTracking — 400 BAD REQUEST: value in another unit than the habit's values")
+    void createTracking_UnitMismatch() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder().userId(testUser1.getId()).title("Drink water").build());
+        trackValue(habit.getId(), LocalDate.of(2025, 10, 1), 1.5);
+
+        HabitTrackingDto dto = HabitTrackingDto.builder()
+                .trackDate(LocalDate.of(2025, 10, 1))
+                .done(true)
+                .value(500.0)
+                .unit("ml")
+                .build();
+
+        mockMvc.perform(post("/tracking/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Values of this habit are tracked in 'l'"));
+    }
+
+    private Long trackValue(Long habitId, LocalDate date, double value) {
+        return habitTrackingService.createTracking("testUser1", habitId, HabitTrackingDto.builder()
+                .trackDate(date)
+                .done(true)
+                .value(value)
+                .unit("l")
+                .build()).getId();
+    }
+
+    private Statistics resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
 }
@@ -0,0 +1,158 @@
+package com.habitFlow.habitService.controller;
+
+import com.habitFlow.habitService.config.JwtUtil;
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.model.TrackingEvent;
+import com.habitFlow.habitService.model.enums.TrackingEventType;
+import com.habitFlow.habitService.repository.TrackingEventRepository;
+import com.habitFlow.habitService.service.HabitCache;
+import com.habitFlow.habitService.service.ScheduledJobMonitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class InternalControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ScheduledJobMonitor scheduledJobMonitor;
+
+    @Autowired
+    private HabitCache habitCache;
+
+    @Autowired
+    private TrackingEventRepository trackingEventRepository;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    // ================= JOB METRICS (GET /internal/jobs) =================
+
+    @Test
+    @DisplayName("✅ getJobMetrics — 200 OK: service token sees per-job metrics")
+    void getJobMetrics_Success() throws Exception {
+        scheduledJobMonitor.run("TestJob.run", 0, () -> scheduledJobMonitor.itemsProcessed(7));
+
+        mockMvc.perform(get("/internal/jobs")
+                        .header("Authorization", "Bearer " + jwtUtil.generateServiceToken("habit-service")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("TestJob.run")))
+                .andExpect(jsonPath("$[?(@.name == 'TestJob.run')].lastItemsProcessed", hasItem(7)));
+    }
+
+    @Test
+    @DisplayName("❌ getJobMetrics — 403 FORBIDDEN: user token lacks ROLE_SERVICE")
+    void getJobMetrics_ForbiddenForUsers() throws Exception {
+        mockMvc.perform(get("/internal/jobs")
+                        .header("Authorization", "Bearer " + jwtUtil.generateAccessToken("testUser1")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("❌ getJobMetrics — 401 UNAUTHORIZED: no token provided")
+    void getJobMetrics_Unauthorized() throws Exception {
+        mockMvc.perform(get("/internal/jobs"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // ================= CACHE METRICS (GET /internal/caches) =================
+
+    @Test
+    @DisplayName("✅ getCacheMetrics — 200 OK: hits and misses of the habit caches")
+    void getCacheMetrics_Success() throws Exception {
+        habitCache.clear();
+        habitCache.habit(-1L, () -> HabitDto.builder().id(-1L).build());
+        habitCache.habit(-1L, () -> HabitDto.builder().id(-1L).build());
+
+        mockMvc.perform(get("/internal/caches")
+                        .header("Authorization", "Bearer " + jwtUtil.generateServiceToken("habit-service")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem(HabitCache.HABITS)))
+                .andExpect(jsonPath("$[?(@.name == 'habits')].size", hasItem(1)))
+                .andExpect(jsonPath("$[?(@.name == 'habits')].maxSize", hasItem(10000)));
+    }
+
+    @Test
+    @DisplayName("❌ getCacheMetrics — 403 FORBIDDEN: user token lacks ROLE_SERVICE")
+    void getCacheMetrics_ForbiddenForUsers() throws Exception {
+        mockMvc.perform(get("/internal/caches")
+                        .header("Authorization", "Bearer " + jwtUtil.generateAccessToken("testUser1")))
+                .andExpect(status().isForbidden());
+    }
+
+    // ================= TRACKING HISTORY (GET /internal/tracking-events/habits/{id}) =================
+
+    @Test
+    @DisplayName("✅ replayTrackingHistory — 200 OK: state is rebuilt from the tracking events")
+    void replayTrackingHistory_Success() throws Exception {
+        long habitId = 424242L;
+        for (long trackingId = 1; trackingId <= 3; trackingId++) {
+            trackingEventRepository.save(TrackingEvent.builder()
+                    .habitId(habitId)
+                    .eventType(TrackingEventType.RECORDED)
+                    .trackingId(trackingId)
+                    .trackDate(LocalDate.of(2025, 10, 1).plusDays(trackingId))
+                    .done(true)
+                    .amount(1.5)
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+        }
+        trackingEventRepository.save(TrackingEvent.builder()
+                .habitId(habitId)
+                .eventType(TrackingEventType.REMOVED)
+                .trackingId(2L)
+                .trackDate(LocalDate.of(2025, 10, 3))
+                .done(true)
+                .amount(1.5)
+                .occurredAt(LocalDateTime.now())
+                .build());
+
+        mockMvc.perform(get("/internal/tracking-events/habits/" + habitId)
+                        .header("Authorization", "Bearer " + jwtUtil.generateServiceToken("habit-service")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.replayedEvents").value(4))
+                .andExpect(jsonPath("$.trackings").value(2))
+                .andExpect(jsonPath("$.longestStreak").value(1))
+                .andExpect(jsonPath("$.valueTotal").value(3.0));
+    }
+
+    @Test
+    @DisplayName("❌ replayTrackingHistory — 403 FORBIDDEN: user token lacks ROLE_SERVICE")
+    void replayTrackingHistory_ForbiddenForUsers() throws Exception {
+        mockMvc.perform(get("/internal/tracking-events/habits/1")
+                        .header("Authorization", "Bearer " + jwtUtil.generateAccessToken("testUser1")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,173 @@
+package com.habitFlow.habitService.controller;
+
+import com.habitFlow.habitService.config.JwtUtil;
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.ReactiveUserService;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.UserDto;
+import com.habitFlow.habitService.exception.custom.ExternalServiceException;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.service.HabitCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// not transactional: the reads run on bounded-elastic threads and must see committed rows
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReactiveReadControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @Autowired
+    private HabitCache habitCache;
+
+    @MockBean
+    private ReactiveUserService reactiveUserService;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    private String token1;
+    private String token2;
+
+    @BeforeEach
+    void setup() {
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+        habitCache.clear();
+
+        token1 = jwtUtil.generateAccessToken("testUser1");
+        token2 = jwtUtil.generateAccessToken("testUser2");
+        Mockito.when(reactiveUserService.getUserByUsername("testUser1")).thenReturn(Mono.just(user(1L, "testUser1")));
+        Mockito.when(reactiveUserService.getUserByUsername("testUser2")).thenReturn(Mono.just(user(2L, "testUser2")));
+    }
+
+    @AfterEach
+    void cleanup() {
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("✅ getMyHabits — 200 OK: served asynchronously")
+    void getMyHabits_Success() throws Exception {
+        habitRepository.save(Habit.builder().userId(1L).title("Morning Run").status(HabitStatus.ACTIVE).build());
+
+        MvcResult result = mockMvc.perform(get("/reactive/habit/me")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Morning Run"));
+        Mockito.verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("❌ getHabit — 403 FORBIDDEN: errors of the async result go through the exception handler")
+    void getHabit_Forbidden() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder().userId(1L).title("Morning Run")
+                .status(HabitStatus.ACTIVE).build());
+
+        MvcResult result = mockMvc.perform(get("/reactive/habit/" + habit.getId())
+                        .header("Authorization", "Bearer " + token2))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("✅ getTrackingsByHabit — 200 OK: range read")
+    void getTrackingsInRange_Success() throws Exception {
+        Habit habit = habitRepository.save(Habit.builder().userId(1L).title("Morning Run")
+                .status(HabitStatus.ACTIVE).build());
+        habitTrackingRepository.save(HabitTracking.builder().habit(habit)
+                .trackDate(LocalDate.of(2025, 10, 21)).done(true).build());
+        habitTrackingRepository.save(HabitTracking.builder().habit(habit)
+                .trackDate(LocalDate.of(2025, 9, 1)).done(true).build());
+
+        MvcResult result = mockMvc.perform(get("/reactive/tracking/habit/" + habit.getId())
+                        .param("from", "2025-10-01")
+                        .param("to", "2025-10-31")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].trackDate").value("2025-10-21"));
+    }
+
+    @Test
+    @DisplayName("❌ getMyHabits — 502 BAD GATEWAY: user-service unavailable")
+    void getMyHabits_UserServiceUnavailable() throws Exception {
+        Mockito.when(reactiveUserService.getUserByUsername("testUser1"))
+                .thenReturn(Mono.error(new ExternalServiceException("User Service unavailable")));
+
+        MvcResult result = mockMvc.perform(get("/reactive/habit/me")
+                        .header("Authorization", "Bearer " + token1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadGateway());
+    }
+
+    @Test
+    @DisplayName("❌ getMyHabits — 401 UNAUTHORIZED: no token provided")
+    void getMyHabits_Unauthorized() throws Exception {
+        mockMvc.perform(get("/reactive/habit/me"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static UserDto user(Long id, String username) {
+        UserDto user = new UserDto();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
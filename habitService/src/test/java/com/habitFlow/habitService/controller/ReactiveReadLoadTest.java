@@ -0,0 +1,163 @@
+package com.habitFlow.habitService.controller;
+
+import com.habitFlow.habitService.config.JwtUtil;
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.ReactiveUserService;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.UserDto;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.service.HabitCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the same burst against GET /habit/me and GET /reactive/habit/me on a Tomcat with 8 request
+ * threads while user-service answers after 100 ms. The blocking path can only have 8 user lookups
+ * in flight, the reactive path releases the request thread for the duration of the lookup.
+ * Timing-based, so it only runs with the benchmark task.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=8",
+        "server.tomcat.threads.min-spare=8",
+        "habit.rate-limit.requests-per-second=100000",
+        "habit.rate-limit.burst=100000"
+})
+@ActiveProfiles("test")
+public class ReactiveReadLoadTest {
+
+    private static final int TOMCAT_THREADS = 8;
+    private static final int CONCURRENT_REQUESTS = 64;
+    private static final Duration USER_SERVICE_LATENCY = Duration.ofMillis(100);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @Autowired
+    private HabitCache habitCache;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private ReactiveUserService reactiveUserService;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    private String token;
+
+    @BeforeEach
+    void setup() {
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+        habitCache.clear();
+        for (int i = 0; i < 3; i++) {
+            habitRepository.save(Habit.builder().userId(1L).title("Habit " + i).status(HabitStatus.ACTIVE).build());
+        }
+
+        UserDto user = new UserDto();
+        user.setId(1L);
+        user.setUsername("loadUser");
+        Mockito.when(userService.getUserByUsername("loadUser")).thenAnswer(invocation -> {
+            Thread.sleep(USER_SERVICE_LATENCY.toMillis());
+            return user;
+        });
+        Mockito.when(reactiveUserService.getUserByUsername("loadUser"))
+                .thenAnswer(invocation -> Mono.delay(USER_SERVICE_LATENCY).thenReturn(user));
+
+        token = jwtUtil.generateAccessToken("loadUser");
+    }
+
+    @AfterEach
+    void cleanup() {
+        clients.shutdownNow();
+        habitRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("📊 reactive read path — more requests in flight than request threads")
+    void reactivePath_OutperformsBlockingAtSameThreadCount() throws Exception {
+        burst("/habit/me");
+        burst("/reactive/habit/me");
+
+        long blockingMillis = burst("/habit/me");
+        long reactiveMillis = burst("/reactive/habit/me");
+
+        System.out.printf("[ReactiveReadLoadTest] %d requests, %d Tomcat threads, %d ms user-service latency:"
+                        + " blocking %d ms (%.0f req/s), reactive %d ms (%.0f req/s)%n",
+                CONCURRENT_REQUESTS, TOMCAT_THREADS, USER_SERVICE_LATENCY.toMillis(),
+                blockingMillis, CONCURRENT_REQUESTS * 1000.0 / blockingMillis,
+                reactiveMillis, CONCURRENT_REQUESTS * 1000.0 / reactiveMillis);
+
+        // the blocking path needs CONCURRENT_REQUESTS / TOMCAT_THREADS rounds of the user lookup
+        assertTrue(blockingMillis >= USER_SERVICE_LATENCY.toMillis() * CONCURRENT_REQUESTS / TOMCAT_THREADS);
+        assertTrue(reactiveMillis * 2 < blockingMillis,
+                "reactive " + reactiveMillis + " ms vs blocking " + blockingMillis + " ms");
+    }
+
+    private long burst(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Integer>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, clients));
+        }
+        for (CompletableFuture<Integer> response : responses) {
+            assertEquals(200, response.get());
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,52 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.HabitRankingDto;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionRankingsTest {
+
+    private final HabitTrackingRepository habitTrackingRepository = Mockito.mock(HabitTrackingRepository.class);
+    private final CompletionRankings rankings =
+            new CompletionRankings(habitTrackingRepository, new ScheduledJobMonitor());
+
+    @Test
+    @DisplayName("✅ rebuild — trackings recorded while the database is read are kept")
+    void rebuild_ReplaysChangesDuringQuery() {
+        Mockito.when(habitTrackingRepository.countTrackingsPerHabit()).thenAnswer(invocation -> {
+            rankings.trackingRecorded(2L, "Reading", Frequency.DAILY, true);
+            return List.<Object[]>of(new Object[]{1L, "Running", "DAILY", 4L, 3L});
+        });
+
+        rankings.rebuild();
+
+        HabitRankingDto running = rankings.rankingOf(1L, "Running", Frequency.DAILY);
+        assertEquals(4, running.getTrackings());
+        assertEquals(0.75, running.getCompletionRate());
+
+        HabitRankingDto reading = rankings.rankingOf(2L, "Reading", Frequency.DAILY);
+        assertEquals(1, reading.getTrackings());
+        assertEquals(1.0, reading.getCompletionRate());
+    }
+
+    @Test
+    @DisplayName("✅ rebuild — changes after the rebuild are no longer recorded for replay")
+    void rebuild_StopsRecordingChanges() {
+        Mockito.when(habitTrackingRepository.countTrackingsPerHabit()).thenReturn(List.of());
+
+        rankings.rebuild();
+        rankings.trackingRecorded(1L, "Running", Frequency.DAILY, false);
+        rankings.rebuild();
+
+        HabitRankingDto running = rankings.rankingOf(1L, "Running", Frequency.DAILY);
+        assertEquals(0, running.getTrackings());
+        assertNull(running.getCompletionRate());
+    }
+}
@@ -0,0 +1,155 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.AnalyticsResultDto;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.HabitTrackingArchive;
+import com.habitFlow.habitService.model.enums.AnalyticsDimension;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.repository.HabitAnalyticsResultRepository;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingArchiveRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// not @Transactional: the ranges are read by the job's own threads, which only see committed rows
+@SpringBootTest(properties = {
+        "habit.analytics.range-size=3",
+        "habit.analytics.min-title-habits=2"
+})
+@ActiveProfiles("test")
+public class HabitAnalyticsJobTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 10, 1);
+
+    @Autowired
+    private HabitAnalyticsJob habitAnalyticsJob;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @Autowired
+    private HabitTrackingArchiveRepository habitTrackingArchiveRepository;
+
+    @Autowired
+    private HabitAnalyticsResultRepository resultRepository;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+
+        Habit readingA = habit(Frequency.DAILY, 2001, 3, " Read Book");
+        Habit readingB = habit(Frequency.DAILY, 2001, 3, "read book");
+        habit(Frequency.WEEKLY, 2001, 3, "READ BOOK");
+        Habit yoga = habit(Frequency.WEEKLY, 2001, 4, "Yoga");
+        Habit unique = habit(null, 2001, 4, "Something nobody else does");
+
+        track(readingA, DAY, true);
+        track(readingA, DAY.plusDays(1), true);
+        track(readingB, DAY, false);
+        habitTrackingArchiveRepository.save(HabitTrackingArchive.builder()
+                .id(987_654_321L)
+                .habitId(readingB.getId())
+                .trackDate(DAY.minusYears(2))
+                .done(true)
+                .build());
+        track(yoga, DAY, true);
+        track(unique, DAY, false);
+    }
+
+    @AfterEach
+    void cleanup() {
+        habitTrackingArchiveRepository.deleteAll();
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+        resultRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("✅ run — habits are aggregated over several ranges by frequency, cohort and title")
+    void run_AggregatesByDimension() {
+        HabitAnalyticsJob.RunResult result = habitAnalyticsJob.run();
+
+        assertEquals(2, result.ranges());
+        assertEquals(5, result.habitsScanned());
+
+        // unset frequency counts as daily
+        assertGroup(AnalyticsDimension.FREQUENCY, "DAILY", 3, 5, 3);
+        assertGroup(AnalyticsDimension.FREQUENCY, "WEEKLY", 2, 1, 1);
+        assertGroup(AnalyticsDimension.COHORT, "2001-03", 3, 4, 3);
+        assertGroup(AnalyticsDimension.COHORT, "2001-04", 2, 2, 1);
+
+        // titles are normalized, and titles of a single habit are left out
+        List<AnalyticsResultDto> titles = habitAnalyticsJob.getResults(AnalyticsDimension.TITLE);
+        assertEquals(1, titles.size());
+        assertGroup(AnalyticsDimension.TITLE, "read book", 3, 4, 3);
+        assertEquals(0.75, titles.get(0).getCompletionRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("✅ run — each run replaces the results of the previous one")
+    void run_ReplacesPreviousResults() {
+        habitAnalyticsJob.run();
+        int rows = habitAnalyticsJob.getResults(null).size();
+
+        habitAnalyticsJob.run();
+
+        assertEquals(rows, habitAnalyticsJob.getResults(null).size());
+    }
+
+    private void assertGroup(AnalyticsDimension dimension, String group, long habits, long trackings,
+                             long completions) {
+        AnalyticsResultDto result = habitAnalyticsJob.getResults(dimension).stream()
+                .filter(row -> row.getGroup().equals(group))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + dimension + " row for " + group));
+        assertEquals(habits, result.getHabits(), dimension + " " + group + " habits");
+        assertEquals(trackings, result.getTrackings(), dimension + " " + group + " trackings");
+        assertEquals(completions, result.getCompletions(), dimension + " " + group + " completions");
+    }
+
+    private Habit habit(Frequency frequency, int year, int month, String title) {
+        return habitRepository.save(Habit.builder()
+                .userId(1L)
+                .title(title)
+                .frequency(frequency)
+                .createdAt(LocalDateTime.of(year, month, 15, 12, 0))
+                .build());
+    }
+
+    private void track(Habit habit, LocalDate date, boolean done) {
+        habitTrackingRepository.save(HabitTracking.builder()
+                .habit(habit)
+                .trackDate(date)
+                .done(done)
+                .build());
+    }
+}
@@ -0,0 +1,148 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "habit.archival.archive-after-days=30",
+        "habit.archival.batch-size=2"
+})
+@Transactional
+@ActiveProfiles("test")
+public class HabitArchivalServiceTest {
+
+    @Autowired
+    private HabitArchivalService habitArchivalService;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private HabitSearchIndex habitSearchIndex;
+
+    @Autowired
+    private Clock clock;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setup() {
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+        today = LocalDate.now(clock);
+    }
+
+    @Test
+    @DisplayName("✅ archiveExpiredHabits — ended ACTIVE habits are COMPLETED, long-ended COMPLETED ones ARCHIVED")
+    void archiveExpiredHabits_MovesStatuses() {
+        Habit running = habit(HabitStatus.ACTIVE, today.plusDays(1));
+        Habit endsToday = habit(HabitStatus.ACTIVE, today);
+        Habit ended = habit(HabitStatus.ACTIVE, today.minusDays(1));
+        Habit endedLongAgo = habit(HabitStatus.ACTIVE, today.minusDays(40));
+        Habit recentlyCompleted = habit(HabitStatus.COMPLETED, today.minusDays(10));
+        Habit completedLongAgo = habit(HabitStatus.COMPLETED, today.minusDays(31));
+        Habit openEnded = habit(HabitStatus.ACTIVE, null);
+
+        habitArchivalService.archiveExpiredHabits();
+        entityManager.clear();
+
+        assertEquals(HabitStatus.ACTIVE, statusOf(running));
+        assertEquals(HabitStatus.ACTIVE, statusOf(endsToday));
+        assertEquals(HabitStatus.COMPLETED, statusOf(ended));
+        assertEquals(HabitStatus.ARCHIVED, statusOf(endedLongAgo));
+        assertEquals(HabitStatus.COMPLETED, statusOf(recentlyCompleted));
+        assertEquals(HabitStatus.ARCHIVED, statusOf(completedLongAgo));
+        assertEquals(HabitStatus.ACTIVE, statusOf(openEnded));
+    }
+
+    @Test
+    @DisplayName("✅ archiveExpiredHabits — more habits than one batch are all moved")
+    void archiveExpiredHabits_SeveralBatches() {
+        Habit first = habit(HabitStatus.ACTIVE, today.minusDays(1));
+        Habit second = habit(HabitStatus.ACTIVE, today.minusDays(2));
+        Habit third = habit(HabitStatus.ACTIVE, today.minusDays(3));
+
+        habitArchivalService.archiveExpiredHabits();
+        entityManager.clear();
+
+        assertEquals(HabitStatus.COMPLETED, statusOf(first));
+        assertEquals(HabitStatus.COMPLETED, statusOf(second));
+        assertEquals(HabitStatus.COMPLETED, statusOf(third));
+    }
+
+    @Test
+    @DisplayName("✅ archiveExpiredHabits — ARCHIVED habits are left alone")
+    void archiveExpiredHabits_ArchivedUnchanged() {
+        Habit archived = habit(HabitStatus.ARCHIVED, today.minusDays(100));
+
+        habitArchivalService.archiveExpiredHabits();
+        entityManager.clear();
+
+        assertEquals(HabitStatus.ARCHIVED, statusOf(archived));
+    }
+
+    @Test
+    @DisplayName("✅ archiveExpiredHabits — search results show the new status without a rebuild")
+    void archiveExpiredHabits_UpdatesSearchIndex() {
+        Habit ended = habit(HabitStatus.ACTIVE, today.minusDays(1));
+        habitSearchIndex.index(ended);
+
+        habitArchivalService.archiveExpiredHabits();
+
+        HabitDto found = habitSearchIndex.search(1L, "ACTIVE habit").stream()
+                .filter(dto -> dto.getId().equals(ended.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(HabitStatus.COMPLETED, found.getStatus());
+        habitSearchIndex.remove(ended.getId());
+    }
+
+    private HabitStatus statusOf(Habit habit) {
+        return habitRepository.findById(habit.getId()).orElseThrow().getStatus();
+    }
+
+    private Habit habit(HabitStatus status, LocalDate endDate) {
+        return habitRepository.saveAndFlush(Habit.builder()
+                .userId(1L)
+                .title(status + " habit")
+                .status(status)
+                .startDate(today.minusYears(1))
+                .endDate(endDate)
+                .build());
+    }
+}
@@ -0,0 +1,237 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.UserDto;
+import com.habitFlow.habitService.exception.custom.ExternalServiceException;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.JobCheckpoint;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.repository.JobCheckpointRepository;
+import com.habitFlow.habitService.repository.ReminderLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "habit.reminders.checkpoint-every=2",
+        "habit.reminders.log-retention-days=30"
+})
+@Transactional
+@ActiveProfiles("test")
+public class HabitReminderSchedulerTest {
+
+    private static final int HABITS = 5;
+
+    @Autowired
+    private HabitReminderScheduler habitReminderScheduler;
+
+    @Autowired
+    private PendingTodayIndex pendingTodayIndex;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @Autowired
+    private ReminderLogRepository reminderLogRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    private LocalDate today;
+    private List<Habit> habits;
+
+    @BeforeEach
+    void setup() {
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+        reminderLogRepository.deleteAll();
+        checkpointRepository.deleteAll();
+
+        UserDto user = new UserDto();
+        user.setId(1L);
+        user.setUsername("testUser");
+        Mockito.when(userService.getUsersByIds(Mockito.anyList())).thenReturn(Map.of(1L, user));
+
+        today = LocalDate.now(clock);
+        habits = new ArrayList<>();
+        for (int i = 0; i < HABITS; i++) {
+            habits.add(habitRepository.save(Habit.builder()
+                    .userId(1L)
+                    .title("Habit " + i)
+                    .frequency(Frequency.DAILY)
+                    .status(HabitStatus.ACTIVE)
+                    .startDate(today.minusDays(7))
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build()));
+        }
+        habits.sort(Comparator.comparing(Habit::getId));
+        pendingTodayIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("✅ runFor — reminds every pending habit once, logs it and completes the checkpoint")
+    void runFor_SendsAndCompletes() {
+        assertEquals(HABITS, habitReminderScheduler.runFor(today));
+
+        Mockito.verify(notificationClient, Mockito.times(HABITS))
+                .dispatchNotification(Mockito.eq("testUser"), Mockito.eq("Habit Reminder"), Mockito.anyString());
+        assertEquals(HABITS, reminderLogRepository.count());
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(HabitReminderScheduler.JOB_NAME).orElseThrow();
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(today, checkpoint.getPeriodStart());
+        assertEquals(habits.get(HABITS - 1).getId(), checkpoint.getLastProcessedId());
+
+        assertEquals(0, habitReminderScheduler.runFor(today));
+    }
+
+    @Test
+    @DisplayName("✅ runFor — a habit completed through another instance is not reminded")
+    void runFor_SkipsCompletionsTheIndexMissed() {
+        // written straight to the database, the way another instance's completion looks to this one
+        habitTrackingRepository.save(HabitTracking.builder()
+                .habit(habits.get(0))
+                .trackDate(today)
+                .done(true)
+                .build());
+
+        assertEquals(HABITS - 1, habitReminderScheduler.runFor(today));
+
+        Mockito.verify(notificationClient, Mockito.never()).dispatchNotification(
+                Mockito.anyString(), Mockito.anyString(), Mockito.contains("'Habit 0'"));
+        assertTrue(pendingTodayIndex.pendingHabits().stream()
+                .noneMatch(habit -> habit.habitId().equals(habits.get(0).getId())));
+    }
+
+    @Test
+    @DisplayName("✅ runFor — an interrupted run resumes after the last checkpointed habit")
+    void runFor_ResumesFromCheckpoint() {
+        checkpointRepository.save(JobCheckpoint.builder()
+                .jobName(HabitReminderScheduler.JOB_NAME)
+                .periodStart(today)
+                .lastProcessedId(habits.get(1).getId())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        assertEquals(HABITS - 2, habitReminderScheduler.runFor(today));
+
+        Mockito.verify(notificationClient, Mockito.never()).dispatchNotification(
+                Mockito.anyString(), Mockito.anyString(), Mockito.contains("'Habit 0'"));
+        Mockito.verify(notificationClient, Mockito.never()).dispatchNotification(
+                Mockito.anyString(), Mockito.anyString(), Mockito.contains("'Habit 1'"));
+    }
+
+    @Test
+    @DisplayName("✅ runFor — reminders already in the log are not dispatched again")
+    void runFor_DuplicateIsNoOp() {
+        habitReminderScheduler.runFor(today);
+        // lost checkpoint, e.g. crash between the last dispatch and the final save
+        checkpointRepository.deleteAll();
+        Mockito.clearInvocations(notificationClient);
+
+        assertEquals(0, habitReminderScheduler.runFor(today));
+
+        Mockito.verify(notificationClient, Mockito.never())
+                .dispatchNotification(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+        assertEquals(HABITS, reminderLogRepository.count());
+    }
+
+    @Test
+    @DisplayName("✅ runFor — a failed dispatch releases its claim and keeps the run open before it")
+    void runFor_FailedDispatchReleasesClaim() {
+        Mockito.doThrow(new ExternalServiceException("Notification Service unavailable"))
+                .when(notificationClient).dispatchNotification(
+                        Mockito.anyString(), Mockito.anyString(), Mockito.contains("'Habit 2'"));
+
+        assertEquals(HABITS - 1, habitReminderScheduler.runFor(today));
+
+        assertEquals(HABITS - 1, reminderLogRepository.count());
+        assertFalse(reminderLogRepository.existsByHabitIdAndReminderDate(habits.get(2).getId(), today));
+        JobCheckpoint checkpoint = checkpointRepository.findById(HabitReminderScheduler.JOB_NAME).orElseThrow();
+        assertFalse(checkpoint.isCompleted());
+        assertEquals(habits.get(1).getId(), checkpoint.getLastProcessedId());
+
+        Mockito.reset(notificationClient);
+        habitReminderScheduler.resumeInterruptedRun();
+
+        Mockito.verify(notificationClient, Mockito.times(1)).dispatchNotification(
+                Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(notificationClient).dispatchNotification(
+                Mockito.anyString(), Mockito.anyString(), Mockito.contains("'Habit 2'"));
+        assertTrue(checkpointRepository.findById(HabitReminderScheduler.JOB_NAME).orElseThrow().isCompleted());
+    }
+
+    @Test
+    @DisplayName("✅ runFor — a run that dies before its first checkpoint interval is resumed")
+    void runFor_CrashBeforeFirstCheckpointIsResumed() {
+        Mockito.doThrow(new OutOfMemoryError("crash"))
+                .when(notificationClient).dispatchNotification(
+                        Mockito.anyString(), Mockito.anyString(), Mockito.contains("'Habit 1'"));
+
+        assertThrows(OutOfMemoryError.class, () -> habitReminderScheduler.runFor(today));
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(HabitReminderScheduler.JOB_NAME).orElseThrow();
+        assertEquals(today, checkpoint.getPeriodStart());
+        assertFalse(checkpoint.isCompleted());
+
+        Mockito.reset(notificationClient);
+        habitReminderScheduler.resumeInterruptedRun();
+
+        // Habit 0 was sent and Habit 1 claimed before the crash
+        for (int i = 2; i < HABITS; i++) {
+            Mockito.verify(notificationClient).dispatchNotification(
+                    Mockito.anyString(), Mockito.anyString(), Mockito.contains("'Habit " + i + "'"));
+        }
+        Mockito.verify(notificationClient, Mockito.times(HABITS - 2)).dispatchNotification(
+                Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    @DisplayName("✅ purgeReminderLog — claims behind the retention window are deleted")
+    void purgeReminderLog_DeletesOldClaims() {
+        LocalDateTime now = LocalDateTime.now();
+        reminderLogRepository.claim(habits.get(0).getId(), today.minusDays(31), now);
+        reminderLogRepository.claim(habits.get(0).getId(), today.minusDays(30), now);
+        reminderLogRepository.claim(habits.get(0).getId(), today, now);
+
+        habitReminderScheduler.purgeReminderLog();
+
+        assertEquals(2, reminderLogRepository.count());
+        assertFalse(reminderLogRepository.existsByHabitIdAndReminderDate(habits.get(0).getId(), today.minusDays(31)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.HabitDto;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HabitSearchIndexTest {
+
+    private final HabitRepository habitRepository = Mockito.mock(HabitRepository.class);
+    private final HabitChangeLog habitChangeLog = Mockito.mock(HabitChangeLog.class);
+    private final HabitSearchIndex searchIndex = new HabitSearchIndex(habitRepository, habitChangeLog);
+
+    @Test
+    @DisplayName("✅ search — results are copies, a status change doesn't reach results handed out before")
+    void search_ReturnsCopies() {
+        searchIndex.index(habit(1L, "Morning run", HabitStatus.ACTIVE));
+
+        HabitDto found = searchIndex.search(1L, "run").get(0);
+        found.setTitle("Changed by the caller");
+        searchIndex.updateStatus(List.of(1L), HabitStatus.COMPLETED);
+
+        assertEquals(HabitStatus.ACTIVE, found.getStatus());
+        HabitDto again = searchIndex.search(1L, "run").get(0);
+        assertEquals("Morning run", again.getTitle());
+        assertEquals(HabitStatus.COMPLETED, again.getStatus());
+    }
+
+    @Test
+    @DisplayName("✅ refresh — habits written on other instances are re-read from the database")
+    void refresh_ReadsChangesOfOtherInstances() {
+        searchIndex.index(habit(1L, "Morning run", HabitStatus.ACTIVE));
+        searchIndex.index(habit(2L, "Evening swim", HabitStatus.ACTIVE));
+        Mockito.when(habitChangeLog.settledHead()).thenReturn(10L);
+        Mockito.when(habitChangeLog.habitsChangedBetween(0L, 10L)).thenReturn(List.of(1L, 2L));
+        Mockito.when(habitRepository.findAllById(Set.of(1L, 2L)))
+                .thenReturn(List.of(habit(1L, "Morning walk", HabitStatus.ACTIVE)));
+
+        searchIndex.refresh();
+
+        assertTrue(searchIndex.search(1L, "run").isEmpty());
+        assertEquals("Morning walk", searchIndex.search(1L, "walk").get(0).getTitle());
+        assertTrue(searchIndex.search(1L, "swim").isEmpty());
+    }
+
+    private static Habit habit(Long id, String title, HabitStatus status) {
+        return Habit.builder().id(id).userId(1L).title(title).status(status).build();
+    }
+}
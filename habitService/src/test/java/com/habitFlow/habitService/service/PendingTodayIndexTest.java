@@ -0,0 +1,139 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+public class PendingTodayIndexTest {
+
+    @Autowired
+    private PendingTodayIndex pendingTodayIndex;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setup() {
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+        today = LocalDate.now(clock);
+    }
+
+    @Test
+    @DisplayName("✅ rebuild — a habit is pending until it is completed in its current period")
+    void rebuild_UsesPeriodOfFrequency() {
+        Habit daily = habit(Frequency.DAILY);
+        Habit weekly = habit(Frequency.WEEKLY);
+        Habit monthly = habit(Frequency.MONTHLY);
+        track(daily, today.minusDays(1));
+        track(weekly, today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+        track(monthly, today.withDayOfMonth(1));
+
+        pendingTodayIndex.rebuild();
+
+        assertEquals(List.of(daily.getId()), pendingIds());
+    }
+
+    @Test
+    @DisplayName("✅ markNotCompleted — a habit is pending again only when no completion is left")
+    void markNotCompleted_KeepsOtherCompletions() {
+        Habit habit = habit(Frequency.DAILY);
+        HabitTracking first = track(habit, today);
+        HabitTracking second = track(habit, today);
+        pendingTodayIndex.rebuild();
+        assertTrue(pendingIds().isEmpty());
+
+        pendingTodayIndex.markNotCompleted(habit.getId(), first.getId(), today);
+        assertTrue(pendingIds().isEmpty());
+
+        pendingTodayIndex.markNotCompleted(habit.getId(), second.getId(), today);
+        assertEquals(List.of(habit.getId()), pendingIds());
+    }
+
+    @Test
+    @DisplayName("✅ habitSaved — ids beyond the int range are indexed")
+    void habitSaved_LargeId() {
+        pendingTodayIndex.rebuild();
+        long largeId = Integer.MAX_VALUE + 10L;
+
+        pendingTodayIndex.habitSaved(Habit.builder()
+                .id(largeId)
+                .userId(1L)
+                .title("Far away")
+                .frequency(Frequency.DAILY)
+                .status(HabitStatus.ACTIVE)
+                .build());
+        assertTrue(pendingIds().contains(largeId));
+
+        pendingTodayIndex.markCompleted(largeId, 1L, today);
+        assertFalse(pendingIds().contains(largeId));
+
+        pendingTodayIndex.habitRemoved(largeId);
+    }
+
+    private List<Long> pendingIds() {
+        return pendingTodayIndex.pendingHabitsOf(1L).stream()
+                .map(PendingTodayIndex.DueHabit::habitId)
+                .toList();
+    }
+
+    private Habit habit(Frequency frequency) {
+        return habitRepository.save(Habit.builder()
+                .userId(1L)
+                .title(frequency + " habit")
+                .frequency(frequency)
+                .status(HabitStatus.ACTIVE)
+                .startDate(today.minusYears(1))
+                .build());
+    }
+
+    private HabitTracking track(Habit habit, LocalDate date) {
+        return habitTrackingRepository.save(HabitTracking.builder()
+                .habit(habit)
+                .trackDate(date)
+                .done(true)
+                .build());
+    }
+}
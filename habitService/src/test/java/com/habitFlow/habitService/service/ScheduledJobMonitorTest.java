@@ -0,0 +1,55 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.dto.JobMetricsDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledJobMonitorTest {
+
+    private final ScheduledJobMonitor monitor = new ScheduledJobMonitor();
+
+    @Test
+    @DisplayName("✅ run — records items processed, lag and start of the last run")
+    void run_RecordsMetrics() {
+        monitor.run("reminders", 15, () -> {
+            monitor.itemsProcessed(3);
+            monitor.itemsProcessed(2);
+        });
+
+        JobMetricsDto metrics = monitor.getMetrics().get(0);
+        assertEquals("reminders", metrics.getName());
+        assertEquals(1, metrics.getRuns());
+        assertEquals(5, metrics.getLastItemsProcessed());
+        assertEquals(15, metrics.getLastLagMs());
+        assertEquals(0, metrics.getFailures());
+        assertNotNull(metrics.getLastStartedAt());
+        assertFalse(metrics.isRunning());
+    }
+
+    @Test
+    @DisplayName("✅ run — a failing run is counted and its error kept")
+    void run_CountsFailures() {
+        assertThrows(IllegalStateException.class,
+                () -> monitor.run("cleanup", 0, () -> { throw new IllegalStateException("boom"); }));
+
+        JobMetricsDto metrics = monitor.getMetrics().get(0);
+        assertEquals(1, metrics.getFailures());
+        assertEquals("IllegalStateException: boom", metrics.getLastError());
+        assertFalse(metrics.isRunning());
+    }
+
+    @Test
+    @DisplayName("✅ run — an Error ends the run as a failure and is rethrown")
+    void run_CountsErrors() {
+        assertThrows(OutOfMemoryError.class,
+                () -> monitor.run("snapshots", 0, () -> { throw new OutOfMemoryError("heap"); }));
+
+        JobMetricsDto metrics = monitor.getMetrics().get(0);
+        assertEquals(1, metrics.getRuns());
+        assertEquals(1, metrics.getFailures());
+        assertEquals("OutOfMemoryError: heap", metrics.getLastError());
+        assertFalse(metrics.isRunning());
+    }
+}
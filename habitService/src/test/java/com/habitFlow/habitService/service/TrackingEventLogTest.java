@@ -0,0 +1,150 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.dto.UserDto;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.TrackingEvent;
+import com.habitFlow.habitService.model.enums.TrackingEventType;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.TrackingEventRepository;
+import com.habitFlow.habitService.repository.TrackingSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "habit.tracking.events.snapshot-every=3")
+@Transactional
+@ActiveProfiles("test")
+public class TrackingEventLogTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 10, 1);
+
+    @Autowired
+    private TrackingEventLog trackingEventLog;
+
+    @Autowired
+    private HabitTrackingService habitTrackingService;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private TrackingEventRepository trackingEventRepository;
+
+    @Autowired
+    private TrackingSnapshotRepository trackingSnapshotRepository;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    private Habit habit;
+
+    @BeforeEach
+    void setup() {
+        UserDto user = new UserDto();
+        user.setId(1L);
+        user.setUsername("testUser1");
+        Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(user);
+
+        habit = habitRepository.save(Habit.builder().userId(1L).title("Drink water").build());
+    }
+
+    @Test
+    @DisplayName("✅ create and delete — both are appended as events and replay to the live state")
+    void trackingWrites_AppendedAndReplayed() {
+        HabitTrackingDto first = track(DAY, 2.0);
+        track(DAY.plusDays(1), 1.5);
+        habitTrackingService.deleteTracking("testUser1", first.getId());
+
+        List<TrackingEvent> events = trackingEventRepository.findByHabitIdAfter(habit.getId(), 0L, 10);
+        assertEquals(List.of(TrackingEventType.RECORDED, TrackingEventType.RECORDED, TrackingEventType.REMOVED),
+                events.stream().map(TrackingEvent::getEventType).toList());
+        assertEquals(2.0, events.get(2).getAmount());
+        assertEquals("l", events.get(2).getUnit());
+
+        TrackingHistory history = trackingEventLog.replay(habit.getId());
+        assertEquals(1, history.trackingCount());
+        assertEquals(1.5, history.valueTotal());
+        assertEquals(events.get(2).getId(), history.getLastEventId());
+    }
+
+    @Test
+    @DisplayName("✅ snapshotDueHabits — replays resume from the snapshot, recent events are left for the next one")
+    void snapshot_ReplayReadsOnlyNewerEvents() {
+        LocalDateTime anHourAgo = LocalDateTime.now().minusHours(1);
+        for (long trackingId = 1; trackingId <= 3; trackingId++) {
+            settledEvent(trackingId, anHourAgo);
+        }
+
+        trackingEventLog.snapshotDueHabits();
+        long snapshotEventId = trackingSnapshotRepository.findByHabitId(habit.getId()).orElseThrow().getLastEventId();
+
+        track(DAY.plusDays(4), 1.0);
+        trackingEventLog.snapshot(habit.getId());
+        assertEquals(snapshotEventId,
+                trackingSnapshotRepository.findByHabitId(habit.getId()).orElseThrow().getLastEventId());
+
+        TrackingHistory history = trackingEventLog.replay(habit.getId());
+        assertEquals(1, history.getAppliedEvents());
+        assertEquals(4, history.trackingCount());
+        assertEquals(4, history.longestStreak());
+    }
+
+    @Test
+    @DisplayName("✅ snapshotDueHabits — events spread over several runs still add up to a snapshot")
+    void snapshot_CountsEventsPastTheWatermark() {
+        LocalDateTime anHourAgo = LocalDateTime.now().minusHours(1);
+        settledEvent(1L, anHourAgo);
+        settledEvent(2L, anHourAgo);
+
+        trackingEventLog.snapshotDueHabits();
+        assertTrue(trackingSnapshotRepository.findByHabitId(habit.getId()).isEmpty());
+
+        TrackingEvent third = settledEvent(3L, anHourAgo);
+        trackingEventLog.snapshotDueHabits();
+        assertEquals(third.getId(),
+                trackingSnapshotRepository.findByHabitId(habit.getId()).orElseThrow().getLastEventId());
+    }
+
+    private TrackingEvent settledEvent(long trackingId, LocalDateTime occurredAt) {
+        return trackingEventRepository.save(TrackingEvent.builder()
+                .habitId(habit.getId())
+                .userId(1L)
+                .eventType(TrackingEventType.RECORDED)
+                .trackingId(trackingId)
+                .trackDate(DAY.plusDays(trackingId))
+                .done(true)
+                .occurredAt(occurredAt)
+                .build());
+    }
+
+    private HabitTrackingDto track(LocalDate date, double value) {
+        return habitTrackingService.createTracking("testUser1", habit.getId(), HabitTrackingDto.builder()
+                .trackDate(date)
+                .done(true)
+                .value(value)
+                .unit("l")
+                .build());
+    }
+}
@@ -0,0 +1,86 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.model.TrackingEvent;
+import com.habitFlow.habitService.model.enums.TrackingEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays a few million synthetic tracking events of one habit, once from the start and once
+ * from a snapshot, to show what snapshots save and that both end in the same state.
+ * Timing-based, so it only runs with the benchmark task.
+ */
+@Tag("benchmark")
+class TrackingReplayBenchmarkTest {
+
+    private static final int EVENTS = 4_000_000;
+    private static final int TAIL_EVENTS = 500;
+    // every tracking is removed again this many trackings later, like a rolling window of history
+    private static final int LIVE_TRACKINGS = 1_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    private final LocalDate[] days = new LocalDate[LIVE_TRACKINGS];
+
+    TrackingReplayBenchmarkTest() {
+        for (int i = 0; i < days.length; i++) {
+            days[i] = FIRST_DAY.plusDays(i);
+        }
+    }
+
+    @Test
+    @DisplayName("📊 Replay — full event log vs. snapshot plus tail")
+    void replayFromSnapshot() {
+        // warm-up
+        replay(new TrackingHistory(), 0, EVENTS / 4);
+
+        long fullStart = System.nanoTime();
+        TrackingHistory full = replay(new TrackingHistory(), 0, EVENTS);
+        long fullMicros = (System.nanoTime() - fullStart) / 1_000;
+
+        byte[] snapshot = replay(new TrackingHistory(), 0, EVENTS - TAIL_EVENTS).encode();
+        long resumeStart = System.nanoTime();
+        TrackingHistory resumed = replay(TrackingHistory.decode(snapshot), EVENTS - TAIL_EVENTS, EVENTS);
+        long resumeMicros = (System.nanoTime() - resumeStart) / 1_000;
+
+        System.out.printf("[TrackingReplayBenchmark] full replay: %,d events in %,d µs (%,d events/s)%n",
+                EVENTS, fullMicros, EVENTS * 1_000_000L / Math.max(fullMicros, 1));
+        System.out.printf("[TrackingReplayBenchmark] snapshot of %,d bytes + %,d events in %,d µs%n",
+                snapshot.length, TAIL_EVENTS, resumeMicros);
+
+        assertEquals(full.getLastEventId(), resumed.getLastEventId());
+        assertEquals(full.trackingCount(), resumed.trackingCount());
+        assertEquals(full.completedDays(), resumed.completedDays());
+        assertEquals(full.valueTotal(), resumed.valueTotal(), 1e-6);
+        assertEquals(full.longestStreak(), resumed.longestStreak());
+        assertEquals(TAIL_EVENTS, resumed.getAppliedEvents());
+        assertTrue(resumeMicros < fullMicros, "resuming from a snapshot should beat a full replay");
+    }
+
+    // even events record tracking n, odd events remove tracking n - LIVE_TRACKINGS once there is one
+    private TrackingHistory replay(TrackingHistory history, int fromEvent, int toEvent) {
+        for (int i = fromEvent; i < toEvent; i++) {
+            long trackingId = i / 2;
+            TrackingEvent.TrackingEventBuilder event = TrackingEvent.builder()
+                    .id(i + 1L)
+                    .habitId(1L);
+            if (i % 2 == 0) {
+                event.eventType(TrackingEventType.RECORDED)
+                        .trackingId(trackingId)
+                        .trackDate(days[(int) (trackingId % LIVE_TRACKINGS)])
+                        .done(trackingId % 7 != 0)
+                        .amount(trackingId % 3 == 0 ? null : (trackingId % 8) * 0.25);
+            } else {
+                event.eventType(TrackingEventType.REMOVED)
+                        .trackingId(trackingId - LIVE_TRACKINGS);
+            }
+            history.apply(event.build());
+        }
+        return history;
+    }
+}
@@ -0,0 +1,123 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.HabitTrackingArchive;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingArchiveRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "habit.tracking.hot-days=30",
+        "habit.tracking.archive-batch-size=2"
+})
+@Transactional
+@ActiveProfiles("test")
+public class TrackingRetentionServiceTest {
+
+    @Autowired
+    private TrackingRetentionService trackingRetentionService;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @Autowired
+    private HabitTrackingArchiveRepository habitTrackingArchiveRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private Clock clock;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    private Habit habit;
+    private LocalDate today;
+
+    @BeforeEach
+    void setup() {
+        habitTrackingArchiveRepository.deleteAll();
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+        today = LocalDate.now(clock);
+        habit = habitRepository.save(Habit.builder().userId(1L).title("Drink water").build());
+    }
+
+    @Test
+    @DisplayName("✅ archiveColdTrackings — trackings behind the hot window move to the archive in chunks")
+    void archiveColdTrackings_MovesOldTrackings() {
+        HabitTracking oldest = track(today.minusDays(90), 2.0);
+        HabitTracking old = track(today.minusDays(60), null);
+        HabitTracking justOld = track(today.minusDays(31), 1.5);
+        HabitTracking recent = track(today.minusDays(30), 0.5);
+        entityManager.flush();
+
+        trackingRetentionService.archiveColdTrackings();
+        entityManager.clear();
+
+        assertEquals(List.of(recent.getId()),
+                habitTrackingRepository.findAll().stream().map(HabitTracking::getId).toList());
+
+        List<HabitTrackingArchive> archived = habitTrackingArchiveRepository
+                .findByHabitIdOrderByTrackDateAsc(habit.getId());
+        assertEquals(List.of(oldest.getId(), old.getId(), justOld.getId()),
+                archived.stream().map(HabitTrackingArchive::getId).toList());
+        assertEquals(today.minusDays(90), archived.get(0).getTrackDate());
+        assertEquals(2.0, archived.get(0).getAmount());
+        assertEquals("l", archived.get(0).getUnit());
+        assertTrue(archived.get(0).isDone());
+        assertNull(archived.get(1).getAmount());
+    }
+
+    @Test
+    @DisplayName("✅ archiveColdTrackings — nothing moves while every tracking is within the hot window")
+    void archiveColdTrackings_NothingToMove() {
+        HabitTracking recent = track(today, 1.0);
+        entityManager.flush();
+
+        trackingRetentionService.archiveColdTrackings();
+        entityManager.clear();
+
+        assertTrue(habitTrackingRepository.findById(recent.getId()).isPresent());
+        assertTrue(habitTrackingArchiveRepository.findAll().isEmpty());
+    }
+
+    private HabitTracking track(LocalDate date, Double amount) {
+        return habitTrackingRepository.save(HabitTracking.builder()
+                .habit(habit)
+                .trackDate(date)
+                .done(true)
+                .amount(amount)
+                .unit(amount != null ? "l" : null)
+                .build());
+    }
+}
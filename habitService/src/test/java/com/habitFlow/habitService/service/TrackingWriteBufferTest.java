@@ -0,0 +1,243 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.HabitTrackingDto;
+import com.habitFlow.habitService.dto.UserDto;
+import com.habitFlow.habitService.exception.custom.ForbiddenException;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTrackingArchive;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingArchiveRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.service.TrackingStateWriter.TrackingState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the window is long enough that only the test decides when buffered writes are flushed
+@SpringBootTest(properties = {
+        "habit.tracking.write-behind.enabled=true",
+        "habit.tracking.write-behind.window-ms=600000",
+        "habit.tracking.write-behind.max-attempts=2"
+})
+@Transactional
+@ActiveProfiles("test")
+public class TrackingWriteBufferTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 12);
+
+    @Autowired
+    private HabitTrackingService habitTrackingService;
+
+    @Autowired
+    private TrackingWriteBuffer trackingWriteBuffer;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @Autowired
+    private HabitTrackingArchiveRepository habitTrackingArchiveRepository;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    @SpyBean
+    private TrackingStateWriter trackingStateWriter;
+
+    private Habit habit;
+
+    @BeforeEach
+    void setup() {
+        trackingWriteBuffer.flushAll();
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+
+        UserDto user1 = new UserDto();
+        user1.setId(1L);
+        user1.setUsername("testUser1");
+        UserDto user2 = new UserDto();
+        user2.setId(2L);
+        user2.setUsername("testUser2");
+        Mockito.when(userService.getUserByUsername("testUser1")).thenReturn(user1);
+        Mockito.when(userService.getUserByUsername("testUser2")).thenReturn(user2);
+
+        habit = new Habit();
+        habit.setUserId(1L);
+        habit.setTitle("Morning Run");
+        habit = habitRepository.save(habit);
+    }
+
+    @Test
+    @DisplayName("✅ setTrackingState — a burst of toggles is buffered and written once")
+    void toggles_AreCoalesced() {
+        for (int i = 0; i < 5; i++) {
+            habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, i % 2 == 0);
+        }
+
+        assertEquals(1, trackingWriteBuffer.pendingCount());
+        assertEquals(0, habitTrackingRepository.count());
+
+        trackingWriteBuffer.flushAll();
+
+        assertEquals(0, trackingWriteBuffer.pendingCount());
+        assertEquals(1, habitTrackingRepository.count());
+        assertTrue(habitTrackingRepository.findAll().get(0).isDone());
+        Mockito.verify(notificationClient, Mockito.times(1))
+                .dispatchNotification(Mockito.eq("testUser1"), Mockito.eq("New Habit Tracking"), Mockito.anyString());
+    }
+
+    @Test
+    @DisplayName("✅ getTrackingByDate — reads of the user see buffered changes")
+    void read_SeesOwnBufferedState() {
+        habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, true);
+        habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, false);
+
+        List<HabitTrackingDto> trackings = habitTrackingService.getTrackingByDate("testUser1", habit.getId(), DAY);
+
+        assertEquals(1, trackings.size());
+        assertFalse(trackings.get(0).isDone());
+        assertEquals(0, trackingWriteBuffer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("✅ setTrackingState — set then cleared inside the window never reaches the database")
+    void setThenClear_WritesNothing() {
+        habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, true);
+        habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, null);
+
+        trackingWriteBuffer.flushAll();
+
+        assertEquals(0, habitTrackingRepository.count());
+        Mockito.verifyNoInteractions(notificationClient);
+    }
+
+    @Test
+    @DisplayName("✅ setTrackingState — replaces the existing tracking of the day on flush")
+    void flush_ReplacesExistingTracking() {
+        HabitTrackingDto existing = habitTrackingService.createTracking("testUser1", habit.getId(),
+                HabitTrackingDto.builder().trackDate(DAY).done(true).build());
+
+        habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, false);
+        trackingWriteBuffer.flushAll();
+
+        assertFalse(habitTrackingRepository.existsById(existing.getId()));
+        assertEquals(1, habitTrackingRepository.count());
+        assertFalse(habitTrackingRepository.findAll().get(0).isDone());
+    }
+
+    @Test
+    @DisplayName("✅ setTrackingState — replaces an archived tracking of the day on flush")
+    void flush_ReplacesArchivedTracking() {
+        HabitTrackingArchive archived = habitTrackingArchiveRepository.save(HabitTrackingArchive.builder()
+                .id(Long.MAX_VALUE - 1)
+                .habitId(habit.getId())
+                .trackDate(DAY)
+                .done(true)
+                .build());
+
+        habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, false);
+        trackingWriteBuffer.flushAll();
+
+        assertFalse(habitTrackingArchiveRepository.existsById(archived.getId()));
+        assertEquals(1, habitTrackingRepository.count());
+        assertFalse(habitTrackingRepository.findAll().get(0).isDone());
+    }
+
+    @Test
+    @DisplayName("❌ setTrackingState — another user's habit is rejected before buffering")
+    void setTrackingState_Forbidden() {
+        assertThrows(ForbiddenException.class,
+                () -> habitTrackingService.setTrackingState("testUser2", habit.getId(), DAY, true));
+        assertEquals(0, trackingWriteBuffer.pendingCount());
+    }
+
+    @Test
+    @DisplayName("✅ flush — a change that keeps failing is dead-lettered after the last attempt")
+    void failingWrite_IsDeadLettered() {
+        habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, true);
+        Mockito.doThrow(new IllegalStateException("database down")).when(trackingStateWriter).write(Mockito.anyList());
+        long deadLettered = trackingWriteBuffer.deadLetteredCount();
+
+        trackingWriteBuffer.flushAll();
+        assertEquals(1, trackingWriteBuffer.pendingCount());
+
+        trackingWriteBuffer.flushAll();
+        assertEquals(0, trackingWriteBuffer.pendingCount());
+        assertEquals(deadLettered + 1, trackingWriteBuffer.deadLetteredCount());
+        assertTrue(trackingWriteBuffer.deadLetters().stream()
+                .anyMatch(state -> state.habitId().equals(habit.getId()) && state.date().equals(DAY)));
+        Mockito.verify(trackingStateWriter, Mockito.never()).publish(Mockito.anyList());
+    }
+
+    @Test
+    @DisplayName("✅ flushDue — a failing user of a shared batch costs the other users no attempt")
+    void failingUser_OtherUsersOfBatchAreWritten() {
+        Habit other = new Habit();
+        other.setUserId(2L);
+        other.setTitle("Evening Walk");
+        other = habitRepository.save(other);
+        habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, true);
+        habitTrackingService.setTrackingState("testUser2", other.getId(), DAY, true);
+        Mockito.doAnswer(invocation -> {
+            List<TrackingState> states = invocation.getArgument(0);
+            if (states.stream().anyMatch(state -> state.userId().equals(2L))) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return invocation.callRealMethod();
+        }).when(trackingStateWriter).write(Mockito.anyList());
+
+        ReflectionTestUtils.setField(trackingWriteBuffer, "windowMillis", 0L);
+        try {
+            trackingWriteBuffer.flushDue();
+        } finally {
+            ReflectionTestUtils.setField(trackingWriteBuffer, "windowMillis", 600000L);
+        }
+
+        assertEquals(1, habitTrackingRepository.count());
+        assertEquals(habit.getId(), habitTrackingRepository.findAll().get(0).getHabit().getId());
+        assertEquals(1, trackingWriteBuffer.pendingCount());
+        assertTrue(trackingWriteBuffer.isBufferedFor(2L, other.getId(), DAY));
+    }
+
+    @Test
+    @DisplayName("✅ flushUser — only the reading user's changes are written")
+    void flushUser_LeavesOtherUsersBuffered() {
+        Habit other = new Habit();
+        other.setUserId(2L);
+        other.setTitle("Evening Walk");
+        other = habitRepository.save(other);
+        habitTrackingService.setTrackingState("testUser1", habit.getId(), DAY, true);
+        habitTrackingService.setTrackingState("testUser2", other.getId(), DAY, true);
+
+        trackingWriteBuffer.flushUser(1L);
+
+        assertEquals(1, trackingWriteBuffer.pendingCount());
+        assertTrue(trackingWriteBuffer.isBufferedFor(2L, other.getId(), DAY));
+        assertFalse(trackingWriteBuffer.isBufferedFor(2L, habit.getId(), DAY));
+        assertEquals(1, habitTrackingRepository.count());
+    }
+}
@@ -0,0 +1,196 @@
+package com.habitFlow.habitService.service;
+
+import com.habitFlow.habitService.config.NotificationClient;
+import com.habitFlow.habitService.config.UserService;
+import com.habitFlow.habitService.dto.DispatchNotificationRequest;
+import com.habitFlow.habitService.dto.UserDto;
+import com.habitFlow.habitService.exception.custom.ExternalServiceException;
+import com.habitFlow.habitService.model.Habit;
+import com.habitFlow.habitService.model.HabitTracking;
+import com.habitFlow.habitService.model.JobCheckpoint;
+import com.habitFlow.habitService.model.enums.Frequency;
+import com.habitFlow.habitService.model.enums.HabitStatus;
+import com.habitFlow.habitService.repository.HabitRepository;
+import com.habitFlow.habitService.repository.HabitTrackingRepository;
+import com.habitFlow.habitService.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "habit.reports.chunk-size=50",
+        "habit.reports.send-batch-size=20"
+})
+@Transactional
+@ActiveProfiles("test")
+public class WeeklyReportJobTest {
+
+    private static final int SYNTHETIC_USERS = 400;
+    private static final long FIRST_USER_ID = 10_001L;
+    private static final LocalDate WEEK_START = LocalDate.of(2026, 10, 5);
+
+    @Autowired
+    private WeeklyReportJob weeklyReportJob;
+
+    @Autowired
+    private HabitRepository habitRepository;
+
+    @Autowired
+    private HabitTrackingRepository habitTrackingRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @MockBean
+    private NotificationClient notificationClient;
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private UserService userService;
+
+    @BeforeEach
+    void setup() {
+        habitTrackingRepository.deleteAll();
+        habitRepository.deleteAll();
+        checkpointRepository.deleteAll();
+
+        Mockito.when(userService.getUsersByIds(Mockito.anyList())).thenAnswer(invocation -> {
+            Map<Long, UserDto> users = new HashMap<>();
+            for (Long id : invocation.<List<Long>>getArgument(0)) {
+                UserDto user = new UserDto();
+                user.setId(id);
+                user.setUsername("user" + id);
+                users.put(id, user);
+            }
+            return users;
+        });
+
+        createSyntheticDataset();
+    }
+
+    // ================= FULL RUN =================
+
+    @Test
+    @DisplayName("✅ runFor — reports every user in chunked batches and marks the week as done")
+    void runFor_SendsAllReportsInBatches() {
+        WeeklyReportJob.RunResult result = weeklyReportJob.runFor(WEEK_START);
+
+        assertEquals(SYNTHETIC_USERS, result.usersScanned());
+        assertEquals(SYNTHETIC_USERS, result.reportsSent());
+        assertEquals(SYNTHETIC_USERS / 50, result.chunks());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DispatchNotificationRequest>> batches = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(notificationClient, Mockito.atLeastOnce()).dispatchBatch(batches.capture());
+        assertTrue(batches.getAllValues().stream().allMatch(batch -> batch.size() <= 20));
+        assertEquals(SYNTHETIC_USERS, batches.getAllValues().stream().mapToInt(List::size).sum());
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(WeeklyReportJob.JOB_NAME).orElseThrow();
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(WEEK_START, checkpoint.getPeriodStart());
+
+        assertEquals(0, weeklyReportJob.runFor(WEEK_START).reportsSent());
+    }
+
+    @Test
+    @DisplayName("✅ runFor — a failed batch leaves a checkpoint and the next run sends only the rest")
+    void runFor_ResumesFromCheckpoint() {
+        Mockito.doNothing()
+                .doNothing()
+                .doThrow(new ExternalServiceException("Notification Service unavailable"))
+                .when(notificationClient).dispatchBatch(Mockito.anyList());
+
+        assertThrows(ExternalServiceException.class, () -> weeklyReportJob.runFor(WEEK_START));
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(WeeklyReportJob.JOB_NAME).orElseThrow();
+        assertFalse(checkpoint.isCompleted());
+        assertEquals(FIRST_USER_ID + 39, checkpoint.getLastProcessedId());
+
+        Mockito.reset(notificationClient);
+        WeeklyReportJob.RunResult resumed = weeklyReportJob.runFor(WEEK_START);
+
+        assertEquals(SYNTHETIC_USERS - 40, resumed.reportsSent());
+    }
+
+    // ================= SUMMARY =================
+
+    @Test
+    @DisplayName("✅ summarize — completion rate, current streak and missed habits")
+    void summarize_ComputesWeeklyNumbers() {
+        Habit run = Habit.builder().id(1L).userId(1L).title("Run").frequency(Frequency.DAILY)
+                .status(HabitStatus.ACTIVE).startDate(WEEK_START.minusDays(30)).build();
+        Habit read = Habit.builder().id(2L).userId(1L).title("Read").frequency(Frequency.WEEKLY)
+                .status(HabitStatus.ACTIVE).startDate(WEEK_START.minusDays(30)).build();
+
+        Set<LocalDate> runDays = new HashSet<>();
+        for (int day = 2; day < 7; day++) {
+            runDays.add(WEEK_START.plusDays(day));
+        }
+        runDays.add(WEEK_START.minusDays(1));
+
+        WeeklyReportJob.WeeklySummary summary = WeeklyReportJob.summarize(1L, List.of(run, read),
+                Map.of(1L, runDays), WEEK_START, WEEK_START.plusDays(6));
+
+        assertNotNull(summary);
+        assertEquals(5, summary.completed());
+        assertEquals(8, summary.expected());
+        assertEquals("Run", summary.bestStreakHabit());
+        assertEquals(5, summary.bestStreakDays());
+        assertEquals(List.of("Read"), summary.missedHabits());
+    }
+
+    // two daily habits and one weekly habit per user, with most of the week tracked
+    private void createSyntheticDataset() {
+        List<Habit> habits = new ArrayList<>();
+        for (int i = 0; i < SYNTHETIC_USERS; i++) {
+            long userId = FIRST_USER_ID + i;
+            habits.add(syntheticHabit(userId, "Workout", Frequency.DAILY));
+            habits.add(syntheticHabit(userId, "Meditate", Frequency.DAILY));
+            habits.add(syntheticHabit(userId, "Call parents", Frequency.WEEKLY));
+        }
+        habits = habitRepository.saveAll(habits);
+
+        List<HabitTracking> trackings = new ArrayList<>();
+        for (int i = 0; i < habits.size(); i++) {
+            Habit habit = habits.get(i);
+            for (int day = 0; day < 7; day++) {
+                if ((i + day) % 4 != 0) {
+                    trackings.add(HabitTracking.builder()
+                            .habit(habit)
+                            .trackDate(WEEK_START.plusDays(day))
+                            .done(true)
+                            .build());
+                }
+            }
+        }
+        habitTrackingRepository.saveAll(trackings);
+    }
+
+    private static Habit syntheticHabit(long userId, String title, Frequency frequency) {
+        return Habit.builder()
+                .userId(userId)
+                .title(title)
+                .frequency(frequency)
+                .status(HabitStatus.ACTIVE)
+                .startDate(WEEK_START.minusDays(14))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
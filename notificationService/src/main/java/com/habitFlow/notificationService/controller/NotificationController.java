@@ -126,6 +126,25 @@ public class NotificationController {
         return notificationFacade.dispatchNotification(request);
     }
 
+    @Operation(
+            summary = "Dispatch internal notifications in batch",
+            description = "Sends each message to its user via their active notification channel;" +
+                    " a failure for one user does not stop the rest of the batch",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed, delivered count returned"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request data"),
+                    @ApiResponse(responseCode = "403", description = "Missing ROLE_SERVICE authority"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    @PostMapping("/dispatch/batch")
+    public ResponseEntity<String> dispatchBatch(
+            @Parameter(description = "Request with the notifications to dispatch",
+                    required = true)
+            @Valid @RequestBody DispatchBatchRequest request) {
+        return notificationFacade.dispatchBatch(request);
+    }
+
     @Operation(
             summary = "Confirm email channel",
             description = "Marks email as verified after user clicks confirmation link",
@@ -0,0 +1,22 @@
+package com.habitFlow.notificationService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Schema(description = "DTO for sending several internal notifications in one request")
+@AllArgsConstructor
+@NoArgsConstructor
+public class DispatchBatchRequest {
+    @NotEmpty(message = "notifications are required")
+    @Size(max = 500, message = "at most 500 notifications per batch")
+    @Schema(description = "Notifications to dispatch, each to its own user")
+    private List<@Valid DispatchNotificationRequest> notifications;
+}
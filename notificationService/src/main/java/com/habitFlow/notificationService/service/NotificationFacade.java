@@ -48,6 +48,22 @@ public class NotificationFacade {
         return ResponseEntity.ok().build();
     }
 
+    public ResponseEntity<String> dispatchBatch(DispatchBatchRequest request) {
+        int delivered = 0;
+        for (DispatchNotificationRequest notification : request.getNotifications()) {
+            try {
+                notificationService.notifyUser(notification.getUsername(), notification.getSubject(),
+                        notification.getMessage());
+                delivered++;
+            } catch (RuntimeException e) {
+                System.err.printf("[NotificationFacade] ⚠️ Failed to notify '%s': %s%n",
+                        notification.getUsername(), e.getMessage());
+            }
+        }
+        return ResponseEntity.ok("Dispatched " + delivered + " of " + request.getNotifications().size()
+                + " notifications");
+    }
+
     public ResponseEntity<Void> confirmEmail(NotificationSettingsRequest request) {
         notificationService.confirmEmailChannel(request.getUserId(), request.getEmail());
         return ResponseEntity.ok().build();
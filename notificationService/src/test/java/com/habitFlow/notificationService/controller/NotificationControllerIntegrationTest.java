@@ -2,6 +2,7 @@ package com.habitFlow.notificationService.controller;
 
 import com.habitFlow.notificationService.config.JwtUtil;
 import com.habitFlow.notificationService.config.MailConfig;
+import com.habitFlow.notificationService.dto.DispatchBatchRequest;
 import com.habitFlow.notificationService.dto.DispatchNotificationRequest;
 import com.habitFlow.notificationService.dto.EmailRequest;
 import com.habitFlow.notificationService.dto.NotificationSettingsRequest;
@@ -27,6 +28,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -450,6 +453,38 @@ public class NotificationControllerIntegrationTest {
                 .andExpect(jsonPath("$.timestamp").exists());
     }
 
+    // ================= /notifications/dispatch/batch =================
+
+    @Test
+    @DisplayName("✅ 200 - Notification batch dispatched")
+    void dispatchBatch_Success() throws Exception {
+        DispatchBatchRequest request = new DispatchBatchRequest(List.of(
+                new DispatchNotificationRequest("userTest", "Weekly report", "You completed 5 of 7"),
+                new DispatchNotificationRequest("otherUser", "Weekly report", "You completed 7 of 7")
+        ));
+
+        mockMvc.perform(post("/notifications/dispatch/batch")
+                        .header("Authorization", "Bearer " + serviceToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        Mockito.verify(notificationFacade).dispatchBatch(any());
+    }
+
+    @Test
+    @DisplayName("❌ 400 - Empty notification batch")
+    void dispatchBatch_InvalidRequest() throws Exception {
+        DispatchBatchRequest request = new DispatchBatchRequest(List.of());
+
+        mockMvc.perform(post("/notifications/dispatch/batch")
+                        .header("Authorization", "Bearer " + serviceToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"));
+    }
+
     @Test
     @DisplayName("❌ 502 - Failed to fetch user data from User Service")
     void dispatchNotification_BadGateway_UserServiceFailure() throws Exception {